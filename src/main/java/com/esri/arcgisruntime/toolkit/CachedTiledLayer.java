@@ -0,0 +1,104 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.esri.arcgisruntime.toolkit;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import com.esri.arcgisruntime.arcgisservices.TileInfo;
+import com.esri.arcgisruntime.data.TileKey;
+import com.esri.arcgisruntime.geometry.Envelope;
+import com.esri.arcgisruntime.layers.ImageTiledLayer;
+
+/**
+ * A tiled layer that reads its tiles from a {@link TileSource} through a {@link DiskTileCache}. Tiles are only
+ * requested from the source when they are not already in the cache.
+ *
+ * @since 100.2.1
+ */
+public final class CachedTiledLayer extends ImageTiledLayer {
+
+  private final TileSource tileSource;
+  private final DiskTileCache tileCache;
+  private final String sourceName;
+  private final TilePrefetcher tilePrefetcher;
+
+  /**
+   * Creates a cached tiled layer.
+   *
+   * @param tileInfo the tiling scheme of the source
+   * @param fullExtent the full extent of the source
+   * @param tileSource the source of tiles which are not in the cache
+   * @param tileCache the cache
+   * @param sourceName the name used to keep tiles from this source apart from others in the cache
+   * @throws NullPointerException if tileSource, tileCache or sourceName is null
+   * @throws IllegalArgumentException if sourceName is empty, contains a path separator or is "." or ".."
+   * @since 100.2.1
+   */
+  public CachedTiledLayer(TileInfo tileInfo, Envelope fullExtent, TileSource tileSource, DiskTileCache tileCache,
+    String sourceName) {
+    super(tileInfo, fullExtent);
+    this.tileSource = Objects.requireNonNull(tileSource, "tileSource cannot be null");
+    this.tileCache = Objects.requireNonNull(tileCache, "tileCache cannot be null");
+    this.sourceName = Objects.requireNonNull(sourceName, "sourceName cannot be null");
+    tilePrefetcher = new TilePrefetcher(tileSource, tileCache, sourceName, tileInfo.getOrigin().getX(),
+      tileInfo.getOrigin().getY(), tileInfo.getTileWidth(), tileInfo.getTileHeight());
+  }
+
+  /**
+   * Gets the source of tiles which are not in the cache.
+   *
+   * @return the tile source
+   * @since 100.2.1
+   */
+  public TileSource getTileSource() {
+    return tileSource;
+  }
+
+  /**
+   * Gets the cache used by this layer.
+   *
+   * @return the tile cache
+   * @since 100.2.1
+   */
+  public DiskTileCache getTileCache() {
+    return tileCache;
+  }
+
+  /**
+   * Gets the prefetcher which fetches tiles into this layer's cache ahead of the layer requesting them.
+   *
+   * @return the tile prefetcher
+   * @since 100.2.1
+   */
+  public TilePrefetcher getTilePrefetcher() {
+    return tilePrefetcher;
+  }
+
+  @Override
+  protected byte[] getTile(TileKey tileKey) {
+    int level = tileKey.getLevel();
+    int row = tileKey.getRow();
+    int column = tileKey.getColumn();
+    tilePrefetcher.tileRequested(level, row, column);
+    try {
+      return tileCache.getOrFetch(sourceName, level, row, column, tileSource);
+    } catch (IOException e) {
+      // the layer shows no tile, it will be requested again when the view next needs it
+      return null;
+    }
+  }
+}
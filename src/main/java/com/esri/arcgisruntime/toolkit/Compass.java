@@ -16,12 +16,7 @@
 
 package com.esri.arcgisruntime.toolkit;
 
-import com.esri.arcgisruntime.mapping.Viewpoint;
-import com.esri.arcgisruntime.mapping.view.Camera;
 import com.esri.arcgisruntime.mapping.view.GeoView;
-import com.esri.arcgisruntime.mapping.view.MapView;
-import com.esri.arcgisruntime.mapping.view.SceneView;
-import com.esri.arcgisruntime.mapping.view.ViewpointChangedListener;
 import com.esri.arcgisruntime.toolkit.skins.CompassSkin;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ObjectPropertyBase;
@@ -34,17 +29,18 @@ import javafx.scene.control.Skin;
 
 /**
  * A compass control which shows the direction of north for the view. Clicking on the compass will return the view to
- * north. The compass can be set to fade out when its heading is north and fade in when the heading changes. The size of
- * the compass is the smaller of its width and height values.
+ * north and dragging it will rotate the view. The compass can be set to fade out when its heading is north and fade in
+ * when the heading changes. The size of the compass is the smaller of its width and height values.
  *
  * @since 100.2.1
  */
 public final class Compass extends Control {
 
-  private GeoView view;
+  private HeadingSource headingSource;
 
   private final SimpleDoubleProperty headingProperty = new SimpleDoubleProperty(0.0);
   private final SimpleBooleanProperty autoHideProperty = new SimpleBooleanProperty(true);
+  private final SimpleBooleanProperty animateRotationProperty = new SimpleBooleanProperty(false);
 
   // property to hold the action to be performed when the compass is clicked
   private final ObjectProperty<EventHandler<ActionEvent>> onAction = new ObjectPropertyBase<EventHandler<ActionEvent>>() {
@@ -66,20 +62,13 @@ public final class Compass extends Control {
 
   // handler for clicking on the compass - resets to north
   private final EventHandler<ActionEvent> compassClickedAction = e -> {
-    if (view != null) {
-      if (view instanceof MapView) {
-        ((MapView) view).setViewpointRotationAsync(0.0);
-      } else if (view instanceof SceneView) {
-        SceneView sceneView = (SceneView) view;
-        Camera camera = sceneView.getCurrentViewpointCamera();
-        camera = new Camera(camera.getLocation(), 0.0, camera.getPitch(), camera.getRoll());
-        sceneView.setViewpointAsync(new Viewpoint(camera.getLocation(), 1, camera), 0.25f);
-      }
+    if (headingSource != null) {
+      headingSource.setHeading(0.0);
     }
   };
 
-  // handler for viewpoint changes
-  private final ViewpointChangedListener viewpointChangedListener = v -> updateHeading();
+  // handler for heading changes of the source
+  private final Runnable headingChangedListener = this::updateHeading;
 
   /**
    * Creates an instance of a compass control. The compass control will show the direction of north when a non-null
@@ -107,22 +96,10 @@ public final class Compass extends Control {
 
     // add a listener that will handle programmatic heading changes e.g. changes compass.headingProperty().set(newHeading);
     headingProperty.addListener((observable, oldValue, newValue) -> {
-      if (view != null) {
-        // heading changes can be ignored unless the view's heading doesn't match the new heading value in which case
-        // we need to change the view to match the compass
-        double newHeading = newValue.doubleValue();
-        if (view instanceof MapView) {
-          if (newHeading != ((MapView) view).getMapRotation()) {
-            ((MapView) view).setViewpointRotationAsync(newValue.doubleValue());
-          }
-        } else if (view instanceof SceneView) {
-          if (newHeading != ((SceneView) view).getCurrentViewpointCamera().getHeading()) {
-            SceneView sceneView = (SceneView) view;
-            Camera camera = sceneView.getCurrentViewpointCamera();
-            camera = new Camera(camera.getLocation(), newHeading, camera.getPitch(), camera.getRoll());
-            sceneView.setViewpointAsync(new Viewpoint(camera.getLocation(), 1, camera), 0.25f);
-          }
-        }
+      // heading changes can be ignored unless the source's heading doesn't match the new heading value in which case
+      // we need to change the source to match the compass
+      if (headingSource != null && newValue.doubleValue() != headingSource.getHeading()) {
+        headingSource.setHeading(newValue.doubleValue());
       }
     });
   }
@@ -133,18 +110,30 @@ public final class Compass extends Control {
   }
 
   /**
-   * Sets the {@link GeoView} which this compass is representing.
+   * Sets the {@link GeoView} which this compass is representing. A geo view that is neither a map view nor a scene view
+   * is accepted but the compass doesn't follow or rotate it, see {@link HeadingSource#forGeoView(GeoView)}.
    *
    * @param geoView the GeoView
    * @since 100.2.1
    */
   public void setGeoView(GeoView geoView) {
-    if (view != null) {
-      view.removeViewpointChangedListener(viewpointChangedListener);
+    setHeadingSource(geoView != null ? HeadingSource.forGeoView(geoView) : null);
+  }
+
+  /**
+   * Sets the {@link HeadingSource} which this compass is representing. This allows the compass to be driven by
+   * something other than a {@link GeoView}.
+   *
+   * @param source the heading source, or null to disconnect the compass
+   * @since 100.2.1
+   */
+  public void setHeadingSource(HeadingSource source) {
+    if (headingSource != null) {
+      headingSource.removeHeadingChangedListener(headingChangedListener);
     }
-    view = geoView;
-    if (view != null) {
-      view.addViewpointChangedListener(viewpointChangedListener);
+    headingSource = source;
+    if (headingSource != null) {
+      headingSource.addHeadingChangedListener(headingChangedListener);
       updateHeading();
       setOnAction(compassClickedAction);
     } else {
@@ -174,8 +163,8 @@ public final class Compass extends Control {
   }
 
   /**
-   * Sets the compass heading in degrees. If {@link #setGeoView(GeoView)} has been called with a non-null argument then
-   * that view will rotate to match the heading set.
+   * Sets the compass heading in degrees. If {@link #setGeoView(GeoView)} or {@link #setHeadingSource(HeadingSource)}
+   * has been called with a non-null argument then that view or source will rotate to match the heading set.
    *
    * @param heading the compass heading
    * @since 100.2.1
@@ -215,17 +204,54 @@ public final class Compass extends Control {
   }
 
   /**
-   * Updates the heading property based on map rotation or camera heading.
+   * A property controlling if the compass animates smoothly to a new heading rather than jumping straight to it. The
+   * animation always takes the shortest way round e.g. from 350 to 10 degrees the compass turns through north.
+   *
+   * @return the animate rotation property
+   * @since 100.2.1
+   */
+  public SimpleBooleanProperty animateRotationProperty() {
+    return animateRotationProperty;
+  }
+
+  /**
+   * Returns true if the compass animates smoothly to a new heading.
+   *
+   * @return true if enabled, false otherwise
+   * @since 100.2.1
+   */
+  public boolean isAnimateRotation() {
+    return animateRotationProperty.get();
+  }
+
+  /**
+   * Enables or disables animating the compass smoothly to a new heading.
+   *
+   * @param animateRotation true to enable, false to disable
+   * @since 100.2.1
+   */
+  public void setAnimateRotation(boolean animateRotation) {
+    animateRotationProperty.set(animateRotation);
+  }
+
+  /**
+   * Returns the {@link HeadingSource} which this compass is representing.
+   *
+   * @return the heading source, or null if there isn't one
+   * @since 100.2.1
+   */
+  public HeadingSource getHeadingSource() {
+    return headingSource;
+  }
+
+  /**
+   * Updates the heading property based on the heading of the source e.g. map rotation or camera heading.
    *
    * @since 100.2.1
    */
   private void updateHeading() {
-    if (view != null) {
-      if (view instanceof MapView) {
-        headingProperty.set(((MapView) view).getMapRotation());
-      } else if (view instanceof SceneView) {
-        headingProperty.set(((SceneView) view).getCurrentViewpointCamera().getHeading());
-      }
+    if (headingSource != null) {
+      headingProperty.set(headingSource.getHeading());
     }
   }
 
@@ -0,0 +1,386 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.esri.arcgisruntime.toolkit;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A cache of tile images stored in a directory on disk. The total size of the cache is bounded, when it is exceeded the
+ * least recently used tiles are deleted. The cache persists between sessions so tiles downloaded in one session are
+ * available immediately in the next. A cache can be shared by any number of layers and controls, tiles are kept apart
+ * by the name of the source they came from, which is used as a directory name.
+ *
+ * <p>Reading a tile doesn't write to the disk. The order in which tiles were used is kept in memory, and is only saved
+ * to the files' modification times in batches and by {@link #flush()}, so that the next session evicts the least
+ * recently used tiles first.
+ *
+ * <p>This class is thread safe.
+ *
+ * @since 100.2.1
+ */
+public final class DiskTileCache {
+
+  private static final String SUFFIX = ".tile";
+
+  // the number of tiles read before their access times are saved
+  private static final int TOUCH_BATCH_SIZE = 256;
+
+  private final Path directory;
+  private final long maxSize;
+
+  // cached files and their sizes in least recently used order
+  private final LinkedHashMap<Path, Long> entries = new LinkedHashMap<>(256, 0.75f, true);
+  private long size = 0;
+
+  // tiles read since their access times were last saved, in least recently used order
+  private final LinkedHashSet<Path> touched = new LinkedHashSet<>();
+
+  // tiles being fetched from their source, so concurrent requests for the same tile share a single fetch
+  private final ConcurrentHashMap<Path, CompletableFuture<byte[]>> fetches = new ConcurrentHashMap<>();
+
+  // metrics reported by all tile caches
+  private static final MetricsRegistry.Counter HIT_COUNT = MetricsRegistry.getDefault().counter("tilecache.hits");
+  private static final MetricsRegistry.Counter FETCH_COUNT = MetricsRegistry.getDefault().counter("tilecache.fetches");
+  private static final MetricsRegistry.Counter SHARED_FETCH_COUNT =
+    MetricsRegistry.getDefault().counter("tilecache.fetches.shared");
+
+  /**
+   * Creates a tile cache in a directory. Any tiles already in the directory from a previous session are used.
+   *
+   * @param directory the directory to store the tiles in, it is created if it does not exist
+   * @param maxSize the maximum total size of the cached tiles in bytes
+   * @throws NullPointerException if directory is null
+   * @throws IllegalArgumentException if maxSize is not positive
+   * @throws IOException if the directory cannot be created or read
+   * @since 100.2.1
+   */
+  public DiskTileCache(File directory, long maxSize) throws IOException {
+    Objects.requireNonNull(directory, "directory cannot be null");
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("maxSize must be positive");
+    }
+    this.directory = directory.toPath();
+    this.maxSize = maxSize;
+
+    // index the existing tiles, oldest first so they are the first to be evicted
+    Files.createDirectories(this.directory);
+    List<File> files;
+    try (Stream<Path> paths = Files.walk(this.directory)) {
+      files = paths.filter(p -> p.toString().endsWith(SUFFIX)).map(Path::toFile).collect(Collectors.toList());
+    }
+    files.sort(Comparator.comparingLong(File::lastModified));
+    for (File file : files) {
+      entries.put(file.toPath(), file.length());
+      size += file.length();
+    }
+    evict();
+  }
+
+  /**
+   * Gets the maximum size of the cache in bytes.
+   *
+   * @return the maximum size
+   * @since 100.2.1
+   */
+  public long getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Gets the current size of the cache in bytes.
+   *
+   * @return the size
+   * @since 100.2.1
+   */
+  public synchronized long getSize() {
+    return size;
+  }
+
+  /**
+   * Returns a cached tile.
+   *
+   * @param sourceName the name of the source the tile came from, used as a directory name
+   * @param level the level of detail
+   * @param row the tile row
+   * @param column the tile column
+   * @return the image data, or null if the tile is not in the cache
+   * @throws NullPointerException if sourceName is null
+   * @throws IllegalArgumentException if sourceName is empty, contains a path separator or is "." or ".."
+   * @since 100.2.1
+   */
+  public byte[] get(String sourceName, int level, int row, int column) {
+    Path path = tilePath(sourceName, level, row, column);
+    synchronized (this) {
+      if (entries.get(path) == null) {
+        return null;
+      }
+    }
+    try {
+      byte[] data = Files.readAllBytes(path);
+      touch(path);
+      return data;
+    } catch (IOException e) {
+      // the file has gone e.g. it was evicted by another thread after the check above
+      remove(path);
+      return null;
+    }
+  }
+
+  /**
+   * Returns a tile from the cache, fetching it from a source and adding it to the cache if it isn't there. If the tile
+   * is already being fetched by another thread, for example by another layer sharing this cache, that fetch is waited
+   * for rather than fetching the tile again.
+   *
+   * @param sourceName the name of the source the tile came from, used as a directory name
+   * @param level the level of detail
+   * @param row the tile row
+   * @param column the tile column
+   * @param tileSource the source to fetch the tile from if it isn't in the cache
+   * @return the image data, or null if the source has no tile at this position
+   * @throws NullPointerException if sourceName is null
+   * @throws IllegalArgumentException if sourceName is empty, contains a path separator or is "." or ".."
+   * @throws IOException if the tile could not be fetched
+   * @since 100.2.1
+   */
+  public byte[] getOrFetch(String sourceName, int level, int row, int column, TileSource tileSource)
+    throws IOException {
+    byte[] data = get(sourceName, level, row, column);
+    if (data != null) {
+      HIT_COUNT.increment();
+      return data;
+    }
+    Path path = tilePath(sourceName, level, row, column);
+    CompletableFuture<byte[]> fetch = new CompletableFuture<>();
+    CompletableFuture<byte[]> existing = fetches.putIfAbsent(path, fetch);
+    if (existing != null) {
+      SHARED_FETCH_COUNT.increment();
+      return await(existing);
+    }
+    FETCH_COUNT.increment();
+    try {
+      data = tileSource.getTile(level, row, column);
+      put(sourceName, level, row, column, data);
+      fetch.complete(data);
+      return data;
+    } catch (IOException | RuntimeException e) {
+      fetch.completeExceptionally(e);
+      throw e;
+    } finally {
+      fetches.remove(path, fetch);
+    }
+  }
+
+  /**
+   * Returns true if a tile is in the cache.
+   *
+   * @param sourceName the name of the source the tile came from, used as a directory name
+   * @param level the level of detail
+   * @param row the tile row
+   * @param column the tile column
+   * @return true if the tile is in the cache
+   * @throws NullPointerException if sourceName is null
+   * @throws IllegalArgumentException if sourceName is empty, contains a path separator or is "." or ".."
+   * @since 100.2.1
+   */
+  public synchronized boolean contains(String sourceName, int level, int row, int column) {
+    return entries.containsKey(tilePath(sourceName, level, row, column));
+  }
+
+  /**
+   * Adds a tile to the cache, evicting the least recently used tiles if the cache becomes too big. Failures to write
+   * the tile are ignored since the tile can be fetched again from its source.
+   *
+   * @param sourceName the name of the source the tile came from, used as a directory name
+   * @param level the level of detail
+   * @param row the tile row
+   * @param column the tile column
+   * @param data the image data
+   * @throws NullPointerException if sourceName is null
+   * @throws IllegalArgumentException if sourceName is empty, contains a path separator or is "." or ".."
+   * @since 100.2.1
+   */
+  public void put(String sourceName, int level, int row, int column, byte[] data) {
+    Path path = tilePath(sourceName, level, row, column);
+    if (data == null || data.length > maxSize) {
+      return;
+    }
+    Path temporary = null;
+    try {
+      // write to a temporary file first so a partially written tile is never read
+      Files.createDirectories(path.getParent());
+      temporary = Files.createTempFile(path.getParent(), null, null);
+      Files.write(temporary, data);
+      Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      // don't leave the temporary file behind, it isn't in the index so it would never be evicted
+      if (temporary != null) {
+        temporary.toFile().delete();
+      }
+      return;
+    }
+    synchronized (this) {
+      Long previous = entries.put(path, (long) data.length);
+      size += data.length - (previous != null ? previous : 0L);
+      evict();
+    }
+  }
+
+  /**
+   * Saves the order in which tiles have been read since it was last saved, so that it is used by the next session
+   * which opens the cache. Tiles read since then otherwise look as old as when they were last saved or written, and
+   * may be evicted before tiles that were used less recently. Failures are ignored.
+   *
+   * @since 100.2.1
+   */
+  public void flush() {
+    List<Path> paths;
+    synchronized (this) {
+      paths = new ArrayList<>(touched);
+      touched.clear();
+    }
+    // give each tile a later time than the one read before it, ending at the current time
+    long time = System.currentTimeMillis() - paths.size();
+    for (Path path : paths) {
+      path.toFile().setLastModified(++time);
+    }
+  }
+
+  /**
+   * Records that a tile has been read, and saves the order tiles have been read in once enough have been.
+   *
+   * @param path the tile file
+   * @since 100.2.1
+   */
+  private void touch(Path path) {
+    boolean full;
+    synchronized (this) {
+      // move the tile to the most recently used end
+      touched.remove(path);
+      touched.add(path);
+      full = touched.size() >= TOUCH_BATCH_SIZE;
+    }
+    if (full) {
+      flush();
+    }
+  }
+
+  /**
+   * Removes a tile from the index.
+   *
+   * @param path the tile file
+   * @since 100.2.1
+   */
+  private synchronized void remove(Path path) {
+    touched.remove(path);
+    Long previous = entries.remove(path);
+    if (previous != null) {
+      size -= previous;
+    }
+  }
+
+  /**
+   * Deletes the least recently used tiles until the cache is within its maximum size.
+   *
+   * @since 100.2.1
+   */
+  private synchronized void evict() {
+    List<Path> evicted = new ArrayList<>();
+    Iterator<Map.Entry<Path, Long>> iterator = entries.entrySet().iterator();
+    while (size > maxSize && iterator.hasNext()) {
+      Map.Entry<Path, Long> eldest = iterator.next();
+      size -= eldest.getValue();
+      evicted.add(eldest.getKey());
+      touched.remove(eldest.getKey());
+      iterator.remove();
+    }
+    for (Path path : evicted) {
+      path.toFile().delete();
+    }
+  }
+
+  /**
+   * Waits for a fetch started by another thread.
+   *
+   * @param fetch the fetch
+   * @return the image data
+   * @throws IOException if the fetch failed
+   * @since 100.2.1
+   */
+  private static byte[] await(CompletableFuture<byte[]> fetch) throws IOException {
+    try {
+      return fetch.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("interrupted waiting for tile", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      throw new IOException(cause);
+    }
+  }
+
+  /**
+   * Returns the path of the file used to store a tile.
+   *
+   * @param sourceName the name of the source the tile came from, used as a directory name
+   * @param level the level of detail
+   * @param row the tile row
+   * @param column the tile column
+   * @return the path
+   * @throws NullPointerException if sourceName is null
+   * @throws IllegalArgumentException if sourceName is empty, contains a path separator or is "." or ".."
+   * @since 100.2.1
+   */
+  private Path tilePath(String sourceName, int level, int row, int column) {
+    checkSourceName(sourceName);
+    return directory.resolve(sourceName).resolve(Integer.toString(level)).resolve(row + "_" + column + SUFFIX);
+  }
+
+  /**
+   * Checks that a source name can be used as a directory name inside the cache's directory.
+   *
+   * @param sourceName the name of a tile source
+   * @throws NullPointerException if sourceName is null
+   * @throws IllegalArgumentException if sourceName is empty, contains a path separator or is "." or ".."
+   * @since 100.2.1
+   */
+  static void checkSourceName(String sourceName) {
+    Objects.requireNonNull(sourceName, "sourceName cannot be null");
+    if (sourceName.isEmpty() || sourceName.equals(".") || sourceName.equals("..") || sourceName.indexOf('/') >= 0 ||
+      sourceName.indexOf('\\') >= 0) {
+      throw new IllegalArgumentException("sourceName must be a single directory name: " + sourceName);
+    }
+  }
+}
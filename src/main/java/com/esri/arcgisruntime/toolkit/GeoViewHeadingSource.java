@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.arcgisruntime.toolkit;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.esri.arcgisruntime.mapping.view.GeoView;
+import com.esri.arcgisruntime.mapping.view.ViewpointChangedListener;
+
+/**
+ * Base class for the heading sources backed by a geo view. The viewpoint changed listener is only added to the view
+ * while this source has listeners of its own.
+ *
+ * @since 100.2.1
+ */
+abstract class GeoViewHeadingSource implements HeadingSource {
+
+  private final GeoView geoView;
+  private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+  private final ViewpointChangedListener viewpointChangedListener = v -> {
+    for (Runnable listener : listeners) {
+      listener.run();
+    }
+  };
+
+  /**
+   * Creates a heading source for a geo view.
+   *
+   * @param geoView the geo view
+   * @since 100.2.1
+   */
+  GeoViewHeadingSource(GeoView geoView) {
+    this.geoView = geoView;
+  }
+
+  @Override
+  public final void addHeadingChangedListener(Runnable listener) {
+    listeners.add(listener);
+    if (listeners.size() == 1) {
+      geoView.addViewpointChangedListener(viewpointChangedListener);
+    }
+  }
+
+  @Override
+  public final void removeHeadingChangedListener(Runnable listener) {
+    if (listeners.remove(listener) && listeners.isEmpty()) {
+      geoView.removeViewpointChangedListener(viewpointChangedListener);
+    }
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.arcgisruntime.toolkit;
+
+import com.esri.arcgisruntime.mapping.view.GeoView;
+import com.esri.arcgisruntime.mapping.view.MapView;
+import com.esri.arcgisruntime.mapping.view.SceneView;
+
+/**
+ * Something that has a heading which can be shown, and changed, by a {@link Compass}. Sources for map and scene views
+ * are created with {@link #forGeoView(GeoView)}. Other components e.g. a rotating canvas or a simulated view can
+ * implement this interface to drive a compass with {@link Compass#setHeadingSource(HeadingSource)}.
+ *
+ * @since 100.2.1
+ */
+public interface HeadingSource {
+
+  /**
+   * Returns the current heading in degrees.
+   *
+   * @return the heading
+   * @since 100.2.1
+   */
+  double getHeading();
+
+  /**
+   * Requests the source rotates to a new heading. The change may happen asynchronously, listeners will be notified
+   * as the heading changes.
+   *
+   * @param heading the new heading in degrees
+   * @since 100.2.1
+   */
+  void setHeading(double heading);
+
+  /**
+   * Adds a listener that is notified when the heading changes.
+   *
+   * @param listener the listener
+   * @since 100.2.1
+   */
+  void addHeadingChangedListener(Runnable listener);
+
+  /**
+   * Removes a listener that was added with {@link #addHeadingChangedListener(Runnable)}.
+   *
+   * @param listener the listener
+   * @since 100.2.1
+   */
+  void removeHeadingChangedListener(Runnable listener);
+
+  /**
+   * Creates a heading source for a geo view. The heading of a map view is its map rotation and the heading of a scene
+   * view is its camera heading. Any other kind of geo view has no heading that can be read, the source returned for
+   * it doesn't follow or rotate the view and just holds the last heading set.
+   *
+   * @param geoView the geo view
+   * @return a heading source for the view
+   * @throws NullPointerException if geoView is null
+   * @since 100.2.1
+   */
+  static HeadingSource forGeoView(GeoView geoView) {
+    if (geoView instanceof MapView) {
+      return new MapViewHeadingSource((MapView) geoView);
+    } else if (geoView instanceof SceneView) {
+      return new SceneViewHeadingSource((SceneView) geoView);
+    } else if (geoView == null) {
+      throw new NullPointerException("geoView cannot be null");
+    }
+    return new StaticHeadingSource();
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.esri.arcgisruntime.toolkit;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.esri.arcgisruntime.geometry.LinearUnit;
+import com.esri.arcgisruntime.geometry.LinearUnitId;
+
+/**
+ * Converts distances between linear units in plain Java. A conversion between linear units is a multiplication by a
+ * constant factor, so the toolkit looks the factors up in a table rather than calling
+ * {@link LinearUnit#convertTo(LinearUnit, double)}, which goes into native code on every call.
+ *
+ * <p>The factors are the exact definitions of each unit in meters. Every unit with a {@link LinearUnitId} other than
+ * {@link LinearUnitId#OTHER} is in the table. Units without an id are looked up by well-known id, which covers the
+ * US survey foot and US survey mile. The factor of any other unit is asked from the runtime once and then
+ * remembered.
+ *
+ * <p>This class is thread safe.
+ *
+ * @since 100.2.1
+ */
+public final class LinearUnitConversion {
+
+  /**
+   * The well-known id of the US survey foot.
+   *
+   * @since 100.2.1
+   */
+  public static final int US_SURVEY_FOOT_WKID = 9003;
+
+  /**
+   * The well-known id of the US survey mile.
+   *
+   * @since 100.2.1
+   */
+  public static final int US_SURVEY_MILE_WKID = 9035;
+
+  // factors of units without an id, keyed by well-known id, including any asked from the runtime
+  private static final ConcurrentHashMap<Integer, Double> METERS_PER_UNIT_BY_WKID = new ConcurrentHashMap<>();
+  static {
+    METERS_PER_UNIT_BY_WKID.put(US_SURVEY_FOOT_WKID, 1200.0 / 3937.0);
+    METERS_PER_UNIT_BY_WKID.put(US_SURVEY_MILE_WKID, 6336000.0 / 3937.0);
+  }
+
+  /**
+   * Private constructor as this class is not meant to be instantiated.
+   *
+   * @since 100.2.1
+   */
+  private LinearUnitConversion() {
+  }
+
+  /**
+   * Converts a distance from one unit to another.
+   *
+   * @param distance the distance
+   * @param from the unit of the distance
+   * @param to the unit to convert to
+   * @return the distance in the unit to convert to
+   * @throws NullPointerException if from is null
+   * @throws NullPointerException if to is null
+   * @since 100.2.1
+   */
+  public static double convert(double distance, LinearUnit from, LinearUnit to) {
+    Objects.requireNonNull(from, "from cannot be null");
+    Objects.requireNonNull(to, "to cannot be null");
+    LinearUnitId fromId = from.getLinearUnitId();
+    if (from == to || (fromId == to.getLinearUnitId() && fromId != LinearUnitId.OTHER)) {
+      return distance;
+    }
+    return distance * getMetersPerUnit(from) / getMetersPerUnit(to);
+  }
+
+  /**
+   * Converts a distance from one unit to another.
+   *
+   * @param distance the distance
+   * @param from the id of the unit of the distance
+   * @param to the id of the unit to convert to
+   * @return the distance in the unit to convert to
+   * @throws NullPointerException if from is null
+   * @throws NullPointerException if to is null
+   * @throws IllegalArgumentException if either id is {@link LinearUnitId#OTHER}
+   * @since 100.2.1
+   */
+  public static double convert(double distance, LinearUnitId from, LinearUnitId to) {
+    if (from == to && from != LinearUnitId.OTHER) {
+      return distance;
+    }
+    return distance * getMetersPerUnit(from) / getMetersPerUnit(to);
+  }
+
+  /**
+   * Gets the length of a unit in meters.
+   *
+   * @param unit the unit
+   * @return the number of meters in one unit
+   * @throws NullPointerException if unit is null
+   * @since 100.2.1
+   */
+  public static double getMetersPerUnit(LinearUnit unit) {
+    Objects.requireNonNull(unit, "unit cannot be null");
+    double metersPerUnit = metersPerUnit(unit.getLinearUnitId());
+    if (!Double.isNaN(metersPerUnit)) {
+      return metersPerUnit;
+    }
+    // a unit without an id, only the first conversion of a unit that isn't in the table goes to the runtime
+    return METERS_PER_UNIT_BY_WKID.computeIfAbsent(unit.getWkid(),
+      wkid -> unit.convertTo(ToolkitResources.getLinearUnit(LinearUnitId.METERS), 1.0));
+  }
+
+  /**
+   * Gets the length of a unit in meters.
+   *
+   * @param linearUnitId the id of the unit
+   * @return the number of meters in one unit
+   * @throws NullPointerException if linearUnitId is null
+   * @throws IllegalArgumentException if linearUnitId is {@link LinearUnitId#OTHER}
+   * @since 100.2.1
+   */
+  public static double getMetersPerUnit(LinearUnitId linearUnitId) {
+    Objects.requireNonNull(linearUnitId, "linearUnitId cannot be null");
+    double metersPerUnit = metersPerUnit(linearUnitId);
+    if (Double.isNaN(metersPerUnit)) {
+      throw new IllegalArgumentException("linearUnitId must identify a unit");
+    }
+    return metersPerUnit;
+  }
+
+  /**
+   * Gets the length in meters of a unit with a well-known id, for units such as the US survey foot that don't have a
+   * {@link LinearUnitId}.
+   *
+   * @param wkid the well-known id of the unit
+   * @return the number of meters in one unit, or NaN if the unit isn't known
+   * @since 100.2.1
+   */
+  public static double getMetersPerUnit(int wkid) {
+    Double metersPerUnit = METERS_PER_UNIT_BY_WKID.get(wkid);
+    return metersPerUnit != null ? metersPerUnit : Double.NaN;
+  }
+
+  /**
+   * Looks up the length of a unit in meters.
+   *
+   * @param linearUnitId the id of the unit
+   * @return the number of meters in one unit, or NaN if the id doesn't identify a unit
+   * @since 100.2.1
+   */
+  private static double metersPerUnit(LinearUnitId linearUnitId) {
+    switch (linearUnitId) {
+      case MILLIMETERS:
+        return 0.001;
+      case CENTIMETERS:
+        return 0.01;
+      case METERS:
+        return 1.0;
+      case KILOMETERS:
+        return 1000.0;
+      case INCHES:
+        return 0.0254;
+      case FEET:
+        return 0.3048;
+      case YARDS:
+        return 0.9144;
+      case MILES:
+        return 1609.344;
+      case NAUTICAL_MILES:
+        return 1852.0;
+      default:
+        return Double.NaN;
+    }
+  }
+}
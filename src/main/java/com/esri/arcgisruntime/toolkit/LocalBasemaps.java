@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.esri.arcgisruntime.toolkit;
+
+import java.util.Locale;
+import java.util.function.Consumer;
+
+import com.esri.arcgisruntime.data.TileCache;
+import com.esri.arcgisruntime.layers.ArcGISTiledLayer;
+import com.esri.arcgisruntime.layers.ArcGISVectorTiledLayer;
+import com.esri.arcgisruntime.loadable.LoadStatus;
+import com.esri.arcgisruntime.mapping.Basemap;
+import com.esri.arcgisruntime.mapping.MobileMapPackage;
+import javafx.application.Platform;
+
+/**
+ * Creates basemaps from local files so an overview map can be shown without a network connection.
+ *
+ * @since 100.2.1
+ */
+final class LocalBasemaps {
+
+  /**
+   * Private constructor as this class is not meant to be instantiated.
+   *
+   * @since 100.2.1
+   */
+  private LocalBasemaps() {
+  }
+
+  /**
+   * Returns true if a file is of a type that can be used as a basemap: a tile package (.tpk), a vector tile package
+   * (.vtpk) or a mobile map package (.mmpk).
+   *
+   * @param path the path of the file
+   * @return true if the file can be used as a basemap
+   * @since 100.2.1
+   */
+  static boolean isSupported(String path) {
+    String lowerCasePath = path.toLowerCase(Locale.ROOT);
+    return lowerCasePath.endsWith(".tpk") || lowerCasePath.endsWith(".vtpk") || lowerCasePath.endsWith(".mmpk");
+  }
+
+  /**
+   * Creates a basemap from a local file. Tile packages and vector tile packages are passed to the consumer immediately.
+   * A mobile map package is loaded first and the basemap of its first map is passed to the consumer on the JavaFX
+   * application thread once loading has finished, if the package fails to load the consumer is not called.
+   *
+   * @param path the path of the file
+   * @param consumer receives the basemap
+   * @throws IllegalArgumentException if the file is not a supported type
+   * @since 100.2.1
+   */
+  static void load(String path, Consumer<Basemap> consumer) {
+    String lowerCasePath = path.toLowerCase(Locale.ROOT);
+    if (lowerCasePath.endsWith(".tpk")) {
+      consumer.accept(new Basemap(new ArcGISTiledLayer(new TileCache(path))));
+    } else if (lowerCasePath.endsWith(".vtpk")) {
+      consumer.accept(new Basemap(new ArcGISVectorTiledLayer(path)));
+    } else if (lowerCasePath.endsWith(".mmpk")) {
+      MobileMapPackage mobileMapPackage = new MobileMapPackage(path);
+      mobileMapPackage.addDoneLoadingListener(() -> {
+        if (mobileMapPackage.getLoadStatus() == LoadStatus.LOADED && !mobileMapPackage.getMaps().isEmpty()) {
+          Basemap basemap = mobileMapPackage.getMaps().get(0).getBasemap();
+          if (basemap != null) {
+            // the basemap belongs to the package's map so a copy is needed for the overview's map
+            Basemap copy = basemap.copy();
+            Platform.runLater(() -> consumer.accept(copy));
+          }
+        }
+      });
+      mobileMapPackage.loadAsync();
+    } else {
+      throw new IllegalArgumentException("path must be a .tpk, .vtpk or .mmpk file");
+    }
+  }
+}
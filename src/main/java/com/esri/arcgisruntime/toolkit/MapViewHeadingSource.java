@@ -0,0 +1,50 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.arcgisruntime.toolkit;
+
+import com.esri.arcgisruntime.mapping.view.MapView;
+
+/**
+ * A heading source using the map rotation of a map view.
+ *
+ * @since 100.2.1
+ */
+final class MapViewHeadingSource extends GeoViewHeadingSource {
+
+  private final MapView mapView;
+
+  /**
+   * Creates a heading source for a map view.
+   *
+   * @param mapView the map view
+   * @since 100.2.1
+   */
+  MapViewHeadingSource(MapView mapView) {
+    super(mapView);
+    this.mapView = mapView;
+  }
+
+  @Override
+  public double getHeading() {
+    return mapView.getMapRotation();
+  }
+
+  @Override
+  public void setHeading(double heading) {
+    mapView.setViewpointRotationAsync(heading);
+  }
+}
@@ -0,0 +1,454 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.esri.arcgisruntime.toolkit;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * A registry of counters, gauges and histograms that the toolkit's controls report into. Counters and histograms are
+ * recorded with {@link LongAdder}s, so they can be updated from the JavaFX application thread, runtime callback threads
+ * and background threads at the same time without locking or contention. A {@link Snapshot} of all metrics can be taken
+ * at any time from any thread and exported for monitoring.
+ *
+ * <p>The toolkit's controls report into the {@link #getDefault() default registry}. Metric names are dot separated and
+ * start with the control or component they belong to, for example {@code overviewmap.syncs}.
+ *
+ * <p>This class is thread safe.
+ *
+ * @since 100.2.1
+ */
+public final class MetricsRegistry {
+
+  // upper bounds in nanoseconds of the buckets of duration histograms
+  private static final long[] DURATION_BUCKETS = {
+    TimeUnit.MICROSECONDS.toNanos(10), TimeUnit.MICROSECONDS.toNanos(50), TimeUnit.MICROSECONDS.toNanos(100),
+    TimeUnit.MICROSECONDS.toNanos(500), TimeUnit.MILLISECONDS.toNanos(1), TimeUnit.MILLISECONDS.toNanos(5),
+    TimeUnit.MILLISECONDS.toNanos(10), TimeUnit.MILLISECONDS.toNanos(16), TimeUnit.MILLISECONDS.toNanos(50),
+    TimeUnit.MILLISECONDS.toNanos(100)
+  };
+
+  private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+  private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, DoubleSupplier> gauges = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+  /**
+   * Gets the registry the toolkit's controls report into.
+   *
+   * @return the default registry
+   * @since 100.2.1
+   */
+  public static MetricsRegistry getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * Gets a counter, creating it if it doesn't exist.
+   *
+   * @param name the name of the counter
+   * @return the counter
+   * @throws NullPointerException if name is null
+   * @since 100.2.1
+   */
+  public Counter counter(String name) {
+    return counters.computeIfAbsent(Objects.requireNonNull(name, "name cannot be null"), n -> new Counter());
+  }
+
+  /**
+   * Registers a gauge, replacing any gauge with the same name. The gauge is read whenever a snapshot is taken, which
+   * may be on any thread.
+   *
+   * @param name the name of the gauge
+   * @param gauge supplies the gauge's current value
+   * @throws NullPointerException if name or gauge is null
+   * @since 100.2.1
+   */
+  public void gauge(String name, DoubleSupplier gauge) {
+    Objects.requireNonNull(name, "name cannot be null");
+    gauges.put(name, Objects.requireNonNull(gauge, "gauge cannot be null"));
+  }
+
+  /**
+   * Removes a gauge.
+   *
+   * @param name the name of the gauge
+   * @since 100.2.1
+   */
+  public void removeGauge(String name) {
+    if (name != null) {
+      gauges.remove(name);
+    }
+  }
+
+  /**
+   * Gets a histogram, creating it with the given buckets if it doesn't exist. Each bucket counts the values up to and
+   * including its upper bound that are greater than the previous bucket's bound, and a final bucket counts the values
+   * greater than the last bound.
+   *
+   * @param name the name of the histogram
+   * @param upperBounds the upper bounds of the buckets in increasing order
+   * @return the histogram
+   * @throws NullPointerException if name or upperBounds is null
+   * @throws IllegalArgumentException if the bounds are not increasing, or the histogram exists with different bounds
+   * @since 100.2.1
+   */
+  public Histogram histogram(String name, long... upperBounds) {
+    Objects.requireNonNull(name, "name cannot be null");
+    Objects.requireNonNull(upperBounds, "upperBounds cannot be null");
+    for (int i = 1; i < upperBounds.length; i++) {
+      if (upperBounds[i] <= upperBounds[i - 1]) {
+        throw new IllegalArgumentException("upperBounds must be increasing");
+      }
+    }
+    Histogram histogram = histograms.computeIfAbsent(name, n -> new Histogram(upperBounds.clone()));
+    if (!Arrays.equals(histogram.upperBounds, upperBounds)) {
+      throw new IllegalArgumentException("histogram " + name + " exists with different bounds");
+    }
+    return histogram;
+  }
+
+  /**
+   * Gets a histogram of durations in nanoseconds, creating it if it doesn't exist. The buckets range from 10
+   * microseconds to 100 milliseconds.
+   *
+   * @param name the name of the histogram
+   * @return the histogram
+   * @throws NullPointerException if name is null
+   * @throws IllegalArgumentException if the histogram exists with different bounds
+   * @since 100.2.1
+   */
+  public Histogram durationHistogram(String name) {
+    return histogram(name, DURATION_BUCKETS);
+  }
+
+  /**
+   * Takes a snapshot of the current value of every metric. Metrics being updated while the snapshot is taken may or may
+   * not include those updates.
+   *
+   * @return the snapshot
+   * @since 100.2.1
+   */
+  public Snapshot snapshot() {
+    Map<String, Long> counterValues = new TreeMap<>();
+    counters.forEach((name, counter) -> counterValues.put(name, counter.get()));
+    Map<String, Double> gaugeValues = new TreeMap<>();
+    gauges.forEach((name, gauge) -> gaugeValues.put(name, gauge.getAsDouble()));
+    Map<String, HistogramSnapshot> histogramValues = new TreeMap<>();
+    histograms.forEach((name, histogram) -> histogramValues.put(name, histogram.snapshot()));
+    return new Snapshot(counterValues, gaugeValues, histogramValues);
+  }
+
+  /**
+   * A count that only goes up.
+   *
+   * @since 100.2.1
+   */
+  public static final class Counter {
+
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Private constructor, counters are created by a registry.
+     *
+     * @since 100.2.1
+     */
+    private Counter() {
+    }
+
+    /**
+     * Adds one to the count.
+     *
+     * @since 100.2.1
+     */
+    public void increment() {
+      count.increment();
+    }
+
+    /**
+     * Adds to the count.
+     *
+     * @param amount the amount to add
+     * @since 100.2.1
+     */
+    public void add(long amount) {
+      count.add(amount);
+    }
+
+    /**
+     * Gets the count.
+     *
+     * @return the count
+     * @since 100.2.1
+     */
+    public long get() {
+      return count.sum();
+    }
+  }
+
+  /**
+   * Counts values in fixed buckets, and keeps their total.
+   *
+   * @since 100.2.1
+   */
+  public static final class Histogram {
+
+    private final long[] upperBounds;
+    // one count per bucket plus one for values above the last bound
+    private final LongAdder[] counts;
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * Creates a histogram.
+     *
+     * @param upperBounds the upper bounds of the buckets in increasing order
+     * @since 100.2.1
+     */
+    private Histogram(long[] upperBounds) {
+      this.upperBounds = upperBounds;
+      counts = new LongAdder[upperBounds.length + 1];
+      for (int i = 0; i < counts.length; i++) {
+        counts[i] = new LongAdder();
+      }
+    }
+
+    /**
+     * Records a value.
+     *
+     * @param value the value
+     * @since 100.2.1
+     */
+    public void record(long value) {
+      int index = Arrays.binarySearch(upperBounds, value);
+      counts[index >= 0 ? index : -index - 1].increment();
+      sum.add(value);
+    }
+
+    /**
+     * Records the time elapsed since a start time, for use with {@link MetricsRegistry#durationHistogram(String)}.
+     *
+     * @param startTime the start time from {@link System#nanoTime()}
+     * @since 100.2.1
+     */
+    public void recordSince(long startTime) {
+      record(System.nanoTime() - startTime);
+    }
+
+    /**
+     * Takes a snapshot of the histogram.
+     *
+     * @return the snapshot
+     * @since 100.2.1
+     */
+    private HistogramSnapshot snapshot() {
+      long[] values = new long[counts.length];
+      long count = 0;
+      for (int i = 0; i < counts.length; i++) {
+        values[i] = counts[i].sum();
+        count += values[i];
+      }
+      return new HistogramSnapshot(upperBounds, values, count, sum.sum());
+    }
+  }
+
+  /**
+   * The values of a histogram at the time a snapshot was taken.
+   *
+   * @since 100.2.1
+   */
+  public static final class HistogramSnapshot {
+
+    private final long[] upperBounds;
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+
+    /**
+     * Creates a histogram snapshot.
+     *
+     * @param upperBounds the upper bounds of the buckets
+     * @param counts the count in each bucket, including the bucket above the last bound
+     * @param count the total count
+     * @param sum the total of the values
+     * @since 100.2.1
+     */
+    private HistogramSnapshot(long[] upperBounds, long[] counts, long count, long sum) {
+      this.upperBounds = upperBounds;
+      this.counts = counts;
+      this.count = count;
+      this.sum = sum;
+    }
+
+    /**
+     * Gets the upper bounds of the buckets.
+     *
+     * @return a copy of the upper bounds
+     * @since 100.2.1
+     */
+    public long[] getUpperBounds() {
+      return upperBounds.clone();
+    }
+
+    /**
+     * Gets the count in each bucket. The array has one more element than the upper bounds, for the values above the
+     * last bound.
+     *
+     * @return a copy of the bucket counts
+     * @since 100.2.1
+     */
+    public long[] getCounts() {
+      return counts.clone();
+    }
+
+    /**
+     * Gets the number of values recorded.
+     *
+     * @return the count
+     * @since 100.2.1
+     */
+    public long getCount() {
+      return count;
+    }
+
+    /**
+     * Gets the total of the values recorded.
+     *
+     * @return the sum
+     * @since 100.2.1
+     */
+    public long getSum() {
+      return sum;
+    }
+
+    /**
+     * Gets the mean of the values recorded.
+     *
+     * @return the mean, or NaN if no values have been recorded
+     * @since 100.2.1
+     */
+    public double getMean() {
+      return count == 0 ? Double.NaN : (double) sum / count;
+    }
+  }
+
+  /**
+   * The values of all the metrics in a registry at the time the snapshot was taken.
+   *
+   * @since 100.2.1
+   */
+  public static final class Snapshot {
+
+    private final Map<String, Long> counters;
+    private final Map<String, Double> gauges;
+    private final Map<String, HistogramSnapshot> histograms;
+
+    /**
+     * Creates a snapshot.
+     *
+     * @param counters the counter values by name
+     * @param gauges the gauge values by name
+     * @param histograms the histogram snapshots by name
+     * @since 100.2.1
+     */
+    private Snapshot(Map<String, Long> counters, Map<String, Double> gauges,
+      Map<String, HistogramSnapshot> histograms) {
+      this.counters = Collections.unmodifiableMap(counters);
+      this.gauges = Collections.unmodifiableMap(gauges);
+      this.histograms = Collections.unmodifiableMap(histograms);
+    }
+
+    /**
+     * Gets the counter values.
+     *
+     * @return an unmodifiable map of counter values by name, sorted by name
+     * @since 100.2.1
+     */
+    public Map<String, Long> getCounters() {
+      return counters;
+    }
+
+    /**
+     * Gets the gauge values.
+     *
+     * @return an unmodifiable map of gauge values by name, sorted by name
+     * @since 100.2.1
+     */
+    public Map<String, Double> getGauges() {
+      return gauges;
+    }
+
+    /**
+     * Gets the histogram snapshots.
+     *
+     * @return an unmodifiable map of histogram snapshots by name, sorted by name
+     * @since 100.2.1
+     */
+    public Map<String, HistogramSnapshot> getHistograms() {
+      return histograms;
+    }
+
+    /**
+     * Writes the snapshot as text, one metric per line as a name and value separated by a space. Each histogram is
+     * written as its count and sum, and a cumulative count for each bucket with the bucket's upper bound in the name,
+     * for example {@code overviewmap.sync.nanos.le.1000000}.
+     *
+     * @param out where to write the text
+     * @throws IOException if writing fails
+     * @since 100.2.1
+     */
+    public void writeTo(Appendable out) throws IOException {
+      for (Map.Entry<String, Long> counter : counters.entrySet()) {
+        out.append(counter.getKey()).append(' ').append(Long.toString(counter.getValue())).append('\n');
+      }
+      for (Map.Entry<String, Double> gauge : gauges.entrySet()) {
+        out.append(gauge.getKey()).append(' ').append(Double.toString(gauge.getValue())).append('\n');
+      }
+      for (Map.Entry<String, HistogramSnapshot> entry : histograms.entrySet()) {
+        String name = entry.getKey();
+        HistogramSnapshot histogram = entry.getValue();
+        long cumulative = 0;
+        for (int i = 0; i < histogram.upperBounds.length; i++) {
+          cumulative += histogram.counts[i];
+          out.append(name).append(".le.").append(Long.toString(histogram.upperBounds[i])).append(' ')
+            .append(Long.toString(cumulative)).append('\n');
+        }
+        out.append(name).append(".count ").append(Long.toString(histogram.count)).append('\n');
+        out.append(name).append(".sum ").append(Long.toString(histogram.sum)).append('\n');
+      }
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder builder = new StringBuilder();
+      try {
+        writeTo(builder);
+      } catch (IOException e) {
+        // a string builder doesn't throw
+        throw new IllegalStateException(e);
+      }
+      return builder.toString();
+    }
+  }
+}
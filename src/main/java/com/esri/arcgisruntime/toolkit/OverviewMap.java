@@ -20,15 +20,13 @@ import java.util.Objects;
 
 import com.esri.arcgisruntime.mapping.Basemap;
 import com.esri.arcgisruntime.mapping.view.GeoView;
-import com.esri.arcgisruntime.mapping.view.MapView;
-import com.esri.arcgisruntime.symbology.FillSymbol;
-import com.esri.arcgisruntime.symbology.MarkerSymbol;
-import com.esri.arcgisruntime.symbology.SimpleFillSymbol;
-import com.esri.arcgisruntime.symbology.SimpleMarkerSymbol;
 import com.esri.arcgisruntime.symbology.Symbol;
 import com.esri.arcgisruntime.toolkit.skins.OverviewMapSkin;
 import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.SimpleStringProperty;
 import javafx.scene.control.Control;
 import javafx.scene.control.Skin;
 
@@ -39,14 +37,61 @@ import javafx.scene.control.Skin;
  */
 public class OverviewMap extends Control {
 
-  final static private FillSymbol sFillSymbol =
-    new SimpleFillSymbol(SimpleFillSymbol.Style.SOLID, 0x7F000000, null);
-  final static private MarkerSymbol sMarkerSymbol =
-    new SimpleMarkerSymbol(SimpleMarkerSymbol.Style.CROSS, 0x7F000000, 20);
+  /**
+   * Controls when the overview map is moved to follow the geo view.
+   *
+   * @since 100.2.1
+   */
+  public enum UpdateMode {
+    /**
+     * The overview map follows the geo view while it is being navigated.
+     *
+     * @since 100.2.1
+     */
+    CONTINUOUS,
+    /**
+     * The indicator follows the geo view while it is being navigated but the overview map itself is only moved once
+     * the geo view has stopped changing. This avoids redrawing the overview map during panning.
+     *
+     * @since 100.2.1
+     */
+    SETTLED,
+  }
+
+  /**
+   * Controls how the indicator is drawn.
+   *
+   * @since 100.2.1
+   */
+  public enum IndicatorRendering {
+    /**
+     * The indicator is a graphic drawn by the overview map view. The overview map is redrawn each time the indicator
+     * moves.
+     *
+     * @since 100.2.1
+     */
+    GRAPHIC,
+    /**
+     * The indicator is drawn with JavaFX shapes on top of the overview map view. The indicator follows the geo view on
+     * every frame and the overview map is only redrawn when its own viewpoint changes.
+     *
+     * @since 100.2.1
+     */
+    OVERLAY,
+  }
 
   final private SimpleObjectProperty<GeoView> geoViewProperty = new SimpleObjectProperty<>();
   final private SimpleObjectProperty<Basemap> basemapProperty = new SimpleObjectProperty<>();
   final private SimpleObjectProperty<Symbol> symbolProperty = new SimpleObjectProperty<>();
+  final private SimpleObjectProperty<UpdateMode> updateModeProperty = new SimpleObjectProperty<>(UpdateMode.CONTINUOUS);
+  final private SimpleObjectProperty<IndicatorRendering> indicatorRenderingProperty =
+    new SimpleObjectProperty<>(IndicatorRendering.GRAPHIC);
+  final private SimpleDoubleProperty syncThresholdProperty = new SimpleDoubleProperty(1.0);
+  final private SimpleDoubleProperty scaleRatioProperty = new SimpleDoubleProperty(0.0);
+  final private SimpleBooleanProperty snapshotModeProperty = new SimpleBooleanProperty(false);
+  final private SimpleBooleanProperty navigationEnabledProperty = new SimpleBooleanProperty(true);
+  final private SimpleStringProperty localBasemapPathProperty = new SimpleStringProperty();
+  final private SimpleObjectProperty<DiskTileCache> tileCacheProperty = new SimpleObjectProperty<>();
 
   /**
    * Creates an overview map for a geo view using default values for the basemap and indicator symbol.
@@ -56,7 +101,7 @@ public class OverviewMap extends Control {
    * @since 100.2.1
    */
   public OverviewMap(GeoView geoView) {
-    this(geoView, Basemap.createTopographic(), geoView instanceof MapView ? sFillSymbol : sMarkerSymbol);
+    this(geoView, Basemap.createTopographic(), ToolkitResources.getDefaultIndicatorSymbol());
   }
 
   /**
@@ -69,14 +114,31 @@ public class OverviewMap extends Control {
    * @since 100.2.1
    */
   public OverviewMap(GeoView geoView, Basemap basemap) {
-    this(geoView, basemap, geoView instanceof MapView ? sFillSymbol : sMarkerSymbol);
+    this(geoView, basemap, ToolkitResources.getDefaultIndicatorSymbol());
+  }
+
+  /**
+   * Creates an overview map for a geo view using a basemap from a local file and a default indicator symbol. See
+   * {@link #setLocalBasemapPath(String)} for the supported file types.
+   *
+   * @param geoView the geo view to connect to this overview map
+   * @param localBasemapPath the path of the basemap file
+   * @throws NullPointerException if geoView is null
+   * @throws NullPointerException if localBasemapPath is null
+   * @throws IllegalArgumentException if localBasemapPath is not a supported file type
+   * @since 100.2.1
+   */
+  public OverviewMap(GeoView geoView, String localBasemapPath) {
+    this(geoView, new Basemap(), ToolkitResources.getDefaultIndicatorSymbol());
+    setLocalBasemapPath(Objects.requireNonNull(localBasemapPath, "localBasemapPath cannot be null"));
   }
 
   /**
    * Creates an overview map for a geo view using a default basemap.
    *
    * @param geoView the geo view to connect to this overview map
-   * @param symbol the symbol to use, for a map view use a fill symbol and for a scene view use a marker symbol
+   * @param symbol the symbol to use, a fill symbol shows the area seen by the geo view, for a scene view a marker
+   * symbol shows the camera's target instead
    * @throws NullPointerException if geoView is null
    * @throws NullPointerException if symbol is null
    * @since 100.2.1
@@ -90,7 +152,8 @@ public class OverviewMap extends Control {
    *
    * @param geoView the geo view to connect to this overview map
    * @param basemap the basemap
-   * @param symbol the symbol to use, for a map view use a fill symbol and for a scene view use a marker symbol
+   * @param symbol the symbol to use, a fill symbol shows the area seen by the geo view, for a scene view a marker
+   * symbol shows the camera's target instead
    * @throws NullPointerException if geoView is null
    * @throws NullPointerException if basemap is null
    * @throws NullPointerException if symbol is null
@@ -101,6 +164,17 @@ public class OverviewMap extends Control {
     basemapProperty.set(Objects.requireNonNull(basemap, "basemap cannot be null"));
     symbolProperty.set(Objects.requireNonNull(symbol, "symbol cannot be null"));
 
+    // replace the basemap when a local basemap file is set, ignoring files that finish loading after being replaced
+    localBasemapPathProperty.addListener((observable, oldValue, newValue) -> {
+      if (newValue != null) {
+        LocalBasemaps.load(newValue, basemap -> {
+          if (newValue.equals(localBasemapPathProperty.get())) {
+            basemapProperty.set(basemap);
+          }
+        });
+      }
+    });
+
     setMaxHeight(USE_PREF_SIZE);
     setMaxWidth(USE_PREF_SIZE);
     setMinHeight(USE_PREF_SIZE);
@@ -175,7 +249,8 @@ public class OverviewMap extends Control {
   /**
    * Sets the symbol to use to indicate the viewpoint.
    *
-   * @param symbol the symbol, for a mapview use a fill symbol and for a scene view use a marker symbol
+   * @param symbol the symbol, a fill symbol shows the area seen by the geo view, for a scene view a marker symbol
+   * shows the camera's target instead
    * @since 100.2.1
    */
   public void setSymbol(Symbol symbol) {
@@ -191,4 +266,266 @@ public class OverviewMap extends Control {
   public SimpleObjectProperty<Symbol> symbolProperty() {
     return symbolProperty;
   }
+
+  /**
+   * Gets the update mode of the overview map.
+   *
+   * @return the update mode
+   * @since 100.2.1
+   */
+  public UpdateMode getUpdateMode() {
+    return updateModeProperty.get();
+  }
+
+  /**
+   * Sets the update mode of the overview map.
+   *
+   * @param updateMode the update mode
+   * @throws NullPointerException if updateMode is null
+   * @since 100.2.1
+   */
+  public void setUpdateMode(UpdateMode updateMode) {
+    updateModeProperty.set(Objects.requireNonNull(updateMode, "updateMode cannot be null"));
+  }
+
+  /**
+   * A property containing the update mode of the overview map.
+   *
+   * @return the update mode property
+   * @since 100.2.1
+   */
+  public SimpleObjectProperty<UpdateMode> updateModeProperty() {
+    return updateModeProperty;
+  }
+
+  /**
+   * Gets the sync threshold in pixels.
+   *
+   * @return the sync threshold
+   * @since 100.2.1
+   */
+  public double getSyncThreshold() {
+    return syncThresholdProperty.get();
+  }
+
+  /**
+   * Sets the sync threshold in pixels. Changes to the geo view's viewpoint that move the indicator or the center of the
+   * overview map by less than this distance are ignored.
+   *
+   * @param syncThreshold the sync threshold
+   * @since 100.2.1
+   */
+  public void setSyncThreshold(double syncThreshold) {
+    syncThresholdProperty.set(syncThreshold);
+  }
+
+  /**
+   * A property containing the sync threshold in pixels.
+   *
+   * @return the sync threshold property
+   * @since 100.2.1
+   */
+  public SimpleDoubleProperty syncThresholdProperty() {
+    return syncThresholdProperty;
+  }
+
+  /**
+   * Gets the ratio of the overview map's scale to the geo view's scale.
+   *
+   * @return the scale ratio
+   * @since 100.2.1
+   */
+  public double getScaleRatio() {
+    return scaleRatioProperty.get();
+  }
+
+  /**
+   * Sets the ratio of the overview map's scale to the geo view's scale e.g. with a ratio of 10 the overview map shows
+   * an area 10 times wider than the geo view. The overview's scale is snapped to the nearest level of detail of the
+   * basemap so only whole tile levels are requested. With a ratio of 0, the default, the overview map keeps its
+   * initial scale.
+   *
+   * @param scaleRatio the scale ratio, or 0 to keep the overview's scale fixed
+   * @since 100.2.1
+   */
+  public void setScaleRatio(double scaleRatio) {
+    scaleRatioProperty.set(scaleRatio);
+  }
+
+  /**
+   * A property containing the ratio of the overview map's scale to the geo view's scale.
+   *
+   * @return the scale ratio property
+   * @since 100.2.1
+   */
+  public SimpleDoubleProperty scaleRatioProperty() {
+    return scaleRatioProperty;
+  }
+
+  /**
+   * Gets how the indicator is drawn.
+   *
+   * @return the indicator rendering
+   * @since 100.2.1
+   */
+  public IndicatorRendering getIndicatorRendering() {
+    return indicatorRenderingProperty.get();
+  }
+
+  /**
+   * Sets how the indicator is drawn. The default is {@link IndicatorRendering#GRAPHIC}. In snapshot mode the indicator
+   * is always drawn as an overlay.
+   *
+   * @param indicatorRendering the indicator rendering
+   * @throws NullPointerException if indicatorRendering is null
+   * @since 100.2.1
+   */
+  public void setIndicatorRendering(IndicatorRendering indicatorRendering) {
+    indicatorRenderingProperty.set(Objects.requireNonNull(indicatorRendering, "indicatorRendering cannot be null"));
+  }
+
+  /**
+   * A property containing how the indicator is drawn.
+   *
+   * @return the indicator rendering property
+   * @since 100.2.1
+   */
+  public SimpleObjectProperty<IndicatorRendering> indicatorRenderingProperty() {
+    return indicatorRenderingProperty;
+  }
+
+  /**
+   * Returns true if the overview map is shown as a snapshot.
+   *
+   * @return true if snapshot mode is enabled
+   * @since 100.2.1
+   */
+  public boolean isSnapshotMode() {
+    return snapshotModeProperty.get();
+  }
+
+  /**
+   * Enables or disables snapshot mode. In snapshot mode the overview map is drawn once, exported to an image and shown
+   * as that image with the indicator drawn on top. A new snapshot is only taken when the geo view gets close to the
+   * edge of the current one, so the overview costs almost nothing while the geo view stays within an area.
+   *
+   * @param snapshotMode true to enable, false to disable
+   * @since 100.2.1
+   */
+  public void setSnapshotMode(boolean snapshotMode) {
+    snapshotModeProperty.set(snapshotMode);
+  }
+
+  /**
+   * A property controlling if the overview map is shown as a snapshot.
+   *
+   * @return the snapshot mode property
+   * @since 100.2.1
+   */
+  public SimpleBooleanProperty snapshotModeProperty() {
+    return snapshotModeProperty;
+  }
+
+  /**
+   * Returns true if the geo view can be navigated from the overview map.
+   *
+   * @return true if navigation is enabled
+   * @since 100.2.1
+   */
+  public boolean isNavigationEnabled() {
+    return navigationEnabledProperty.get();
+  }
+
+  /**
+   * Enables or disables navigating the geo view from the overview map. When enabled, clicking on the overview centers
+   * the geo view on that point and dragging moves the geo view along with the pointer. The default is enabled.
+   *
+   * @param navigationEnabled true to enable, false to disable
+   * @since 100.2.1
+   */
+  public void setNavigationEnabled(boolean navigationEnabled) {
+    navigationEnabledProperty.set(navigationEnabled);
+  }
+
+  /**
+   * A property controlling if the geo view can be navigated from the overview map.
+   *
+   * @return the navigation enabled property
+   * @since 100.2.1
+   */
+  public SimpleBooleanProperty navigationEnabledProperty() {
+    return navigationEnabledProperty;
+  }
+
+  /**
+   * Gets the path of the local file used for the basemap.
+   *
+   * @return the path, or null if the basemap is not from a local file
+   * @since 100.2.1
+   */
+  public String getLocalBasemapPath() {
+    return localBasemapPathProperty.get();
+  }
+
+  /**
+   * Sets the basemap from a local file so that the overview map can be shown without a network connection. The file
+   * can be a tile package (.tpk), a vector tile package (.vtpk) or a mobile map package (.mmpk). A mobile map package
+   * is loaded asynchronously and the basemap of its first map is used once loading has finished.
+   *
+   * @param localBasemapPath the path of the basemap file
+   * @throws IllegalArgumentException if localBasemapPath is not a supported file type
+   * @since 100.2.1
+   */
+  public void setLocalBasemapPath(String localBasemapPath) {
+    if (localBasemapPath != null && !LocalBasemaps.isSupported(localBasemapPath)) {
+      throw new IllegalArgumentException("localBasemapPath must be a .tpk, .vtpk or .mmpk file");
+    }
+    localBasemapPathProperty.set(localBasemapPath);
+  }
+
+  /**
+   * A property containing the path of the local file used for the basemap.
+   *
+   * @return the local basemap path property
+   * @since 100.2.1
+   */
+  public SimpleStringProperty localBasemapPathProperty() {
+    return localBasemapPathProperty;
+  }
+
+  /**
+   * Gets the tile cache used for online tiled layers of the basemap.
+   *
+   * @return the tile cache, or null if tiles are not cached
+   * @since 100.2.1
+   */
+  public DiskTileCache getTileCache() {
+    return tileCacheProperty.get();
+  }
+
+  /**
+   * Sets a tile cache to use for online tiled layers of the basemap. Tiles downloaded in one session are then available
+   * immediately in the next. The cache only applies to online ArcGIS tiled layers of the basemap and takes effect when
+   * the overview map is first shown or the next time the basemap is set. The overview then shows its own copy of the
+   * basemap, the basemap that was set is not changed. Several controls can share a cache, see
+   * {@link OverviewMapGroup}. Cached layers download their tiles with {@link UrlTemplateTileSource}, which doesn't go
+   * through the runtime's {@code AuthenticationManager}, so layers with a credential or a request configuration are
+   * not cached.
+   *
+   * @param tileCache the tile cache, or null to not cache tiles
+   * @since 100.2.1
+   */
+  public void setTileCache(DiskTileCache tileCache) {
+    tileCacheProperty.set(tileCache);
+  }
+
+  /**
+   * A property containing the tile cache used for online tiled layers of the basemap.
+   *
+   * @return the tile cache property
+   * @since 100.2.1
+   */
+  public SimpleObjectProperty<DiskTileCache> tileCacheProperty() {
+    return tileCacheProperty;
+  }
 }
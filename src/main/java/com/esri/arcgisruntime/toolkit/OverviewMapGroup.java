@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.esri.arcgisruntime.toolkit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import com.esri.arcgisruntime.mapping.Basemap;
+
+/**
+ * A group of {@link OverviewMap} controls that show the same basemap, for example the overviews of several linked
+ * views of one region. Every control in the group is given its own copy of the group's basemap, since a basemap can
+ * only belong to one map, and they all read their tiles through the group's {@link DiskTileCache}. Each tile is
+ * therefore downloaded once for the whole group, and a tile requested by several controls at the same time is only
+ * fetched once. Each control still draws its own indicator.
+ *
+ * <p>The group must only be used on the JavaFX application thread.
+ *
+ * @since 100.2.1
+ */
+public final class OverviewMapGroup {
+
+  private final Basemap basemap;
+  private final DiskTileCache tileCache;
+  private final List<OverviewMap> overviewMaps = new ArrayList<>();
+
+  /**
+   * Creates a group.
+   *
+   * @param basemap the basemap shown by every control in the group, it is copied for each control and not used itself
+   * @param tileCache the tile cache shared by every control in the group
+   * @throws NullPointerException if basemap or tileCache is null
+   * @since 100.2.1
+   */
+  public OverviewMapGroup(Basemap basemap, DiskTileCache tileCache) {
+    this.basemap = Objects.requireNonNull(basemap, "basemap cannot be null");
+    this.tileCache = Objects.requireNonNull(tileCache, "tileCache cannot be null");
+  }
+
+  /**
+   * Adds a control to the group. The control's basemap is replaced with a copy of the group's basemap and its tile
+   * cache with the group's tile cache. A local basemap path set on the control is cleared, since it would otherwise
+   * replace the group's basemap, and it is not restored when the control is removed. Adding a control that is already
+   * in the group has no effect.
+   *
+   * @param overviewMap the control
+   * @throws NullPointerException if overviewMap is null
+   * @since 100.2.1
+   */
+  public void add(OverviewMap overviewMap) {
+    Objects.requireNonNull(overviewMap, "overviewMap cannot be null");
+    if (!overviewMaps.contains(overviewMap)) {
+      overviewMaps.add(overviewMap);
+      // a local basemap takes the place of the group's one, and the cache is set before the basemap so the skin
+      // replaces the new basemap's tiled layers with cached ones
+      overviewMap.setLocalBasemapPath(null);
+      overviewMap.setTileCache(tileCache);
+      overviewMap.setBasemap(basemap.copy());
+    }
+  }
+
+  /**
+   * Removes a control from the group. The control stops using the group's tile cache but keeps showing its copy of the
+   * group's basemap.
+   *
+   * @param overviewMap the control
+   * @since 100.2.1
+   */
+  public void remove(OverviewMap overviewMap) {
+    if (overviewMaps.remove(overviewMap) && overviewMap.getTileCache() == tileCache) {
+      overviewMap.setTileCache(null);
+    }
+  }
+
+  /**
+   * Gets the controls in the group.
+   *
+   * @return an unmodifiable list of the controls
+   * @since 100.2.1
+   */
+  public List<OverviewMap> getOverviewMaps() {
+    return Collections.unmodifiableList(overviewMaps);
+  }
+
+  /**
+   * Gets the basemap shown by every control in the group.
+   *
+   * @return the basemap
+   * @since 100.2.1
+   */
+  public Basemap getBasemap() {
+    return basemap;
+  }
+
+  /**
+   * Gets the tile cache shared by every control in the group.
+   *
+   * @return the tile cache
+   * @since 100.2.1
+   */
+  public DiskTileCache getTileCache() {
+    return tileCache;
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.esri.arcgisruntime.toolkit;
+
+import java.util.Objects;
+
+import com.esri.arcgisruntime.mapping.view.MapView;
+import com.esri.arcgisruntime.toolkit.skins.ScaleDistortionOverlaySkin;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.scene.control.Control;
+import javafx.scene.control.Skin;
+
+/**
+ * An overlay that shows how much the ground scale across a map view differs from the scale at its center, which is the
+ * scale a {@link Scalebar} shows. On small scale maps in projections such as Web Mercator the scale changes strongly
+ * with latitude, so a scalebar is only accurate near the middle of the view.
+ *
+ * <p>The ground distance covered by a pixel is sampled over a grid across the visible area and drawn as colored bands,
+ * red where a pixel covers more ground than at the center and blue where it covers less. Each band is 5% wide. The
+ * overlay should be placed over the map view, for example in the same StackPane, so that it has the same size. It
+ * ignores the mouse, and is not drawn while the map is rotated.
+ *
+ * @since 100.2.1
+ */
+public final class ScaleDistortionOverlay extends Control {
+
+  final private SimpleObjectProperty<MapView> mapViewProperty = new SimpleObjectProperty<>();
+
+  /**
+   * Creates an overlay for a map view.
+   *
+   * @param mapView the map view to show the scale distortion of
+   * @throws NullPointerException if mapView is null
+   * @since 100.2.1
+   */
+  public ScaleDistortionOverlay(MapView mapView) {
+    mapViewProperty.set(Objects.requireNonNull(mapView, "mapView cannot be null"));
+    setMouseTransparent(true);
+  }
+
+  @Override
+  protected Skin<?> createDefaultSkin() {
+    return new ScaleDistortionOverlaySkin(this);
+  }
+
+  /**
+   * Returns a readonly property containing the map view that this overlay shows the scale distortion of.
+   *
+   * @return the property
+   * @since 100.2.1
+   */
+  public ReadOnlyObjectProperty<MapView> mapViewProperty() {
+    return mapViewProperty;
+  }
+
+  /**
+   * Returns the map view that this overlay shows the scale distortion of.
+   *
+   * @return the map view
+   * @since 100.2.1
+   */
+  public MapView getMapView() {
+    return mapViewProperty.get();
+  }
+}
@@ -29,6 +29,7 @@ import javafx.beans.property.SimpleObjectProperty;
 import javafx.geometry.HPos;
 import javafx.scene.control.Control;
 import javafx.scene.control.Skin;
+import javafx.scene.text.Font;
 
 import java.util.Objects;
 
@@ -81,6 +82,28 @@ public final class Scalebar extends Control {
     DUAL_UNIT_LINE,
   }
 
+  /**
+   * How the scalebar draws its distance labels.
+   *
+   * @since 100.2.1
+   */
+  public enum LabelMode {
+    /**
+     * Each label is a {@link javafx.scene.control.Label} control that is styled with CSS.
+     *
+     * @since 100.2.1
+     */
+    LABEL,
+    /**
+     * Each label is a plain {@link javafx.scene.text.Text} node drawn in the scalebar's {@link #fontProperty font}.
+     * Labels are sized from cached character widths instead of a CSS and layout pass, so the scalebar creates fewer
+     * nodes and updates faster. CSS rules for labels don't apply in this mode.
+     *
+     * @since 100.2.1
+     */
+    TEXT,
+  }
+
   // default width
   private static final double WIDTH = 100.0;
 
@@ -96,6 +119,13 @@ public final class Scalebar extends Control {
   // property to hold the map view this scale bar is measuring
   final private SimpleObjectProperty<MapView> mapViewProperty = new SimpleObjectProperty<>();
 
+  // properties to hold how labels are drawn and the font used by text labels
+  final private SimpleObjectProperty<LabelMode> labelModeProperty = new SimpleObjectProperty<>(LabelMode.LABEL);
+  final private SimpleObjectProperty<Font> fontProperty = new SimpleObjectProperty<>(Font.getDefault());
+
+  // property to hold the cache of rendered scalebar images, null if images aren't cached
+  final private SimpleObjectProperty<ScalebarImageCache> imageCacheProperty = new SimpleObjectProperty<>();
+
   /**
    * Creates a scalebar with a {@link SkinStyle#ALTERNATING_BAR} style and an alignment of {@link HPos#CENTER}. By
    * default the width of the control will be 1/4 the map view width.
@@ -141,6 +171,9 @@ public final class Scalebar extends Control {
 
     unitSystemProperty.set(UnitSystem.METRIC);
 
+    // the skin builds its labels for one mode so it is replaced when the mode changes
+    labelModeProperty.addListener(observable -> super.setSkin(createSkin(skinStyle)));
+
     setMaxHeight(USE_PREF_SIZE);
     setMaxWidth(USE_PREF_SIZE);
     setMinHeight(USE_PREF_SIZE);
@@ -260,6 +293,107 @@ public final class Scalebar extends Control {
     return unitSystemProperty.get();
   }
 
+  /**
+   * Returns a property containing how the scalebar draws its labels.
+   *
+   * @return the property
+   * @see LabelMode
+   * @since 100.2.1
+   */
+  public SimpleObjectProperty<LabelMode> labelModeProperty() {
+    return labelModeProperty;
+  }
+
+  /**
+   * Sets how the scalebar draws its labels.
+   *
+   * @param labelMode the label mode
+   * @see LabelMode
+   * @throws NullPointerException if labelMode is null
+   * @since 100.2.1
+   */
+  public void setLabelMode(LabelMode labelMode) {
+    labelModeProperty.set(Objects.requireNonNull(labelMode, "labelMode cannot be null"));
+  }
+
+  /**
+   * Returns how the scalebar draws its labels.
+   *
+   * @return the label mode
+   * @see LabelMode
+   * @since 100.2.1
+   */
+  public LabelMode getLabelMode() {
+    return labelModeProperty.get();
+  }
+
+  /**
+   * Returns a property containing the font of the scalebar's labels when the label mode is {@link LabelMode#TEXT}.
+   * The default is the platform's default font.
+   *
+   * @return the property
+   * @since 100.2.1
+   */
+  public SimpleObjectProperty<Font> fontProperty() {
+    return fontProperty;
+  }
+
+  /**
+   * Sets the font of the scalebar's labels when the label mode is {@link LabelMode#TEXT}.
+   *
+   * @param font the font
+   * @throws NullPointerException if font is null
+   * @since 100.2.1
+   */
+  public void setFont(Font font) {
+    fontProperty.set(Objects.requireNonNull(font, "font cannot be null"));
+  }
+
+  /**
+   * Returns the font of the scalebar's labels when the label mode is {@link LabelMode#TEXT}.
+   *
+   * @return the font
+   * @since 100.2.1
+   */
+  public Font getFont() {
+    return fontProperty.get();
+  }
+
+  /**
+   * Returns a property containing the cache of rendered scalebar images.
+   *
+   * @return the property
+   * @see ScalebarImageCache
+   * @since 100.2.1
+   */
+  public SimpleObjectProperty<ScalebarImageCache> imageCacheProperty() {
+    return imageCacheProperty;
+  }
+
+  /**
+   * Sets a cache of rendered scalebar images. With a cache, a scalebar that returns to a distance and width it has
+   * shown before shows a cached image instead of rebuilding its nodes. A cache can be shared by many scalebars. The
+   * default is no cache.
+   *
+   * @param imageCache the image cache, or null to not cache images
+   * @see ScalebarImageCache
+   * @since 100.2.1
+   */
+  public void setImageCache(ScalebarImageCache imageCache) {
+    imageCacheProperty.set(imageCache);
+  }
+
+  /**
+   * Returns the cache of rendered scalebar images.
+   *
+   * @return the image cache, or null if images aren't cached
+   * @see ScalebarImageCache
+   * @since 100.2.1
+   */
+  public ScalebarImageCache getImageCache() {
+    return imageCacheProperty.get();
+  }
+
   @Override
   protected Skin<?> createDefaultSkin() {
     return createSkin(skinStyle);
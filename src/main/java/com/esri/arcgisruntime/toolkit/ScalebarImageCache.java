@@ -0,0 +1,218 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.esri.arcgisruntime.toolkit;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import javafx.scene.image.Image;
+
+/**
+ * A cache of rendered scalebar images held in memory. When a scalebar with a cache returns to a distance, width, style
+ * and alignment it has shown before, it shows the cached image instead of rebuilding its nodes. This helps most where
+ * rendering is slow, such as kiosks without graphics acceleration, and where the map is zoomed back and forth over the
+ * same few scales.
+ *
+ * <p>The total memory used by the images is bounded, when it is exceeded the least recently used images are removed.
+ * A cache can be shared by any number of scalebars. Images are kept apart by the scalebar's style and settings, so
+ * scalebars that share a cache also share images of the same scalebar. Images are rendered at the screen's base
+ * resolution and assume the scalebar's CSS doesn't change while they are cached.
+ *
+ * <p>This class is thread safe.
+ *
+ * @since 100.2.1
+ */
+public final class ScalebarImageCache {
+
+  // bytes used by each pixel of a cached image
+  private static final int BYTES_PER_PIXEL = 4;
+
+  private final long memoryBudget;
+
+  // cached images in least recently used order
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(32, 0.75f, true);
+  private long memoryUsage = 0;
+
+  // metrics reported by all scalebar image caches
+  private static final MetricsRegistry.Counter HIT_COUNT = MetricsRegistry.getDefault().counter("scalebar.cache.hits");
+  private static final MetricsRegistry.Counter MISS_COUNT =
+    MetricsRegistry.getDefault().counter("scalebar.cache.misses");
+
+  /**
+   * Creates an empty cache.
+   *
+   * @param memoryBudget the maximum total size of the cached images in bytes
+   * @throws IllegalArgumentException if memoryBudget is not positive
+   * @since 100.2.1
+   */
+  public ScalebarImageCache(long memoryBudget) {
+    if (memoryBudget <= 0) {
+      throw new IllegalArgumentException("memoryBudget must be positive");
+    }
+    this.memoryBudget = memoryBudget;
+  }
+
+  /**
+   * Gets a cached image.
+   *
+   * @param key the key describing the scalebar
+   * @return the image, or null if it isn't cached
+   * @throws NullPointerException if key is null
+   * @since 100.2.1
+   */
+  public synchronized Entry get(String key) {
+    Objects.requireNonNull(key, "key cannot be null");
+    Entry entry = entries.get(key);
+    if (entry != null) {
+      HIT_COUNT.increment();
+    } else {
+      MISS_COUNT.increment();
+    }
+    return entry;
+  }
+
+  /**
+   * Adds an image to the cache, removing the least recently used images if the cache is over its memory budget. An
+   * image bigger than the whole budget is not cached.
+   *
+   * @param key the key describing the scalebar
+   * @param image the rendered scalebar
+   * @param x the x position of the image within the scalebar
+   * @param y the y position of the image within the scalebar
+   * @throws NullPointerException if key is null
+   * @throws NullPointerException if image is null
+   * @since 100.2.1
+   */
+  public synchronized void put(String key, Image image, double x, double y) {
+    Objects.requireNonNull(key, "key cannot be null");
+    Objects.requireNonNull(image, "image cannot be null");
+    Entry entry = new Entry(image, x, y);
+    if (entry.size > memoryBudget) {
+      return;
+    }
+    Entry replaced = entries.put(key, entry);
+    if (replaced != null) {
+      memoryUsage -= replaced.size;
+    }
+    memoryUsage += entry.size;
+
+    Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+    while (memoryUsage > memoryBudget && iterator.hasNext()) {
+      memoryUsage -= iterator.next().getValue().size;
+      iterator.remove();
+    }
+  }
+
+  /**
+   * Removes all the images from the cache.
+   *
+   * @since 100.2.1
+   */
+  public synchronized void clear() {
+    entries.clear();
+    memoryUsage = 0;
+  }
+
+  /**
+   * Gets the maximum total size of the cached images.
+   *
+   * @return the memory budget in bytes
+   * @since 100.2.1
+   */
+  public long getMemoryBudget() {
+    return memoryBudget;
+  }
+
+  /**
+   * Gets the total size of the cached images.
+   *
+   * @return the memory used in bytes
+   * @since 100.2.1
+   */
+  public synchronized long getMemoryUsage() {
+    return memoryUsage;
+  }
+
+  /**
+   * Gets the number of cached images.
+   *
+   * @return the number of images
+   * @since 100.2.1
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * A rendered scalebar and where it is drawn within the scalebar control.
+   *
+   * @since 100.2.1
+   */
+  public static final class Entry {
+
+    private final Image image;
+    private final double x;
+    private final double y;
+    private final long size;
+
+    /**
+     * Creates an entry.
+     *
+     * @param image the rendered scalebar
+     * @param x the x position of the image
+     * @param y the y position of the image
+     * @since 100.2.1
+     */
+    private Entry(Image image, double x, double y) {
+      this.image = image;
+      this.x = x;
+      this.y = y;
+      size = (long) Math.ceil(image.getWidth()) * (long) Math.ceil(image.getHeight()) * BYTES_PER_PIXEL;
+    }
+
+    /**
+     * Gets the rendered scalebar.
+     *
+     * @return the image
+     * @since 100.2.1
+     */
+    public Image getImage() {
+      return image;
+    }
+
+    /**
+     * Gets the x position of the image within the scalebar.
+     *
+     * @return the x position
+     * @since 100.2.1
+     */
+    public double getX() {
+      return x;
+    }
+
+    /**
+     * Gets the y position of the image within the scalebar.
+     *
+     * @return the y position
+     * @since 100.2.1
+     */
+    public double getY() {
+      return y;
+    }
+  }
+}
@@ -20,10 +20,7 @@ import com.esri.arcgisruntime.UnitSystem;
 import com.esri.arcgisruntime.geometry.LinearUnit;
 import com.esri.arcgisruntime.geometry.LinearUnitId;
 
-import java.util.Arrays;
-import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * Utility methods used by Scalebar.
@@ -32,11 +29,6 @@ import java.util.stream.Collectors;
  */
 public class ScalebarUtil {
 
-  private static final LinearUnit METERS = new LinearUnit(LinearUnitId.METERS);
-  private static final LinearUnit FEET = new LinearUnit(LinearUnitId.FEET);
-  private static final LinearUnit KILOMETERS = new LinearUnit(LinearUnitId.KILOMETERS);
-  private static final LinearUnit MILES = new LinearUnit(LinearUnitId.MILES);
-
   // Array containing the multipliers that may be used for a scalebar and arrays of segment options appropriate for each
   // multiplier
   private static final MultiplierData[] MULTIPLIER_DATA_ARRAY = {
@@ -79,9 +71,10 @@ public class ScalebarUtil {
       LinearUnit displayUnits = selectLinearUnit(bestLength, UnitSystem.IMPERIAL);
       if (unit.getLinearUnitId() != displayUnits.getLinearUnitId()) {
         // Recalculate the best length in miles
-        bestLength = calculateBestScalebarLength(unit.convertTo(displayUnits, maxLength), displayUnits, isSegmented);
+        bestLength = calculateBestScalebarLength(
+          LinearUnitConversion.convert(maxLength, unit, displayUnits), displayUnits, isSegmented);
         // But convert that back to feet because the caller is using feet
-        return displayUnits.convertTo(unit, bestLength);
+        return LinearUnitConversion.convert(bestLength, displayUnits, unit);
       }
     }
     return bestLength;
@@ -130,17 +123,17 @@ public class ScalebarUtil {
       case IMPERIAL:
         // use MILES if at least half a mile
         if (distance >= 2640) {
-          return MILES;
+          return ToolkitResources.getLinearUnit(LinearUnitId.MILES);
         }
-        return FEET;
+        return ToolkitResources.getLinearUnit(LinearUnitId.FEET);
 
       case METRIC:
       default:
         // use KILOMETERS if at least one kilometer
         if (distance >= 1000) {
-          return KILOMETERS;
+          return ToolkitResources.getLinearUnit(LinearUnitId.KILOMETERS);
         }
-        return METERS;
+        return ToolkitResources.getLinearUnit(LinearUnitId.METERS);
     }
   }
 
@@ -160,11 +153,60 @@ public class ScalebarUtil {
     Objects.requireNonNull(displayUnit, "displayUnit cannot be null");
     double displayDistance = distance;
     if (displayUnit != baseUnit) {
-      displayDistance = baseUnit.convertTo(displayUnit, displayDistance);
+      displayDistance = LinearUnitConversion.convert(displayDistance, baseUnit, displayUnit);
     }
     return displayDistance;
   }
 
+  /**
+   * Calculates the scalebars for many maximum distances at once, for example when laying out the frames of a map
+   * export. Each element gives the same results as calling {@link #calculateBestScalebarLength(double, LinearUnit,
+   * boolean)}, {@link #selectLinearUnit(double, UnitSystem)}, {@link #calculateDistanceInDisplayUnits(double,
+   * LinearUnit, LinearUnit)} and {@link #calculateOptimalNumberOfSegments(double, int)} in turn, as the scalebar skins
+   * do, but the results are written to primitive arrays and no objects are allocated per element.
+   *
+   * <p>This method holds no state, so separate ranges of the same arrays may be calculated from different threads at
+   * the same time.
+   *
+   * @param maxDistances the maximum distances the scalebars can represent, in meters if unitSystem is METRIC or feet if
+   *                     it is IMPERIAL
+   * @param maxNumSegments the maximum number of segments of each scalebar
+   * @param unitSystem the UnitSystem being used
+   * @param isSegmented true if the scalebars are segmented
+   * @param lengths filled with the length of each scalebar in its display unit
+   * @param displayUnits filled with the ordinal of the {@link LinearUnitId} of each scalebar's display unit
+   * @param segmentCounts filled with the number of segments of each scalebar
+   * @throws NullPointerException if any of the arrays is null
+   * @throws NullPointerException if unitSystem is null
+   * @throws IllegalArgumentException if any of the arrays is shorter than maxDistances
+   * @since 100.2.1
+   */
+  public static void calculateScalebars(double[] maxDistances, int[] maxNumSegments, UnitSystem unitSystem,
+    boolean isSegmented, double[] lengths, int[] displayUnits, int[] segmentCounts) {
+    Objects.requireNonNull(maxDistances, "maxDistances cannot be null");
+    Objects.requireNonNull(maxNumSegments, "maxNumSegments cannot be null");
+    Objects.requireNonNull(unitSystem, "unitSystem cannot be null");
+    Objects.requireNonNull(lengths, "lengths cannot be null");
+    Objects.requireNonNull(displayUnits, "displayUnits cannot be null");
+    Objects.requireNonNull(segmentCounts, "segmentCounts cannot be null");
+    int count = maxDistances.length;
+    if (maxNumSegments.length < count || lengths.length < count || displayUnits.length < count ||
+      segmentCounts.length < count) {
+      throw new IllegalArgumentException("arrays cannot be shorter than maxDistances");
+    }
+
+    LinearUnit baseUnit = ToolkitResources.getLinearUnit(
+      unitSystem == UnitSystem.IMPERIAL ? LinearUnitId.FEET : LinearUnitId.METERS);
+    for (int i = 0; i < count; i++) {
+      double length = calculateBestScalebarLength(maxDistances[i], baseUnit, isSegmented);
+      LinearUnit displayUnit = selectLinearUnit(length, unitSystem);
+      double displayLength = calculateDistanceInDisplayUnits(length, baseUnit, displayUnit);
+      lengths[i] = displayLength;
+      displayUnits[i] = displayUnit.getLinearUnitId().ordinal();
+      segmentCounts[i] = calculateOptimalNumberOfSegments(displayLength, maxNumSegments[i]);
+    }
+  }
+
   /**
    * Creates a string to display as a scalebar label corresponding to a given distance.
    *
@@ -213,14 +255,13 @@ public class ScalebarUtil {
   private static MultiplierData selectMultiplierData(double distance, double magnitude) {
     double residual = distance / magnitude;
 
-    // Select the largest multiplier that's <= residual
-    List<MultiplierData> multipliers = Arrays.stream(MULTIPLIER_DATA_ARRAY).filter(
-      m -> m.getMultiplier() <= residual).collect(Collectors.toList());
-    if (multipliers.isEmpty()) {
-      return MULTIPLIER_DATA_ARRAY[0];
-    } else {
-      return multipliers.get(multipliers.size() - 1);
+    // Select the largest multiplier that's <= residual, the array is in ascending order so search from the end
+    for (int i = MULTIPLIER_DATA_ARRAY.length - 1; i > 0; i--) {
+      if (MULTIPLIER_DATA_ARRAY[i].getMultiplier() <= residual) {
+        return MULTIPLIER_DATA_ARRAY[i];
+      }
     }
+    return MULTIPLIER_DATA_ARRAY[0];
   }
 
   /**
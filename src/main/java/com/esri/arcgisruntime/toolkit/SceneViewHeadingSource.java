@@ -0,0 +1,54 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.arcgisruntime.toolkit;
+
+import com.esri.arcgisruntime.mapping.Viewpoint;
+import com.esri.arcgisruntime.mapping.view.Camera;
+import com.esri.arcgisruntime.mapping.view.SceneView;
+
+/**
+ * A heading source using the camera heading of a scene view.
+ *
+ * @since 100.2.1
+ */
+final class SceneViewHeadingSource extends GeoViewHeadingSource {
+
+  private final SceneView sceneView;
+
+  /**
+   * Creates a heading source for a scene view.
+   *
+   * @param sceneView the scene view
+   * @since 100.2.1
+   */
+  SceneViewHeadingSource(SceneView sceneView) {
+    super(sceneView);
+    this.sceneView = sceneView;
+  }
+
+  @Override
+  public double getHeading() {
+    return sceneView.getCurrentViewpointCamera().getHeading();
+  }
+
+  @Override
+  public void setHeading(double heading) {
+    Camera camera = sceneView.getCurrentViewpointCamera();
+    camera = new Camera(camera.getLocation(), heading, camera.getPitch(), camera.getRoll());
+    sceneView.setViewpointAsync(new Viewpoint(camera.getLocation(), 1, camera), 0.25f);
+  }
+}
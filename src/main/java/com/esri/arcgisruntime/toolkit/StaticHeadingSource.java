@@ -0,0 +1,47 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.arcgisruntime.toolkit;
+
+/**
+ * A heading source for a geo view that has no heading the toolkit knows how to read, i.e. one that is neither a map
+ * view nor a scene view. It only holds the last heading set and never notifies its listeners, so a compass linked to
+ * such a view keeps the heading it is given.
+ *
+ * @since 100.2.1
+ */
+final class StaticHeadingSource implements HeadingSource {
+
+  private double heading = 0.0;
+
+  @Override
+  public double getHeading() {
+    return heading;
+  }
+
+  @Override
+  public void setHeading(double heading) {
+    this.heading = heading;
+  }
+
+  @Override
+  public void addHeadingChangedListener(Runnable listener) {
+  }
+
+  @Override
+  public void removeHeadingChangedListener(Runnable listener) {
+  }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.esri.arcgisruntime.toolkit;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fetches tiles from a {@link TileSource} into a {@link DiskTileCache} before they are needed, so that a tiled layer
+ * reading through the same cache finds them there. Prefetching happens on a single background thread. Each call to
+ * {@link #prefetch(int, double, double, double, double, double)} replaces any tiles still waiting from the previous
+ * call, so only the most recent prediction is fetched.
+ *
+ * <p>The prefetcher keeps count of how many prefetched tiles were later requested, see {@link #getHitRate()}. The
+ * layer reading the tiles reports requests with {@link #tileRequested(int, int, int)}.
+ *
+ * <p>This class is thread safe.
+ *
+ * @since 100.2.1
+ */
+public final class TilePrefetcher {
+
+  // maximum number of prefetched tiles remembered for working out the hit rate
+  private static final int MAX_TRACKED_TILES = 4096;
+
+  // maximum number of tiles fetched for a single prediction
+  private static final int MAX_TILES_PER_PREFETCH = 64;
+
+  // seconds the background thread waits for more work before it exits
+  private static final long IDLE_TIMEOUT = 5;
+
+  private final TileSource tileSource;
+  private final DiskTileCache tileCache;
+  private final String sourceName;
+  private final double originX;
+  private final double originY;
+  private final int tileWidth;
+  private final int tileHeight;
+
+  // prefetched tiles that have not been requested yet, oldest first
+  private final Map<Long, Boolean> prefetchedTiles = new LinkedHashMap<Long, Boolean>(256, 0.75f, false) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+      return size() > MAX_TRACKED_TILES;
+    }
+  };
+
+  // metrics reported by all prefetchers, in addition to each prefetcher's own counts
+  private static final MetricsRegistry.Counter PREFETCH_COUNT =
+    MetricsRegistry.getDefault().counter("tileprefetch.tiles");
+  private static final MetricsRegistry.Counter PREFETCH_HIT_COUNT =
+    MetricsRegistry.getDefault().counter("tileprefetch.hits");
+
+  private final AtomicLong prefetchCount = new AtomicLong();
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong requestCount = new AtomicLong();
+
+  private final LinkedBlockingDeque<Runnable> queue = new LinkedBlockingDeque<>();
+  private ThreadPoolExecutor executor;
+
+  /**
+   * Creates a prefetcher for a tiling scheme.
+   *
+   * @param tileSource the source to fetch tiles from
+   * @param tileCache the cache to put the tiles in
+   * @param sourceName the name the tiles are stored under in the cache
+   * @param originX the x coordinate of the tiling scheme's origin
+   * @param originY the y coordinate of the tiling scheme's origin
+   * @param tileWidth the width of a tile in pixels
+   * @param tileHeight the height of a tile in pixels
+   * @throws NullPointerException if tileSource, tileCache or sourceName is null
+   * @throws IllegalArgumentException if sourceName is empty, contains a path separator or is "." or ".."
+   * @since 100.2.1
+   */
+  public TilePrefetcher(TileSource tileSource, DiskTileCache tileCache, String sourceName, double originX,
+    double originY, int tileWidth, int tileHeight) {
+    this.tileSource = Objects.requireNonNull(tileSource, "tileSource cannot be null");
+    this.tileCache = Objects.requireNonNull(tileCache, "tileCache cannot be null");
+    DiskTileCache.checkSourceName(sourceName);
+    this.sourceName = sourceName;
+    this.originX = originX;
+    this.originY = originY;
+    this.tileWidth = tileWidth;
+    this.tileHeight = tileHeight;
+  }
+
+  /**
+   * Prefetches the tiles of a level that cover an extent. Tiles already in the cache are skipped, and tiles still
+   * waiting to be fetched from a previous call are abandoned.
+   *
+   * @param level the level of detail
+   * @param resolution the resolution of the level in map units per pixel
+   * @param xMin the minimum x coordinate of the extent
+   * @param yMin the minimum y coordinate of the extent
+   * @param xMax the maximum x coordinate of the extent
+   * @param yMax the maximum y coordinate of the extent
+   * @since 100.2.1
+   */
+  public void prefetch(int level, double resolution, double xMin, double yMin, double xMax, double yMax) {
+    double tileMapWidth = tileWidth * resolution;
+    double tileMapHeight = tileHeight * resolution;
+    if (!(tileMapWidth > 0.0) || !(tileMapHeight > 0.0)) {
+      return;
+    }
+    int minColumn = (int) Math.floor((xMin - originX) / tileMapWidth);
+    int maxColumn = (int) Math.floor((xMax - originX) / tileMapWidth);
+    int minRow = (int) Math.floor((originY - yMax) / tileMapHeight);
+    int maxRow = (int) Math.floor((originY - yMin) / tileMapHeight);
+
+    queue.clear();
+    int count = 0;
+    for (int row = Math.max(0, minRow); row <= maxRow && count < MAX_TILES_PER_PREFETCH; row++) {
+      for (int column = Math.max(0, minColumn); column <= maxColumn && count < MAX_TILES_PER_PREFETCH; column++) {
+        if (!tileCache.contains(sourceName, level, row, column)) {
+          int tileRow = row;
+          int tileColumn = column;
+          queue.add(() -> fetch(level, tileRow, tileColumn));
+          count++;
+        }
+      }
+    }
+    if (count > 0) {
+      startExecutor();
+    }
+  }
+
+  /**
+   * Records that a tile has been requested by a layer, so that the hit rate can be worked out.
+   *
+   * @param level the level of detail
+   * @param row the tile row
+   * @param column the tile column
+   * @since 100.2.1
+   */
+  public void tileRequested(int level, int row, int column) {
+    requestCount.incrementAndGet();
+    Boolean prefetched;
+    synchronized (prefetchedTiles) {
+      prefetched = prefetchedTiles.remove(key(level, row, column));
+    }
+    if (prefetched != null) {
+      hitCount.incrementAndGet();
+      PREFETCH_HIT_COUNT.increment();
+    }
+  }
+
+  /**
+   * Gets the number of tiles that have been prefetched.
+   *
+   * @return the number of tiles prefetched
+   * @since 100.2.1
+   */
+  public long getPrefetchCount() {
+    return prefetchCount.get();
+  }
+
+  /**
+   * Gets the number of prefetched tiles that were later requested.
+   *
+   * @return the number of hits
+   * @since 100.2.1
+   */
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  /**
+   * Gets the number of tile requests recorded with {@link #tileRequested(int, int, int)}.
+   *
+   * @return the number of tile requests
+   * @since 100.2.1
+   */
+  public long getRequestCount() {
+    return requestCount.get();
+  }
+
+  /**
+   * Gets the fraction of prefetched tiles that were later requested.
+   *
+   * @return the hit rate between 0 and 1, or 0 if nothing has been prefetched
+   * @since 100.2.1
+   */
+  public double getHitRate() {
+    long prefetched = prefetchCount.get();
+    return prefetched == 0 ? 0.0 : (double) hitCount.get() / prefetched;
+  }
+
+  /**
+   * Stops prefetching and the background thread. Tiles waiting to be fetched are abandoned. A later call to
+   * {@link #prefetch(int, double, double, double, double, double)} starts a new background thread.
+   *
+   * @since 100.2.1
+   */
+  public synchronized void shutdown() {
+    queue.clear();
+    if (executor != null) {
+      executor.shutdownNow();
+      executor = null;
+    }
+  }
+
+  /**
+   * Fetches a tile into the cache.
+   *
+   * @param level the level of detail
+   * @param row the tile row
+   * @param column the tile column
+   * @since 100.2.1
+   */
+  private void fetch(int level, int row, int column) {
+    if (tileCache.contains(sourceName, level, row, column)) {
+      return;
+    }
+    byte[] data;
+    try {
+      data = tileCache.getOrFetch(sourceName, level, row, column, tileSource);
+    } catch (IOException e) {
+      return;
+    }
+    if (data != null) {
+      prefetchCount.incrementAndGet();
+      PREFETCH_COUNT.increment();
+      synchronized (prefetchedTiles) {
+        prefetchedTiles.put(key(level, row, column), Boolean.TRUE);
+      }
+    }
+  }
+
+  /**
+   * Starts the background thread if it isn't running. The thread exits after it has been idle for a while.
+   *
+   * @since 100.2.1
+   */
+  private synchronized void startExecutor() {
+    if (executor == null) {
+      executor = new ThreadPoolExecutor(1, 1, IDLE_TIMEOUT, TimeUnit.SECONDS, queue, r -> {
+        Thread thread = Executors.defaultThreadFactory().newThread(r);
+        thread.setName("toolkit-tile-prefetch");
+        thread.setDaemon(true);
+        return thread;
+      });
+      executor.allowCoreThreadTimeOut(true);
+    }
+    // the tasks are put straight on the queue so a thread has to be started to take them
+    executor.prestartCoreThread();
+  }
+
+  /**
+   * Packs a tile position into a single key.
+   *
+   * @param level the level of detail
+   * @param row the tile row
+   * @param column the tile column
+   * @return the key
+   * @since 100.2.1
+   */
+  private static long key(int level, int row, int column) {
+    return ((long) level << 56) | ((long) (row & 0xFFFFFFF) << 28) | (column & 0xFFFFFFF);
+  }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.esri.arcgisruntime.toolkit;
+
+import java.io.IOException;
+
+/**
+ * A source of tile images addressed by level, row and column e.g. a tiled map service or a local store of tiles.
+ * Implementations must be safe to call from multiple threads.
+ *
+ * @since 100.2.1
+ */
+public interface TileSource {
+
+  /**
+   * Returns the encoded image data for a tile.
+   *
+   * @param level the level of detail
+   * @param row the tile row
+   * @param column the tile column
+   * @return the image data, or null if the source has no tile at that position
+   * @throws IOException if the tile could not be read
+   * @since 100.2.1
+   */
+  byte[] getTile(int level, int row, int column) throws IOException;
+}
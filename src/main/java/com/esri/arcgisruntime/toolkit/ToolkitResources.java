@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.esri.arcgisruntime.toolkit;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.esri.arcgisruntime.geometry.LinearUnit;
+import com.esri.arcgisruntime.geometry.LinearUnitId;
+import com.esri.arcgisruntime.symbology.FillSymbol;
+import com.esri.arcgisruntime.symbology.SimpleFillSymbol;
+
+/**
+ * Shared instances of the runtime objects used by the toolkit's controls. Creating a unit or symbol initializes the
+ * runtime's native library, so none of them are created until they are first asked for. Loading a toolkit class does
+ * not start the runtime, and controls of the same kind share one instance instead of each creating their own.
+ *
+ * <p>This class is thread safe.
+ *
+ * @since 100.2.1
+ */
+public final class ToolkitResources {
+
+  private static final ConcurrentHashMap<LinearUnitId, LinearUnit> LINEAR_UNITS = new ConcurrentHashMap<>();
+
+  /**
+   * Private constructor as this class is not meant to be instantiated.
+   *
+   * @since 100.2.1
+   */
+  private ToolkitResources() {
+  }
+
+  /**
+   * Gets the shared linear unit with an id, creating it the first time it is asked for.
+   *
+   * @param linearUnitId the unit id
+   * @return the linear unit
+   * @throws NullPointerException if linearUnitId is null
+   * @since 100.2.1
+   */
+  public static LinearUnit getLinearUnit(LinearUnitId linearUnitId) {
+    Objects.requireNonNull(linearUnitId, "linearUnitId cannot be null");
+    return LINEAR_UNITS.computeIfAbsent(linearUnitId, LinearUnit::new);
+  }
+
+  /**
+   * Gets the symbol an overview map uses for its indicator when no symbol is given, creating it the first time it is
+   * asked for.
+   *
+   * @return the default indicator symbol
+   * @since 100.2.1
+   */
+  public static FillSymbol getDefaultIndicatorSymbol() {
+    return DefaultIndicatorSymbolHolder.SYMBOL;
+  }
+
+  /**
+   * Holds the default indicator symbol, which is created when this class is first used.
+   *
+   * @since 100.2.1
+   */
+  private static final class DefaultIndicatorSymbolHolder {
+    static final FillSymbol SYMBOL = new SimpleFillSymbol(SimpleFillSymbol.Style.SOLID, 0x7F000000, null);
+  }
+}
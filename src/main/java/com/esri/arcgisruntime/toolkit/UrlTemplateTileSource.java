@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.esri.arcgisruntime.toolkit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.Objects;
+
+/**
+ * A tile source that downloads tiles from a URL template. The template contains the placeholders {level}, {row} and
+ * {col} e.g. {@code https://server/arcgis/rest/services/Service/MapServer/tile/{level}/{row}/{col}}.
+ *
+ * <p>Tiles are downloaded with a plain {@link URLConnection}, not through the runtime's request pipeline, so the
+ * {@code AuthenticationManager}, its credential cache and any challenge handler are bypassed. Only public services, or
+ * services whose token is part of the template, can be used. Proxy and TLS settings are those of the JVM.
+ *
+ * @since 100.2.1
+ */
+public final class UrlTemplateTileSource implements TileSource {
+
+  private static final int TIMEOUT = 10000;
+
+  private final String template;
+
+  /**
+   * Creates a tile source from a URL template.
+   *
+   * @param template the URL template
+   * @throws NullPointerException if template is null
+   * @since 100.2.1
+   */
+  public UrlTemplateTileSource(String template) {
+    this.template = Objects.requireNonNull(template, "template cannot be null");
+  }
+
+  /**
+   * Gets the URL template.
+   *
+   * @return the URL template
+   * @since 100.2.1
+   */
+  public String getTemplate() {
+    return template;
+  }
+
+  @Override
+  public byte[] getTile(int level, int row, int column) throws IOException {
+    URL url = new URL(template
+      .replace("{level}", Integer.toString(level))
+      .replace("{row}", Integer.toString(row))
+      .replace("{col}", Integer.toString(column)));
+    URLConnection connection = url.openConnection();
+    connection.setConnectTimeout(TIMEOUT);
+    connection.setReadTimeout(TIMEOUT);
+    try (InputStream inputStream = connection.getInputStream()) {
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      byte[] buffer = new byte[8192];
+      int count;
+      while ((count = inputStream.read(buffer)) != -1) {
+        outputStream.write(buffer, 0, count);
+      }
+      return outputStream.toByteArray();
+    } catch (FileNotFoundException e) {
+      // no tile at this position
+      return null;
+    }
+  }
+}
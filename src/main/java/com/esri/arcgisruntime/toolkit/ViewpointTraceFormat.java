@@ -0,0 +1,62 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.esri.arcgisruntime.toolkit;
+
+/**
+ * The binary layout of a viewpoint trace file, shared by {@link ViewpointTraceRecorder} and
+ * {@link ViewpointTracePlayer}. A header holding a magic number, a version and the number of events is followed by one
+ * fixed size record per event. Multi-byte values are big endian.
+ *
+ * @since 100.2.1
+ */
+final class ViewpointTraceFormat {
+
+  // file layout: a header followed by fixed size records
+  static final int MAGIC = 0x56505452;
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 16;
+  static final int COUNT_OFFSET = 8;
+  static final int RECORD_SIZE = 112;
+
+  // record field offsets
+  static final int TIME = 0;
+  static final int WKID = 8;
+  static final int TYPE = 12;
+  static final int CENTER_X = 16;
+  static final int CENTER_Y = 24;
+  static final int SCALE = 32;
+  static final int ROTATION = 40;
+  static final int CAMERA_X = 48;
+  static final int CAMERA_Y = 56;
+  static final int CAMERA_Z = 64;
+  static final int HEADING = 72;
+  static final int PITCH = 80;
+  static final int ROLL = 88;
+  static final int WIDTH = 96;
+  static final int HEIGHT = 104;
+
+  // record types
+  static final int MAP_VIEW = 0;
+  static final int SCENE_VIEW = 1;
+
+  /**
+   * Private constructor as this class is not meant to be instantiated.
+   *
+   * @since 100.2.1
+   */
+  private ViewpointTraceFormat() {
+  }
+}
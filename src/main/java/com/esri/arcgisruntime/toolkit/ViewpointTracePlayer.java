@@ -0,0 +1,367 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.esri.arcgisruntime.toolkit;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Objects;
+
+import com.esri.arcgisruntime.geometry.Point;
+import com.esri.arcgisruntime.geometry.SpatialReference;
+import com.esri.arcgisruntime.mapping.Viewpoint;
+import com.esri.arcgisruntime.mapping.view.Camera;
+import com.esri.arcgisruntime.mapping.view.GeoView;
+import com.esri.arcgisruntime.mapping.view.SceneView;
+import javafx.animation.AnimationTimer;
+
+/**
+ * Replays a trace recorded by a {@link ViewpointTraceRecorder} on a geo view, at the speed it was recorded or faster.
+ * The trace is read through a memory mapping so events are never copied. Events can also be read directly, for example
+ * to benchmark code against a recorded session without a view.
+ *
+ * <p>Playback must be controlled on the JavaFX application thread.
+ *
+ * @since 100.2.1
+ */
+public final class ViewpointTracePlayer {
+
+  private final MappedByteBuffer buffer;
+  private final int eventCount;
+
+  private GeoView geoView;
+  private double speed;
+  private long startTime;
+  private int nextEvent;
+  private Runnable onFinished;
+
+  private final AnimationTimer timer = new AnimationTimer() {
+    @Override
+    public void handle(long now) {
+      pulse(now);
+    }
+  };
+
+  /**
+   * Opens a trace file.
+   *
+   * @param file the trace file
+   * @throws NullPointerException if file is null
+   * @throws IOException if the file cannot be read or is not a viewpoint trace
+   * @since 100.2.1
+   */
+  public ViewpointTracePlayer(File file) throws IOException {
+    Objects.requireNonNull(file, "file cannot be null");
+    // the mapping stays valid after the file is closed
+    try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+      long size = randomAccessFile.length();
+      if (size < ViewpointTraceFormat.HEADER_SIZE || size > Integer.MAX_VALUE) {
+        throw new IOException("not a viewpoint trace: " + file);
+      }
+      buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+    if (buffer.getInt(0) != ViewpointTraceFormat.MAGIC || buffer.getInt(4) != ViewpointTraceFormat.VERSION) {
+      throw new IOException("not a viewpoint trace: " + file);
+    }
+    int count = buffer.getInt(ViewpointTraceFormat.COUNT_OFFSET);
+    long required = ViewpointTraceFormat.HEADER_SIZE + (long) count * ViewpointTraceFormat.RECORD_SIZE;
+    if (count < 0 || required > buffer.capacity()) {
+      throw new IOException("truncated viewpoint trace: " + file);
+    }
+    eventCount = count;
+  }
+
+  /**
+   * Starts replaying the trace on a geo view. Any replay already in progress is stopped. Events are replayed at their
+   * recorded times divided by the speed; if several events fall within one frame only the last is applied.
+   *
+   * @param geoView the geo view
+   * @param speed the playback speed, 1 for the speed the trace was recorded at
+   * @throws NullPointerException if geoView is null
+   * @throws IllegalArgumentException if speed is not positive
+   * @since 100.2.1
+   */
+  public void play(GeoView geoView, double speed) {
+    Objects.requireNonNull(geoView, "geoView cannot be null");
+    if (!(speed > 0.0) || Double.isInfinite(speed)) {
+      throw new IllegalArgumentException("speed must be positive");
+    }
+    stop();
+    this.geoView = geoView;
+    this.speed = speed;
+    startTime = System.nanoTime();
+    nextEvent = 0;
+    timer.start();
+  }
+
+  /**
+   * Stops replaying.
+   *
+   * @since 100.2.1
+   */
+  public void stop() {
+    timer.stop();
+    geoView = null;
+  }
+
+  /**
+   * Returns true while the trace is being replayed.
+   *
+   * @return true if playing
+   * @since 100.2.1
+   */
+  public boolean isPlaying() {
+    return geoView != null;
+  }
+
+  /**
+   * Sets an action to run when a replay reaches the end of the trace.
+   *
+   * @param onFinished the action, or null for none
+   * @since 100.2.1
+   */
+  public void setOnFinished(Runnable onFinished) {
+    this.onFinished = onFinished;
+  }
+
+  /**
+   * Gets the number of events in the trace.
+   *
+   * @return the number of events
+   * @since 100.2.1
+   */
+  public int getEventCount() {
+    return eventCount;
+  }
+
+  /**
+   * Gets the time of an event since recording started.
+   *
+   * @param index the index of the event
+   * @return the time in nanoseconds
+   * @throws IndexOutOfBoundsException if index is out of range
+   * @since 100.2.1
+   */
+  public long getTime(int index) {
+    return buffer.getLong(offset(index) + ViewpointTraceFormat.TIME);
+  }
+
+  /**
+   * Returns true if an event was recorded from a scene view, in which case its camera is set.
+   *
+   * @param index the index of the event
+   * @return true for a scene view event
+   * @throws IndexOutOfBoundsException if index is out of range
+   * @since 100.2.1
+   */
+  public boolean isSceneViewEvent(int index) {
+    return buffer.getInt(offset(index) + ViewpointTraceFormat.TYPE) == ViewpointTraceFormat.SCENE_VIEW;
+  }
+
+  /**
+   * Gets the well-known ID of the spatial reference of an event's coordinates.
+   *
+   * @param index the index of the event
+   * @return the well-known ID, or 0 if unknown
+   * @throws IndexOutOfBoundsException if index is out of range
+   * @since 100.2.1
+   */
+  public int getWkid(int index) {
+    return buffer.getInt(offset(index) + ViewpointTraceFormat.WKID);
+  }
+
+  /**
+   * Gets the x coordinate of the view's center, or of the camera for a scene view.
+   *
+   * @param index the index of the event
+   * @return the x coordinate
+   * @throws IndexOutOfBoundsException if index is out of range
+   * @since 100.2.1
+   */
+  public double getCenterX(int index) {
+    return buffer.getDouble(offset(index) + ViewpointTraceFormat.CENTER_X);
+  }
+
+  /**
+   * Gets the y coordinate of the view's center, or of the camera for a scene view.
+   *
+   * @param index the index of the event
+   * @return the y coordinate
+   * @throws IndexOutOfBoundsException if index is out of range
+   * @since 100.2.1
+   */
+  public double getCenterY(int index) {
+    return buffer.getDouble(offset(index) + ViewpointTraceFormat.CENTER_Y);
+  }
+
+  /**
+   * Gets the scale of the view.
+   *
+   * @param index the index of the event
+   * @return the scale, or NaN for a scene view event
+   * @throws IndexOutOfBoundsException if index is out of range
+   * @since 100.2.1
+   */
+  public double getScale(int index) {
+    return buffer.getDouble(offset(index) + ViewpointTraceFormat.SCALE);
+  }
+
+  /**
+   * Gets the rotation of the view, the map rotation for a map view or the camera heading for a scene view.
+   *
+   * @param index the index of the event
+   * @return the rotation in degrees
+   * @throws IndexOutOfBoundsException if index is out of range
+   * @since 100.2.1
+   */
+  public double getRotation(int index) {
+    return buffer.getDouble(offset(index) + ViewpointTraceFormat.ROTATION);
+  }
+
+  /**
+   * Gets the height of the camera for a scene view event.
+   *
+   * @param index the index of the event
+   * @return the camera height, or NaN for a map view event
+   * @throws IndexOutOfBoundsException if index is out of range
+   * @since 100.2.1
+   */
+  public double getCameraZ(int index) {
+    return buffer.getDouble(offset(index) + ViewpointTraceFormat.CAMERA_Z);
+  }
+
+  /**
+   * Gets the heading of the camera for a scene view event.
+   *
+   * @param index the index of the event
+   * @return the camera heading in degrees, or NaN for a map view event
+   * @throws IndexOutOfBoundsException if index is out of range
+   * @since 100.2.1
+   */
+  public double getHeading(int index) {
+    return buffer.getDouble(offset(index) + ViewpointTraceFormat.HEADING);
+  }
+
+  /**
+   * Gets the pitch of the camera for a scene view event.
+   *
+   * @param index the index of the event
+   * @return the camera pitch in degrees, or NaN for a map view event
+   * @throws IndexOutOfBoundsException if index is out of range
+   * @since 100.2.1
+   */
+  public double getPitch(int index) {
+    return buffer.getDouble(offset(index) + ViewpointTraceFormat.PITCH);
+  }
+
+  /**
+   * Gets the roll of the camera for a scene view event.
+   *
+   * @param index the index of the event
+   * @return the camera roll in degrees, or NaN for a map view event
+   * @throws IndexOutOfBoundsException if index is out of range
+   * @since 100.2.1
+   */
+  public double getRoll(int index) {
+    return buffer.getDouble(offset(index) + ViewpointTraceFormat.ROLL);
+  }
+
+  /**
+   * Gets the width of the view when the event was recorded.
+   *
+   * @param index the index of the event
+   * @return the width
+   * @throws IndexOutOfBoundsException if index is out of range
+   * @since 100.2.1
+   */
+  public double getWidth(int index) {
+    return buffer.getDouble(offset(index) + ViewpointTraceFormat.WIDTH);
+  }
+
+  /**
+   * Gets the height of the view when the event was recorded.
+   *
+   * @param index the index of the event
+   * @return the height
+   * @throws IndexOutOfBoundsException if index is out of range
+   * @since 100.2.1
+   */
+  public double getHeight(int index) {
+    return buffer.getDouble(offset(index) + ViewpointTraceFormat.HEIGHT);
+  }
+
+  /**
+   * Applies the last event that is due on this frame.
+   *
+   * @param now the timestamp of the current pulse in nanoseconds
+   * @since 100.2.1
+   */
+  private void pulse(long now) {
+    double elapsed = (now - startTime) * speed;
+    int due = nextEvent;
+    while (due < eventCount && getTime(due) <= elapsed) {
+      due++;
+    }
+    if (due > nextEvent) {
+      nextEvent = due;
+      apply(due - 1);
+    }
+    if (nextEvent >= eventCount) {
+      stop();
+      if (onFinished != null) {
+        onFinished.run();
+      }
+    }
+  }
+
+  /**
+   * Sets the geo view's viewpoint from an event.
+   *
+   * @param index the index of the event
+   * @since 100.2.1
+   */
+  private void apply(int index) {
+    int wkid = getWkid(index);
+    SpatialReference spatialReference = wkid != 0 ? SpatialReference.create(wkid) : null;
+    if (isSceneViewEvent(index)) {
+      if (geoView instanceof SceneView) {
+        Point location = new Point(getCenterX(index), getCenterY(index), getCameraZ(index), spatialReference);
+        ((SceneView) geoView).setViewpointCamera(new Camera(location, getHeading(index), getPitch(index),
+          getRoll(index)));
+      }
+    } else {
+      Point center = new Point(getCenterX(index), getCenterY(index), spatialReference);
+      geoView.setViewpoint(new Viewpoint(center, getScale(index), getRotation(index)));
+    }
+  }
+
+  /**
+   * Returns the offset of an event in the trace.
+   *
+   * @param index the index of the event
+   * @return the offset
+   * @throws IndexOutOfBoundsException if index is out of range
+   * @since 100.2.1
+   */
+  private int offset(int index) {
+    if (index < 0 || index >= eventCount) {
+      throw new IndexOutOfBoundsException("index: " + index);
+    }
+    return ViewpointTraceFormat.HEADER_SIZE + index * ViewpointTraceFormat.RECORD_SIZE;
+  }
+}
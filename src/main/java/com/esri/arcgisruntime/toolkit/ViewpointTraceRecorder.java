@@ -0,0 +1,219 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.esri.arcgisruntime.toolkit;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Objects;
+
+import com.esri.arcgisruntime.geometry.Point;
+import com.esri.arcgisruntime.geometry.SpatialReference;
+import com.esri.arcgisruntime.mapping.Viewpoint;
+import com.esri.arcgisruntime.mapping.view.Camera;
+import com.esri.arcgisruntime.mapping.view.GeoView;
+import com.esri.arcgisruntime.mapping.view.MapView;
+import com.esri.arcgisruntime.mapping.view.SceneView;
+import com.esri.arcgisruntime.mapping.view.ViewpointChangedListener;
+
+/**
+ * Records every viewpoint change of a geo view to a compact binary trace file, so that a session can be replayed later
+ * with a {@link ViewpointTracePlayer}. Each event stores its time, the view's center, scale and rotation, the camera of
+ * a scene view and the size of the view.
+ *
+ * <p>The file is written through a memory mapping of a fixed size, set by the maximum number of events, so recording
+ * an event doesn't allocate or make a system call. Recording stops once the trace is full. When the recorder is closed
+ * the file is trimmed to the events recorded, except on platforms such as Windows that can't resize a file while it
+ * is mapped; the file then keeps its full size and readers rely on the event count in its header.
+ *
+ * <p>The recorder must only be used on the JavaFX application thread.
+ *
+ * @since 100.2.1
+ */
+public final class ViewpointTraceRecorder implements AutoCloseable {
+
+  private final GeoView geoView;
+  private final RandomAccessFile file;
+  private final MappedByteBuffer buffer;
+  private final int maxEvents;
+  private final long startTime;
+  private int eventCount = 0;
+  private boolean closed = false;
+
+  private final ViewpointChangedListener viewpointChangedListener = v -> record();
+
+  /**
+   * Creates a recorder and starts recording.
+   *
+   * @param geoView the geo view to record
+   * @param file the file to write the trace to, it is replaced if it exists
+   * @param maxEvents the maximum number of events to record
+   * @throws NullPointerException if geoView or file is null
+   * @throws IllegalArgumentException if maxEvents is not positive or is too large for a single file mapping
+   * @throws IOException if the file cannot be created
+   * @since 100.2.1
+   */
+  public ViewpointTraceRecorder(GeoView geoView, File file, int maxEvents) throws IOException {
+    this.geoView = Objects.requireNonNull(geoView, "geoView cannot be null");
+    Objects.requireNonNull(file, "file cannot be null");
+    int limit = (Integer.MAX_VALUE - ViewpointTraceFormat.HEADER_SIZE) / ViewpointTraceFormat.RECORD_SIZE;
+    if (maxEvents <= 0 || maxEvents > limit) {
+      throw new IllegalArgumentException("maxEvents out of range");
+    }
+    this.maxEvents = maxEvents;
+
+    long size = ViewpointTraceFormat.HEADER_SIZE + (long) maxEvents * ViewpointTraceFormat.RECORD_SIZE;
+    this.file = new RandomAccessFile(file, "rw");
+    try {
+      this.file.setLength(0);
+      buffer = this.file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+    } catch (IOException e) {
+      this.file.close();
+      throw e;
+    }
+    buffer.putInt(0, ViewpointTraceFormat.MAGIC);
+    buffer.putInt(4, ViewpointTraceFormat.VERSION);
+    buffer.putInt(ViewpointTraceFormat.COUNT_OFFSET, 0);
+
+    startTime = System.nanoTime();
+    geoView.addViewpointChangedListener(viewpointChangedListener);
+  }
+
+  /**
+   * Gets the number of events recorded so far.
+   *
+   * @return the number of events
+   * @since 100.2.1
+   */
+  public int getEventCount() {
+    return eventCount;
+  }
+
+  /**
+   * Returns true if the trace is full and no more events are being recorded.
+   *
+   * @return true if full
+   * @since 100.2.1
+   */
+  public boolean isFull() {
+    return eventCount >= maxEvents;
+  }
+
+  /**
+   * Stops recording, writes the trace to disk and trims the file to the events recorded. Closing a recorder that is
+   * already closed has no effect.
+   *
+   * @throws IOException if the file cannot be closed
+   * @since 100.2.1
+   */
+  @Override
+  public void close() throws IOException {
+    if (!closed) {
+      closed = true;
+      geoView.removeViewpointChangedListener(viewpointChangedListener);
+      try {
+        buffer.force();
+        trim();
+      } finally {
+        file.close();
+      }
+    }
+  }
+
+  /**
+   * Truncates the file to the header and the events recorded. The mapping can't be released explicitly, nothing is
+   * written through it once the recorder is closed, so the file is truncated under it.
+   *
+   * @since 100.2.1
+   */
+  private void trim() {
+    long size = ViewpointTraceFormat.HEADER_SIZE + (long) eventCount * ViewpointTraceFormat.RECORD_SIZE;
+    try {
+      file.getChannel().truncate(size);
+    } catch (IOException e) {
+      // the platform doesn't allow truncating a mapped file, the trace is still complete at its preallocated size
+    }
+  }
+
+  /**
+   * Records the geo view's current viewpoint.
+   *
+   * @since 100.2.1
+   */
+  private void record() {
+    if (closed || eventCount >= maxEvents) {
+      return;
+    }
+    int offset = ViewpointTraceFormat.HEADER_SIZE + eventCount * ViewpointTraceFormat.RECORD_SIZE;
+    buffer.putLong(offset + ViewpointTraceFormat.TIME, System.nanoTime() - startTime);
+    buffer.putDouble(offset + ViewpointTraceFormat.WIDTH, geoView.getWidth());
+    buffer.putDouble(offset + ViewpointTraceFormat.HEIGHT, geoView.getHeight());
+
+    if (geoView instanceof SceneView) {
+      // the camera describes a scene view completely, so the viewpoint isn't queried
+      Camera camera = ((SceneView) geoView).getCurrentViewpointCamera();
+      if (camera == null) {
+        return;
+      }
+      Point location = camera.getLocation();
+      buffer.putInt(offset + ViewpointTraceFormat.TYPE, ViewpointTraceFormat.SCENE_VIEW);
+      buffer.putInt(offset + ViewpointTraceFormat.WKID, wkid(location.getSpatialReference()));
+      buffer.putDouble(offset + ViewpointTraceFormat.CENTER_X, location.getX());
+      buffer.putDouble(offset + ViewpointTraceFormat.CENTER_Y, location.getY());
+      buffer.putDouble(offset + ViewpointTraceFormat.SCALE, Double.NaN);
+      buffer.putDouble(offset + ViewpointTraceFormat.ROTATION, camera.getHeading());
+      buffer.putDouble(offset + ViewpointTraceFormat.CAMERA_X, location.getX());
+      buffer.putDouble(offset + ViewpointTraceFormat.CAMERA_Y, location.getY());
+      buffer.putDouble(offset + ViewpointTraceFormat.CAMERA_Z, location.getZ());
+      buffer.putDouble(offset + ViewpointTraceFormat.HEADING, camera.getHeading());
+      buffer.putDouble(offset + ViewpointTraceFormat.PITCH, camera.getPitch());
+      buffer.putDouble(offset + ViewpointTraceFormat.ROLL, camera.getRoll());
+    } else {
+      Viewpoint viewpoint = geoView.getCurrentViewpoint(Viewpoint.Type.CENTER_AND_SCALE);
+      Point center = viewpoint != null ? (Point) viewpoint.getTargetGeometry() : null;
+      if (center == null) {
+        return;
+      }
+      buffer.putInt(offset + ViewpointTraceFormat.TYPE, ViewpointTraceFormat.MAP_VIEW);
+      buffer.putInt(offset + ViewpointTraceFormat.WKID, wkid(center.getSpatialReference()));
+      buffer.putDouble(offset + ViewpointTraceFormat.CENTER_X, center.getX());
+      buffer.putDouble(offset + ViewpointTraceFormat.CENTER_Y, center.getY());
+      buffer.putDouble(offset + ViewpointTraceFormat.SCALE, viewpoint.getTargetScale());
+      double rotation = geoView instanceof MapView ? ((MapView) geoView).getMapRotation() : 0.0;
+      buffer.putDouble(offset + ViewpointTraceFormat.ROTATION, rotation);
+      for (int field = ViewpointTraceFormat.CAMERA_X; field <= ViewpointTraceFormat.ROLL; field += 8) {
+        buffer.putDouble(offset + field, Double.NaN);
+      }
+    }
+
+    // the count is written last so a reader never sees a partly written record
+    eventCount++;
+    buffer.putInt(ViewpointTraceFormat.COUNT_OFFSET, eventCount);
+  }
+
+  /**
+   * Returns the well-known ID of a spatial reference.
+   *
+   * @param spatialReference the spatial reference
+   * @return the well-known ID, or 0 if there is no spatial reference
+   * @since 100.2.1
+   */
+  private static int wkid(SpatialReference spatialReference) {
+    return spatialReference != null ? spatialReference.getWkid() : 0;
+  }
+}
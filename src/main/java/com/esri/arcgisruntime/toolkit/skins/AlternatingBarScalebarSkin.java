@@ -19,8 +19,7 @@ package com.esri.arcgisruntime.toolkit.skins;
 import com.esri.arcgisruntime.geometry.LinearUnit;
 import com.esri.arcgisruntime.toolkit.Scalebar;
 import com.esri.arcgisruntime.toolkit.ScalebarUtil;
-import javafx.geometry.Insets;
-import javafx.scene.control.Label;
+import javafx.scene.Node;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.layout.Pane;
 import javafx.scene.shape.Rectangle;
@@ -63,6 +62,12 @@ public final class AlternatingBarScalebarSkin extends ScalebarSkin {
     // get the distance to be displayed in that unit
     displayDistance = ScalebarUtil.calculateDistanceInDisplayUnits(displayDistance, getBaseUnit(), displayUnits);
 
+    // show a cached image if the scalebar has been drawn like this before
+    if (showCachedImage(width, height, displayWidth,
+      ScalebarUtil.labelString(displayDistance) + displayUnits.getAbbreviation())) {
+      return;
+    }
+
     // create a label to use to work out how many labels can fit in the scale bar width
     String sampleLabelString = ScalebarUtil.labelString(displayDistance);
     // possibly the total distance string is shorter than the other labels if they have decimal parts so
@@ -70,14 +75,12 @@ public final class AlternatingBarScalebarSkin extends ScalebarSkin {
     if (sampleLabelString.length() < 3) {
       sampleLabelString = "9.9";
     }
-    Label sampleLabel = new Label(sampleLabelString);
     // apply some padding so the labels have some space around them
-    sampleLabel.setPadding(new Insets(0.0, 10.0, 0.0, 10.0));
-
-    double widthOfLabel = calculateRegion(sampleLabel).getWidth();
+    double widthOfLabel = measureText(sampleLabelString) + (LABEL_PADDING * 2.0);
     int maximumNumberOfSegments = (int) (displayWidth / widthOfLabel);
 
     int bestNumberOfSegments = ScalebarUtil.calculateOptimalNumberOfSegments(displayDistance, maximumNumberOfSegments);
+    setSegmentCount(bestNumberOfSegments);
 
     double segmentWidth = displayWidth / bestNumberOfSegments;
     double segmentDistance = displayDistance / bestNumberOfSegments;
@@ -89,17 +92,16 @@ public final class AlternatingBarScalebarSkin extends ScalebarSkin {
     segmentPane.getChildren().clear();
     segmentPane.setMaxWidth(displayWidth);
 
-    Label label;
+    Node label;
     Rectangle barSegment;
 
     for (int i = 0; i < bestNumberOfSegments; ++i) {
-      label = new Label(ScalebarUtil.labelString(i * segmentDistance));
-      label.setTextFill(TEXT_COLOR);
+      label = createLabel(ScalebarUtil.labelString(i * segmentDistance));
 
       // first label is aligned with its left to the edge of the bar while the intermediate
       // labels are centered on the dividers
       if (i > 0) {
-        label.setTranslateX((i * segmentWidth) - (calculateRegion(label).getWidth() / 2.0));
+        label.setTranslateX((i * segmentWidth) - (measureLabel(label) / 2.0));
       }
       labelPane.getChildren().add(label);
 
@@ -124,23 +126,22 @@ public final class AlternatingBarScalebarSkin extends ScalebarSkin {
     }
 
     // the last label is aligned so its end is at the end of the line so it is done outside the loop
-    label = new Label(ScalebarUtil.labelString(displayDistance));
+    label = createLabel(ScalebarUtil.labelString(displayDistance));
     // translate it into the correct position
-    label.setTranslateX((bestNumberOfSegments * segmentWidth) - calculateRegion(label).getWidth());
+    label.setTranslateX((bestNumberOfSegments * segmentWidth) - measureLabel(label));
     // then add the units on so the end of the number aligns with the end of the bar and the unit is off the end
-    label.setText(ScalebarUtil.labelString(displayDistance) + displayUnits.getAbbreviation());
-    label.setTextFill(TEXT_COLOR);
+    setLabelText(label, ScalebarUtil.labelString(displayDistance) + displayUnits.getAbbreviation());
     labelPane.getChildren().add(label);
 
     // move the bar and labels into their final position - slightly off center due to the units
-    Label abbreviationLabel = new Label(displayUnits.getAbbreviation());
-    segmentPane.setTranslateX(-calculateRegion(abbreviationLabel).getWidth() / 2.0);
-    labelPane.setTranslateX(-calculateRegion(abbreviationLabel).getWidth() / 2.0);
+    double abbreviationWidth = measureText(displayUnits.getAbbreviation());
+    segmentPane.setTranslateX(-abbreviationWidth / 2.0);
+    labelPane.setTranslateX(-abbreviationWidth / 2.0);
 
     // adjust for left/right/center alignment
     getVBox().setTranslateX(
       calculateAlignmentTranslationX(width,
-        displayWidth + calculateRegion(new Label(displayUnits.getAbbreviation())).getWidth()));
+        displayWidth + abbreviationWidth));
 
     // set invisible if distance is zero
     getVBox().setVisible(displayDistance > 0);
@@ -148,12 +149,12 @@ public final class AlternatingBarScalebarSkin extends ScalebarSkin {
 
   @Override
   protected double calculateAvailableWidth(double width) {
-    return width - (calculateRegion(new Label("mm")).getWidth()) - SHADOW_OFFSET;
+    return width - measureText("mm") - SHADOW_OFFSET;
   }
 
   @Override
   protected double computePrefHeight(
     double width, double topInset, double rightInset, double bottomInset, double leftInset) {
-    return topInset + bottomInset + HEIGHT + STROKE_WIDTH + calculateRegion(new Label()).getHeight();
+    return topInset + bottomInset + HEIGHT + STROKE_WIDTH + measureTextHeight();
   }
 }
@@ -19,7 +19,7 @@ package com.esri.arcgisruntime.toolkit.skins;
 import com.esri.arcgisruntime.geometry.LinearUnit;
 import com.esri.arcgisruntime.toolkit.Scalebar;
 import com.esri.arcgisruntime.toolkit.ScalebarUtil;
-import javafx.scene.control.Label;
+import javafx.scene.Node;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.shape.Rectangle;
 
@@ -30,7 +30,7 @@ import javafx.scene.shape.Rectangle;
  */
 public final class BarScalebarSkin extends ScalebarSkin {
 
-  private final Label distanceLabel = new Label();
+  private final Node distanceLabel;
   private final Rectangle bar = new Rectangle();
   private final Rectangle outerBar = new Rectangle();
 
@@ -51,7 +51,7 @@ public final class BarScalebarSkin extends ScalebarSkin {
     bar.setArcWidth(1.5);
     bar.setArcHeight(1.5);
 
-    distanceLabel.setTextFill(TEXT_COLOR);
+    distanceLabel = createLabel("");
 
     getVBox().getChildren().addAll(bar, distanceLabel);
   }
@@ -72,12 +72,18 @@ public final class BarScalebarSkin extends ScalebarSkin {
     // get the distance to be displayed in that unit
     displayDistance = ScalebarUtil.calculateDistanceInDisplayUnits(displayDistance, getBaseUnit(), displayUnits);
 
+    // show a cached image if the scalebar has been drawn like this before
+    if (showCachedImage(width, height, displayWidth,
+      ScalebarUtil.labelString(displayDistance) + displayUnits.getAbbreviation())) {
+      return;
+    }
+
     // update the bar size
     bar.setWidth(displayWidth);
     outerBar.setWidth(displayWidth);
 
     // update the label
-    distanceLabel.setText(ScalebarUtil.labelString(displayDistance) + displayUnits.getAbbreviation());
+    setLabelText(distanceLabel, ScalebarUtil.labelString(displayDistance) + displayUnits.getAbbreviation());
 
     // adjust for left/right/center alignment
     getVBox().setTranslateX(calculateAlignmentTranslationX(width, displayWidth));
@@ -94,6 +100,6 @@ public final class BarScalebarSkin extends ScalebarSkin {
   @Override
   protected double computePrefHeight(
     double width, double topInset, double rightInset, double bottomInset, double leftInset) {
-    return topInset + bottomInset + HEIGHT + STROKE_WIDTH + calculateRegion(new Label()).getHeight();
+    return topInset + bottomInset + HEIGHT + STROKE_WIDTH + measureTextHeight();
   }
 }
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.esri.arcgisruntime.toolkit.skins;
+
+/**
+ * Calculates the area of the ground seen by a scene view's camera, by intersecting the corner rays of the camera's view
+ * frustum with the WGS 84 ellipsoid. The calculation is done in plain Java from the camera's position and orientation
+ * and is only repeated when the camera has moved noticeably.
+ *
+ * <p>Corners are given as longitude/latitude pairs in the order top left, top right, bottom right, bottom left, where
+ * the bottom corners are those nearest the camera. Rays that pass above the horizon are cut off at the horizon.
+ *
+ * @since 100.2.1
+ */
+final class CameraFootprint {
+
+  // WGS 84 ellipsoid
+  private static final double SEMI_MAJOR_AXIS = 6378137.0;
+  private static final double FLATTENING = 1.0 / 298.257223563;
+  private static final double SEMI_MINOR_AXIS = SEMI_MAJOR_AXIS * (1.0 - FLATTENING);
+  private static final double ECCENTRICITY_SQUARED = FLATTENING * (2.0 - FLATTENING);
+  private static final double SECOND_ECCENTRICITY_SQUARED =
+    ECCENTRICITY_SQUARED / ((1.0 - FLATTENING) * (1.0 - FLATTENING));
+
+  // smallest changes to the camera that cause the footprint to be recalculated
+  private static final double POSITION_TOLERANCE = 1.0e-7;
+  private static final double ALTITUDE_TOLERANCE = 1.0e-4;
+  private static final double ANGLE_TOLERANCE = 0.01;
+
+  // the camera the footprint was last calculated for
+  private boolean valid = false;
+  private double cameraLongitude;
+  private double cameraLatitude;
+  private double cameraAltitude;
+  private double cameraHeading;
+  private double cameraPitch;
+  private double cameraFieldOfView;
+  private double cameraAspectRatio;
+
+  private final double[] corners = new double[8];
+  private double centerLongitude;
+  private double centerLatitude;
+  private double groundWidth;
+
+  // scratch vectors reused between calculations
+  private final double[] position = new double[3];
+  private final double[] east = new double[3];
+  private final double[] north = new double[3];
+  private final double[] up = new double[3];
+  private final double[] forward = new double[3];
+  private final double[] right = new double[3];
+  private final double[] cameraUp = new double[3];
+  private final double[] ray = new double[3];
+  private final double[] ground = new double[3];
+
+  /**
+   * Updates the footprint for a camera. Nothing is recalculated if the camera hasn't moved noticeably since the last
+   * update.
+   *
+   * @param longitude the camera's longitude in degrees
+   * @param latitude the camera's latitude in degrees
+   * @param altitude the camera's height above the ellipsoid in meters
+   * @param heading the camera's heading in degrees clockwise from north
+   * @param pitch the camera's pitch in degrees, 0 looks straight down and 90 looks at the horizon
+   * @param fieldOfView the camera's vertical field of view in degrees
+   * @param aspectRatio the width of the view divided by its height
+   * @return true if the footprint was recalculated
+   * @since 100.2.1
+   */
+  boolean update(double longitude, double latitude, double altitude, double heading, double pitch, double fieldOfView,
+    double aspectRatio) {
+    if (valid && Math.abs(longitude - cameraLongitude) < POSITION_TOLERANCE &&
+      Math.abs(latitude - cameraLatitude) < POSITION_TOLERANCE &&
+      Math.abs(altitude - cameraAltitude) <= Math.abs(cameraAltitude) * ALTITUDE_TOLERANCE &&
+      Math.abs(heading - cameraHeading) < ANGLE_TOLERANCE && Math.abs(pitch - cameraPitch) < ANGLE_TOLERANCE &&
+      fieldOfView == cameraFieldOfView && aspectRatio == cameraAspectRatio) {
+      return false;
+    }
+    cameraLongitude = longitude;
+    cameraLatitude = latitude;
+    cameraAltitude = altitude;
+    cameraHeading = heading;
+    cameraPitch = pitch;
+    cameraFieldOfView = fieldOfView;
+    cameraAspectRatio = aspectRatio;
+    calculate();
+    valid = true;
+    return true;
+  }
+
+  /**
+   * Returns true once the footprint has been calculated.
+   *
+   * @return true if valid
+   * @since 100.2.1
+   */
+  boolean isValid() {
+    return valid;
+  }
+
+  /**
+   * Gets the corners of the footprint.
+   *
+   * @return longitude/latitude pairs, the array is reused by later updates
+   * @since 100.2.1
+   */
+  double[] getCorners() {
+    return corners;
+  }
+
+  /**
+   * Gets the longitude of the point at the center of the view.
+   *
+   * @return the longitude in degrees
+   * @since 100.2.1
+   */
+  double getCenterLongitude() {
+    return centerLongitude;
+  }
+
+  /**
+   * Gets the latitude of the point at the center of the view.
+   *
+   * @return the latitude in degrees
+   * @since 100.2.1
+   */
+  double getCenterLatitude() {
+    return centerLatitude;
+  }
+
+  /**
+   * Gets the width of the ground seen across the center of the view.
+   *
+   * @return the width in meters
+   * @since 100.2.1
+   */
+  double getGroundWidth() {
+    return groundWidth;
+  }
+
+  /**
+   * Calculates the footprint for the current camera.
+   *
+   * @since 100.2.1
+   */
+  private void calculate() {
+    double lambda = Math.toRadians(cameraLongitude);
+    double phi = Math.toRadians(cameraLatitude);
+    double sinLambda = Math.sin(lambda);
+    double cosLambda = Math.cos(lambda);
+    double sinPhi = Math.sin(phi);
+    double cosPhi = Math.cos(phi);
+    // keep the camera above the ground so there is always something to intersect
+    double altitude = Math.max(cameraAltitude, 1.0);
+
+    // camera position in earth centered coordinates
+    double n = SEMI_MAJOR_AXIS / Math.sqrt(1.0 - ECCENTRICITY_SQUARED * sinPhi * sinPhi);
+    position[0] = (n + altitude) * cosPhi * cosLambda;
+    position[1] = (n + altitude) * cosPhi * sinLambda;
+    position[2] = (n * (1.0 - ECCENTRICITY_SQUARED) + altitude) * sinPhi;
+
+    // local east, north and up directions at the camera
+    set(east, -sinLambda, cosLambda, 0.0);
+    set(north, -sinPhi * cosLambda, -sinPhi * sinLambda, cosPhi);
+    set(up, cosPhi * cosLambda, cosPhi * sinLambda, sinPhi);
+
+    // camera axes from heading and pitch
+    double heading = Math.toRadians(cameraHeading);
+    double pitch = Math.toRadians(cameraPitch);
+    double horizontal = Math.sin(pitch);
+    for (int i = 0; i < 3; i++) {
+      forward[i] = horizontal * (Math.sin(heading) * east[i] + Math.cos(heading) * north[i]) - Math.cos(pitch) * up[i];
+      right[i] = Math.cos(heading) * east[i] - Math.sin(heading) * north[i];
+    }
+    cross(right, forward, cameraUp);
+
+    double halfHeight = Math.tan(Math.toRadians(cameraFieldOfView) / 2.0);
+    double halfWidth = halfHeight * cameraAspectRatio;
+    double horizonDistance = Math.sqrt(altitude * (2.0 * SEMI_MAJOR_AXIS + altitude));
+
+    // the center of the view, and the width of the ground seen across it
+    double distance = intersect(0.0, 0.0, horizonDistance);
+    centerLongitude = unwrap(Math.toDegrees(Math.atan2(ground[1], ground[0])));
+    centerLatitude = latitude(ground);
+    groundWidth = 2.0 * distance * halfWidth;
+
+    // top left, top right, bottom right, bottom left
+    cornerAt(0, -halfWidth, halfHeight, horizonDistance);
+    cornerAt(1, halfWidth, halfHeight, horizonDistance);
+    cornerAt(2, halfWidth, -halfHeight, horizonDistance);
+    cornerAt(3, -halfWidth, -halfHeight, horizonDistance);
+  }
+
+  /**
+   * Calculates one corner of the footprint.
+   *
+   * @param index the index of the corner
+   * @param x the ray's offset to the right of the view direction
+   * @param y the ray's offset above the view direction
+   * @param horizonDistance the distance from the camera to the horizon
+   * @since 100.2.1
+   */
+  private void cornerAt(int index, double x, double y, double horizonDistance) {
+    intersect(x, y, horizonDistance);
+    corners[index * 2] = unwrap(Math.toDegrees(Math.atan2(ground[1], ground[0])));
+    corners[index * 2 + 1] = latitude(ground);
+  }
+
+  /**
+   * Intersects a ray from the camera with the ellipsoid, putting the intersection in {@link #ground}. A ray that misses
+   * the ellipsoid is cut off at the horizon distance instead.
+   *
+   * @param x the ray's offset to the right of the view direction
+   * @param y the ray's offset above the view direction
+   * @param horizonDistance the distance from the camera to the horizon
+   * @return the distance from the camera to the intersection
+   * @since 100.2.1
+   */
+  private double intersect(double x, double y, double horizonDistance) {
+    for (int i = 0; i < 3; i++) {
+      ray[i] = forward[i] + x * right[i] + y * cameraUp[i];
+    }
+    double length = Math.sqrt(ray[0] * ray[0] + ray[1] * ray[1] + ray[2] * ray[2]);
+    for (int i = 0; i < 3; i++) {
+      ray[i] /= length;
+    }
+
+    // solve |p + t * d| = 1 with the ellipsoid scaled to a unit sphere
+    double px = position[0] / SEMI_MAJOR_AXIS;
+    double py = position[1] / SEMI_MAJOR_AXIS;
+    double pz = position[2] / SEMI_MINOR_AXIS;
+    double dx = ray[0] / SEMI_MAJOR_AXIS;
+    double dy = ray[1] / SEMI_MAJOR_AXIS;
+    double dz = ray[2] / SEMI_MINOR_AXIS;
+    double a = dx * dx + dy * dy + dz * dz;
+    double b = 2.0 * (px * dx + py * dy + pz * dz);
+    double c = px * px + py * py + pz * pz - 1.0;
+    double discriminant = b * b - 4.0 * a * c;
+    double t = discriminant >= 0.0 ? (-b - Math.sqrt(discriminant)) / (2.0 * a) : -1.0;
+    if (!(t > 0.0) || t > horizonDistance) {
+      t = horizonDistance;
+    }
+    for (int i = 0; i < 3; i++) {
+      ground[i] = position[i] + t * ray[i];
+    }
+    return t;
+  }
+
+  /**
+   * Returns the geodetic latitude of an earth centered point, ignoring its height.
+   *
+   * @param point the point
+   * @return the latitude in degrees
+   * @since 100.2.1
+   */
+  private static double latitude(double[] point) {
+    // Bowring's formula, accurate to well under a meter near the surface
+    double p = Math.sqrt(point[0] * point[0] + point[1] * point[1]);
+    double theta = Math.atan2(point[2] * SEMI_MAJOR_AXIS, p * SEMI_MINOR_AXIS);
+    double sinTheta = Math.sin(theta);
+    double cosTheta = Math.cos(theta);
+    return Math.toDegrees(Math.atan2(point[2] + SECOND_ECCENTRICITY_SQUARED * SEMI_MINOR_AXIS * sinTheta * sinTheta *
+      sinTheta, p - ECCENTRICITY_SQUARED * SEMI_MAJOR_AXIS * cosTheta * cosTheta * cosTheta));
+  }
+
+  /**
+   * Shifts a longitude by whole turns to within 180 degrees of the camera, so footprints crossing the antimeridian
+   * don't wrap around the world.
+   *
+   * @param longitude the longitude in degrees
+   * @return the unwrapped longitude
+   * @since 100.2.1
+   */
+  private double unwrap(double longitude) {
+    return longitude - 360.0 * Math.rint((longitude - cameraLongitude) / 360.0);
+  }
+
+  /**
+   * Sets the components of a vector.
+   *
+   * @param v the vector
+   * @param x the x component
+   * @param y the y component
+   * @param z the z component
+   * @since 100.2.1
+   */
+  private static void set(double[] v, double x, double y, double z) {
+    v[0] = x;
+    v[1] = y;
+    v[2] = z;
+  }
+
+  /**
+   * Calculates the cross product of two vectors.
+   *
+   * @param a the first vector
+   * @param b the second vector
+   * @param result the vector to put the result in
+   * @since 100.2.1
+   */
+  private static void cross(double[] a, double[] b, double[] result) {
+    result[0] = a[1] * b[2] - a[2] * b[1];
+    result[1] = a[2] * b[0] - a[0] * b[2];
+    result[2] = a[0] * b[1] - a[1] * b[0];
+  }
+}
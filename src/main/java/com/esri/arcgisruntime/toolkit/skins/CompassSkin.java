@@ -17,14 +17,18 @@
 package com.esri.arcgisruntime.toolkit.skins;
 
 import com.esri.arcgisruntime.toolkit.Compass;
+import com.esri.arcgisruntime.toolkit.HeadingSource;
+import com.esri.arcgisruntime.toolkit.MetricsRegistry;
 import javafx.animation.FadeTransition;
 import javafx.application.Platform;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.event.ActionEvent;
 import javafx.geometry.HPos;
+import javafx.geometry.Point2D;
 import javafx.geometry.VPos;
 import javafx.scene.control.SkinBase;
+import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
@@ -59,12 +63,72 @@ public final class CompassSkin extends SkinBase<Compass> {
   // duration used for fading the compass
   private static final long TIMER_DURATION = 500;
 
+  // time constant in seconds for the animated rotation - the remaining rotation decays by about 63% in this time
+  private static final double ROTATION_TIME_CONSTANT = 0.08;
+
+  // how close in degrees the animated rotation has to be to the heading before it snaps to it and stops
+  private static final double ROTATION_TOLERANCE = 0.05;
+
+  // the heading currently being displayed, this lags the control's heading when the rotation is animated
+  private double displayedHeading;
+
+  // timestamp of the previous animation pulse, or 0 if the animation has just started
+  private long lastPulse = 0;
+
+  // advances the displayed heading towards the control's heading on each pulse of the shared animation timer
+  private final SharedAnimationTimer.PulseListener rotationAnimation = this::animateRotation;
+
+  // metrics reported by all compasses
+  private static final MetricsRegistry.Counter HEADING_CHANGE_COUNT =
+    MetricsRegistry.getDefault().counter("compass.heading.changes");
+  private static final MetricsRegistry.Counter ROTATION_REQUEST_COUNT =
+    MetricsRegistry.getDefault().counter("compass.rotation.requests");
+
+  // minimum time between rotation requests sent to the heading source while dragging
+  private static final long ROTATION_REQUEST_INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+  // how long the heading has to stay unchanged after a drag before the source is considered settled
+  private static final long SETTLE_TIMEOUT = TimeUnit.MILLISECONDS.toNanos(500);
+
+  // true while the compass is being dragged
+  private boolean dragging = false;
+
+  // true from the start of a drag until the heading source has settled after it
+  private boolean rotating = false;
+
+  // pointer angle and displayed heading at the point the drag started
+  private double dragStartAngle;
+  private double dragStartHeading;
+
+  // the latest heading requested by dragging, and whether it still needs to be sent to the source
+  private double requestedHeading;
+  private boolean requestPending = false;
+  private long lastRequestTime = 0;
+
+  // time after which the source is assumed to have settled
+  private long settleDeadline = 0;
+
+  // sends coalesced rotation requests while dragging and reconciles with the control once the source settles
+  private final SharedAnimationTimer.PulseListener dragRotation = now -> sendRotationRequests();
+
   // property that will be true when the compass is hidden
   private final SimpleBooleanProperty hiddenProperty = new SimpleBooleanProperty(true);
 
   // a scheduled service used to perform a delayed fade in/out if auto-hide is enabled
   private final ScheduledExecutorService scheduledService = Executors.newScheduledThreadPool(0);
 
+  // starts fading to the current hidden state, run as low priority toolkit work since the fade is already delayed
+  private final Runnable fadeTask = () -> {
+    FadeTransition fadeTransition = new FadeTransition(Duration.millis(TIMER_DURATION), stackPane);
+    ToolkitEvents.compassFade(getSkinnable(), hiddenProperty.get());
+    if (hiddenProperty.get()) {
+      fadeTransition.setToValue(0.0);
+    } else {
+      fadeTransition.setToValue(1.0);
+    }
+    fadeTransition.play();
+  };
+
   /**
    * Creates an instance of the skin.
    *
@@ -78,8 +142,11 @@ public final class CompassSkin extends SkinBase<Compass> {
     control.heightProperty().addListener(observable -> invalid = true);
     control.insetsProperty().addListener(observable -> invalid = true);
 
-    // bind to the control's heading property
-    stackPane.rotateProperty().bind(control.headingProperty().negate());
+    // follow the control's heading property, either directly or by animating towards it
+    displayedHeading = control.getHeading();
+    stackPane.setRotate(-displayedHeading);
+    control.headingProperty().addListener(observable -> headingChanged());
+    control.animateRotationProperty().addListener(observable -> headingChanged());
 
     // hide the compass when the heading is close to north if the auto hide property is enabled
     SimpleDoubleProperty controlHeadingProperty = control.headingProperty();
@@ -89,17 +156,15 @@ public final class CompassSkin extends SkinBase<Compass> {
     hiddenProperty.addListener(observable -> {
       // when the hidden property changes schedule to perform a fade in/out - having a delay prevents the compass from
       // starting to fade if it momentarily passes through north
-      scheduledService.schedule(() -> Platform.runLater(() -> {
-        FadeTransition fadeTransition = new FadeTransition(Duration.millis(TIMER_DURATION), stackPane);
-        if (hiddenProperty.get()) {
-          fadeTransition.setToValue(0.0);
-        } else {
-          fadeTransition.setToValue(1.0);
-        }
-        fadeTransition.play();
-      }), TIMER_DURATION, TimeUnit.MILLISECONDS);
+      scheduledService.schedule(() -> Platform.runLater(() ->
+        PulseScheduler.submit(fadeTask, PulseScheduler.Priority.LOW)), TIMER_DURATION, TimeUnit.MILLISECONDS);
     });
 
+    // dragging the compass rotates it
+    stackPane.setOnMousePressed(this::dragStarted);
+    stackPane.setOnMouseDragged(this::dragged);
+    stackPane.setOnMouseReleased(this::dragFinished);
+
     // initial opacity based on the auto-hide property
     if (control.isAutoHide()) {
       stackPane.setOpacity(0.0);
@@ -119,6 +184,174 @@ public final class CompassSkin extends SkinBase<Compass> {
     layoutInArea(stackPane, contentX, contentY, contentWidth, contentHeight, -1, HPos.CENTER, VPos.CENTER);
   }
 
+  /**
+   * Called when the control's heading changes. Either displays the new heading immediately or starts animating
+   * towards it.
+   *
+   * @since 100.2.1
+   */
+  private void headingChanged() {
+    HEADING_CHANGE_COUNT.increment();
+    ToolkitEvents.compassHeading(getSkinnable(), getSkinnable().getHeading(), getSkinnable().isAnimateRotation());
+    if (rotating) {
+      // the compass is showing the dragged heading so ignore the source catching up, and wait for it to settle
+      settleDeadline = System.nanoTime() + SETTLE_TIMEOUT;
+    } else if (getSkinnable().isAnimateRotation()) {
+      lastPulse = 0;
+      SharedAnimationTimer.add(rotationAnimation);
+    } else {
+      SharedAnimationTimer.remove(rotationAnimation);
+      setDisplayedHeading(getSkinnable().getHeading());
+    }
+  }
+
+  /**
+   * Advances the displayed heading towards the control's heading. The rotation eases out exponentially and takes the
+   * shortest way round the 0/360 wrap.
+   *
+   * @param now the timestamp of the current pulse in nanoseconds
+   * @return true if the animation should continue on the next pulse
+   * @since 100.2.1
+   */
+  private boolean animateRotation(long now) {
+    double delta = shortestArc(displayedHeading, getSkinnable().getHeading());
+    if (Math.abs(delta) < ROTATION_TOLERANCE) {
+      setDisplayedHeading(getSkinnable().getHeading());
+      return false;
+    }
+
+    // assume a nominal 60 frames per second on the first pulse as there is no previous timestamp
+    double elapsed = lastPulse == 0 ? 1.0 / 60.0 : (now - lastPulse) / 1.0e9;
+    lastPulse = now;
+    setDisplayedHeading(displayedHeading + delta * (1.0 - Math.exp(-elapsed / ROTATION_TIME_CONSTANT)));
+    return true;
+  }
+
+  /**
+   * Starts a drag rotation when the mouse is pressed on the compass.
+   *
+   * @param e the mouse event
+   * @since 100.2.1
+   */
+  private void dragStarted(MouseEvent e) {
+    dragging = false;
+    dragStartAngle = pointerAngle(e);
+    dragStartHeading = displayedHeading;
+  }
+
+  /**
+   * Rotates the compass locally to follow the mouse. The heading is only requested from the source at a bounded rate
+   * so that the compass stays responsive even if the view is slow to update.
+   *
+   * @param e the mouse event
+   * @since 100.2.1
+   */
+  private void dragged(MouseEvent e) {
+    if (!dragging) {
+      dragging = true;
+      rotating = true;
+      SharedAnimationTimer.remove(rotationAnimation);
+    }
+    // the needle turns with the pointer, which is the opposite direction to the heading
+    double heading = dragStartHeading - shortestArc(dragStartAngle, pointerAngle(e));
+    setDisplayedHeading(heading);
+    requestedHeading = ((heading % 360.0) + 360.0) % 360.0;
+    requestPending = true;
+    SharedAnimationTimer.add(dragRotation);
+  }
+
+  /**
+   * Sends the final heading when a drag finishes.
+   *
+   * @param e the mouse event
+   * @since 100.2.1
+   */
+  private void dragFinished(MouseEvent e) {
+    if (dragging) {
+      dragging = false;
+      lastRequestTime = 0;
+      sendRotationRequests();
+      settleDeadline = System.nanoTime() + SETTLE_TIMEOUT;
+    }
+  }
+
+  /**
+   * Sends the latest dragged heading to the control if one is pending and enough time has passed since the previous
+   * request. After a drag, waits for the source to reach the requested heading or stop changing, then displays the
+   * control's actual heading.
+   *
+   * @return true if this needs to be called again on the next pulse
+   * @since 100.2.1
+   */
+  private boolean sendRotationRequests() {
+    if (!rotating) {
+      return false;
+    }
+    long now = System.nanoTime();
+    if (requestPending && now - lastRequestTime >= ROTATION_REQUEST_INTERVAL) {
+      requestPending = false;
+      lastRequestTime = now;
+      getSkinnable().setHeading(requestedHeading);
+      ROTATION_REQUEST_COUNT.increment();
+    }
+    if (dragging || requestPending) {
+      return true;
+    }
+    // the control's heading was set to the requested heading above, so only the source shows whether it has got there
+    HeadingSource source = getSkinnable().getHeadingSource();
+    double sourceHeading = source != null ? source.getHeading() : getSkinnable().getHeading();
+    if (Math.abs(shortestArc(sourceHeading, requestedHeading)) < HEADING_TOLERANCE || now > settleDeadline) {
+      // reconcile with whatever heading the source ended up at
+      rotating = false;
+      SharedAnimationTimer.remove(dragRotation);
+      headingChanged();
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Returns the angle of the pointer around the center of the compass, measured in degrees clockwise from up.
+   *
+   * @param e the mouse event
+   * @return the angle
+   * @since 100.2.1
+   */
+  private double pointerAngle(MouseEvent e) {
+    Compass control = getSkinnable();
+    Point2D center = control.localToScene(control.getWidth() / 2.0, control.getHeight() / 2.0);
+    return Math.toDegrees(Math.atan2(e.getSceneX() - center.getX(), center.getY() - e.getSceneY()));
+  }
+
+  /**
+   * Sets the heading displayed by the compass.
+   *
+   * @param heading the heading in degrees
+   * @since 100.2.1
+   */
+  private void setDisplayedHeading(double heading) {
+    displayedHeading = heading;
+    stackPane.setRotate(-heading);
+  }
+
+  /**
+   * Returns the signed rotation in degrees that takes one heading to another by the shortest way round.
+   *
+   * @param from the starting heading in degrees
+   * @param to the final heading in degrees
+   * @return the rotation, in the range -180 to 180 degrees
+   * @since 100.2.1
+   */
+  static double shortestArc(double from, double to) {
+    double delta = (to - from) % 360.0;
+    if (delta > 180.0) {
+      delta -= 360.0;
+    } else if (delta < -180.0) {
+      delta += 360.0;
+    }
+    return delta;
+  }
+
   /**
    * Updates the visual representation of the compass e.g. when the size is changed.
    *
@@ -178,8 +411,12 @@ public final class CompassSkin extends SkinBase<Compass> {
     stackPane.getChildren().addAll(circle, northEastTriangle, northWestTriangle,
       southEastTriangle, southWestTriangle, pivot);
 
-    // fire action event if any of the compass elements are clicked
-    stackPane.getChildren().forEach(c -> c.setOnMouseClicked(e -> getSkinnable().fireEvent(new ActionEvent())));
+    // fire action event if any of the compass elements are clicked, but not at the end of a drag
+    stackPane.getChildren().forEach(c -> c.setOnMouseClicked(e -> {
+      if (e.isStillSincePress()) {
+        getSkinnable().fireEvent(new ActionEvent());
+      }
+    }));
   }
 
   @Override
@@ -21,7 +21,8 @@ import com.esri.arcgisruntime.geometry.LinearUnit;
 import com.esri.arcgisruntime.geometry.LinearUnitId;
 import com.esri.arcgisruntime.toolkit.Scalebar;
 import com.esri.arcgisruntime.toolkit.ScalebarUtil;
-import javafx.scene.control.Label;
+import com.esri.arcgisruntime.toolkit.ToolkitResources;
+import javafx.scene.Node;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.layout.Pane;
 import javafx.scene.shape.LineTo;
@@ -41,9 +42,6 @@ public final class DualUnitScalebarSkin extends ScalebarSkin {
   private final Pane secondaryLabelPane = new Pane();
   private final Path line = new Path();
 
-  private static final LinearUnit METERS = new LinearUnit(LinearUnitId.METERS);
-  private static final LinearUnit FEET = new LinearUnit(LinearUnitId.FEET);
-
   /**
    * Creates a new skin instance.
    *
@@ -79,7 +77,8 @@ public final class DualUnitScalebarSkin extends ScalebarSkin {
 
     // do the same calculations for the secondary units which will be on the bottom of the line
     UnitSystem secondaryUnitSystem = getUnitSystem() == UnitSystem.METRIC ? UnitSystem.IMPERIAL : UnitSystem.METRIC;
-    LinearUnit secondaryBaseUnit = secondaryUnitSystem == UnitSystem.METRIC ? METERS : FEET;
+    LinearUnit secondaryBaseUnit = ToolkitResources.getLinearUnit(
+      secondaryUnitSystem == UnitSystem.METRIC ? LinearUnitId.METERS : LinearUnitId.FEET);
     double secondaryMaxDistance = calculateDistance(getSkinnable().mapViewProperty().get(), secondaryBaseUnit, availableWidth);
 
     double secondaryDisplayDistance = ScalebarUtil.calculateBestScalebarLength(secondaryMaxDistance, secondaryBaseUnit, false);
@@ -87,6 +86,14 @@ public final class DualUnitScalebarSkin extends ScalebarSkin {
     LinearUnit secondaryDisplayUnits = ScalebarUtil.selectLinearUnit(secondaryDisplayDistance, secondaryUnitSystem);
     secondaryDisplayDistance = ScalebarUtil.calculateDistanceInDisplayUnits(secondaryDisplayDistance, secondaryBaseUnit, secondaryDisplayUnits);
 
+    // show a cached image if the scalebar has been drawn like this before
+    if (showCachedImage(width, height, displayWidth,
+      ScalebarUtil.labelString(displayDistance) + displayUnits.getAbbreviation() + '|' +
+        ScalebarUtil.labelString(secondaryDisplayDistance) + secondaryDisplayUnits.getAbbreviation() + '|' +
+        Math.round(secondaryDisplayWidth))) {
+      return;
+    }
+
     // the line width is the longest of the two display widths
     double lineWidth = Math.max(displayWidth, secondaryDisplayWidth);
 
@@ -109,31 +116,32 @@ public final class DualUnitScalebarSkin extends ScalebarSkin {
 
     // label the ticks
     // the last label is aligned so its end is at the end of the line so it is done outside the loop
-    Label primaryLabel = new Label(ScalebarUtil.labelString(displayDistance));
+    Node primaryLabel = createLabel(ScalebarUtil.labelString(displayDistance));
     // translate it into the correct position
-    primaryLabel.setTranslateX(displayWidth - calculateRegion(primaryLabel).getWidth());
+    primaryLabel.setTranslateX(displayWidth - measureLabel(primaryLabel));
     // then add the units on so the end of the number aligns with the end of the bar and the unit is off the end
-    primaryLabel.setText(ScalebarUtil.labelString(displayDistance) + displayUnits.getAbbreviation());
-    primaryLabel.setTextFill(TEXT_COLOR);
+    setLabelText(primaryLabel, ScalebarUtil.labelString(displayDistance) + displayUnits.getAbbreviation());
     primaryLabelPane.getChildren().add(primaryLabel);
 
-    Label secondaryLabel = new Label(ScalebarUtil.labelString(secondaryDisplayDistance));
-    secondaryLabel.setTranslateX(secondaryDisplayWidth - calculateRegion(secondaryLabel).getWidth());
+    Node secondaryLabel = createLabel(ScalebarUtil.labelString(secondaryDisplayDistance));
+    secondaryLabel.setTranslateX(secondaryDisplayWidth - measureLabel(secondaryLabel));
     // then add the units on so the end of the number aligns with the end of the bar and the unit is off the end
-    secondaryLabel.setText(ScalebarUtil.labelString(secondaryDisplayDistance) + secondaryDisplayUnits.getAbbreviation());
-    secondaryLabel.setTextFill(TEXT_COLOR);
+    setLabelText(secondaryLabel,
+      ScalebarUtil.labelString(secondaryDisplayDistance) + secondaryDisplayUnits.getAbbreviation());
     secondaryLabelPane.getChildren().add(secondaryLabel);
 
     // the unit label that will be at the end of the line
-    Label endUnits = new Label(displayWidth >= secondaryDisplayWidth ? displayUnits.getAbbreviation() : secondaryDisplayUnits.getAbbreviation());
+    String endUnits = displayWidth >= secondaryDisplayWidth ?
+      displayUnits.getAbbreviation() : secondaryDisplayUnits.getAbbreviation();
 
     // move the line and labels into their final position - slightly off center due to the units
-    line.setTranslateX(-calculateRegion(endUnits).getWidth() / 2.0);
-    primaryLabelPane.setTranslateX(-calculateRegion(new Label(displayUnits.getAbbreviation())).getWidth() / 2.0);
-    secondaryLabelPane.setTranslateX(-calculateRegion(new Label(secondaryDisplayUnits.getAbbreviation())).getWidth() / 2.0);
+    double endUnitsWidth = measureText(endUnits);
+    line.setTranslateX(-endUnitsWidth / 2.0);
+    primaryLabelPane.setTranslateX(-measureText(displayUnits.getAbbreviation()) / 2.0);
+    secondaryLabelPane.setTranslateX(-measureText(secondaryDisplayUnits.getAbbreviation()) / 2.0);
 
     // adjust for left/right/center alignment
-    getVBox().setTranslateX(calculateAlignmentTranslationX(width, lineWidth + calculateRegion(endUnits).getWidth()));
+    getVBox().setTranslateX(calculateAlignmentTranslationX(width, lineWidth + endUnitsWidth));
 
     // set invisible if distance is zero
     getVBox().setVisible(displayDistance > 0);
@@ -141,12 +149,12 @@ public final class DualUnitScalebarSkin extends ScalebarSkin {
 
   @Override
   protected double calculateAvailableWidth(double width) {
-    return width - (calculateRegion(new Label("mm")).getWidth()) - STROKE_WIDTH - SHADOW_OFFSET;
+    return width - measureText("mm") - STROKE_WIDTH - SHADOW_OFFSET;
   }
 
   @Override
   protected double computePrefHeight(
     double width, double topInset, double rightInset, double bottomInset, double leftInset) {
-    return topInset + bottomInset + (HEIGHT * 2.0) + STROKE_WIDTH + (calculateRegion(new Label()).getHeight() * 2.0);
+    return topInset + bottomInset + (HEIGHT * 2.0) + STROKE_WIDTH + (measureTextHeight() * 2.0);
   }
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.esri.arcgisruntime.toolkit.skins;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+/**
+ * The advance widths of the characters of a font, measured once and then summed to give the width of a string. This
+ * lets a skin size its labels without a CSS and layout pass for each one. Kerning is not taken into account, which
+ * makes no visible difference to the short numeric labels of a scalebar.
+ *
+ * <p>Instances are shared between skins and must only be used on the JavaFX application thread.
+ *
+ * @since 100.2.1
+ */
+final class GlyphAdvances {
+
+  private static final int MAX_CACHED_FONTS = 16;
+  private static final int ASCII_SIZE = 128;
+
+  // the most recently used fonts, evicting the least recently used when full
+  private static final Map<Font, GlyphAdvances> CACHE = new LinkedHashMap<Font, GlyphAdvances>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Font, GlyphAdvances> eldest) {
+      return size() > MAX_CACHED_FONTS;
+    }
+  };
+
+  private final Text measuringText = new Text();
+  // advances of ASCII characters indexed by character, NaN until measured
+  private final double[] asciiAdvances = new double[ASCII_SIZE];
+  private final Map<Character, Double> otherAdvances = new HashMap<>();
+  private final double lineHeight;
+
+  /**
+   * Creates the advances of a font.
+   *
+   * @param font the font
+   * @since 100.2.1
+   */
+  private GlyphAdvances(Font font) {
+    measuringText.setFont(font);
+    Arrays.fill(asciiAdvances, Double.NaN);
+    measuringText.setText("0");
+    lineHeight = measuringText.getLayoutBounds().getHeight();
+  }
+
+  /**
+   * Gets the advances of a font.
+   *
+   * @param font the font
+   * @return the advances
+   * @since 100.2.1
+   */
+  static GlyphAdvances forFont(Font font) {
+    return CACHE.computeIfAbsent(font, GlyphAdvances::new);
+  }
+
+  /**
+   * Returns the width of a string.
+   *
+   * @param text the string
+   * @return the width
+   * @since 100.2.1
+   */
+  double measure(String text) {
+    double width = 0.0;
+    for (int i = 0; i < text.length(); i++) {
+      width += advance(text.charAt(i));
+    }
+    return width;
+  }
+
+  /**
+   * Returns the height of a line of text, which is the same for every string.
+   *
+   * @return the line height
+   * @since 100.2.1
+   */
+  double getLineHeight() {
+    return lineHeight;
+  }
+
+  /**
+   * Returns the advance width of a character, measuring it the first time it is asked for.
+   *
+   * @param c the character
+   * @return the advance width
+   * @since 100.2.1
+   */
+  private double advance(char c) {
+    if (c < ASCII_SIZE) {
+      double advance = asciiAdvances[c];
+      if (Double.isNaN(advance)) {
+        advance = measureAdvance(c);
+        asciiAdvances[c] = advance;
+      }
+      return advance;
+    }
+    return otherAdvances.computeIfAbsent(c, this::measureAdvance);
+  }
+
+  /**
+   * Measures the advance width of a character from the logical bounds of a text node.
+   *
+   * @param c the character
+   * @return the advance width
+   * @since 100.2.1
+   */
+  private double measureAdvance(char c) {
+    measuringText.setText(String.valueOf(c));
+    return measuringText.getLayoutBounds().getWidth();
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.esri.arcgisruntime.toolkit.skins;
+
+import com.esri.arcgisruntime.symbology.SimpleFillSymbol;
+import com.esri.arcgisruntime.symbology.SimpleMarkerSymbol;
+import com.esri.arcgisruntime.symbology.Symbol;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
+import javafx.scene.shape.Path;
+import javafx.scene.shape.Polygon;
+import javafx.scene.shape.Rectangle;
+
+/**
+ * Draws the overview map's indicator with JavaFX shapes in screen coordinates, as an alternative to a graphic in the
+ * overview's graphics overlay. The colors and size are taken from the indicator symbol where possible.
+ *
+ * @since 100.2.1
+ */
+final class IndicatorOverlay extends Pane {
+
+  private static final Color DEFAULT_COLOR = Color.rgb(0x00, 0x00, 0x00, 0.5);
+  private static final double DEFAULT_MARKER_SIZE = 20.0;
+
+  private final Polygon footprint = new Polygon();
+  private final Path marker = new Path();
+
+  /**
+   * Creates an empty overlay.
+   *
+   * @since 100.2.1
+   */
+  IndicatorOverlay() {
+    setMouseTransparent(true);
+
+    // don't draw outside of the overview
+    Rectangle clip = new Rectangle();
+    clip.widthProperty().bind(widthProperty());
+    clip.heightProperty().bind(heightProperty());
+    setClip(clip);
+
+    footprint.setStroke(null);
+    footprint.setFill(DEFAULT_COLOR);
+    marker.setStrokeWidth(2.0);
+    marker.setStroke(DEFAULT_COLOR);
+    setMarkerSize(DEFAULT_MARKER_SIZE);
+
+    getChildren().addAll(footprint, marker);
+    hideIndicator();
+  }
+
+  /**
+   * Takes the colors and size of the indicator from a symbol. Simple fill and simple marker symbols are supported,
+   * other symbols use a default style.
+   *
+   * @param symbol the symbol
+   * @since 100.2.1
+   */
+  void setSymbol(Symbol symbol) {
+    if (symbol instanceof SimpleFillSymbol) {
+      footprint.setFill(toColor(((SimpleFillSymbol) symbol).getColor()));
+    } else if (symbol instanceof SimpleMarkerSymbol) {
+      SimpleMarkerSymbol markerSymbol = (SimpleMarkerSymbol) symbol;
+      marker.setStroke(toColor(markerSymbol.getColor()));
+      setMarkerSize(markerSymbol.getSize());
+    }
+  }
+
+  /**
+   * Shows the indicator as a polygon.
+   *
+   * @param screenCoordinates the corners of the polygon in screen coordinates as x/y pairs
+   * @since 100.2.1
+   */
+  void showFootprint(double[] screenCoordinates) {
+    Double[] points = new Double[screenCoordinates.length];
+    for (int i = 0; i < points.length; i++) {
+      points[i] = screenCoordinates[i];
+    }
+    footprint.getPoints().setAll(points);
+    footprint.setVisible(true);
+    marker.setVisible(false);
+  }
+
+  /**
+   * Shows the indicator as a marker.
+   *
+   * @param x the screen x coordinate of the marker
+   * @param y the screen y coordinate of the marker
+   * @since 100.2.1
+   */
+  void showMarker(double x, double y) {
+    marker.setTranslateX(x);
+    marker.setTranslateY(y);
+    marker.setVisible(true);
+    footprint.setVisible(false);
+  }
+
+  /**
+   * Hides the indicator.
+   *
+   * @since 100.2.1
+   */
+  void hideIndicator() {
+    footprint.setVisible(false);
+    marker.setVisible(false);
+  }
+
+  /**
+   * Sets the size of the cross used as a marker.
+   *
+   * @param size the size
+   * @since 100.2.1
+   */
+  private void setMarkerSize(double size) {
+    double halfSize = size / 2.0;
+    marker.getElements().setAll(
+      new MoveTo(-halfSize, 0.0), new LineTo(halfSize, 0.0),
+      new MoveTo(0.0, -halfSize), new LineTo(0.0, halfSize));
+  }
+
+  /**
+   * Converts an ARGB color value to a color.
+   *
+   * @param argb the ARGB color value
+   * @return the color
+   * @since 100.2.1
+   */
+  private static Color toColor(int argb) {
+    return Color.rgb((argb >> 16) & 0xFF, (argb >> 8) & 0xFF, argb & 0xFF, ((argb >>> 24) & 0xFF) / 255.0);
+  }
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.esri.arcgisruntime.toolkit.skins;
+
+import javafx.scene.Node;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The Java Flight Recorder events emitted by the toolkit's controls. This is the only class that refers to the
+ * {@code jdk.jfr} API, it is only used through {@link ToolkitEvents} so that the toolkit still runs on a JVM without
+ * flight recorder support.
+ *
+ * <p>Every event is disabled by default and is enabled in a recording's settings by name, for example
+ * {@code com.esri.arcgisruntime.toolkit.OverviewSync#enabled=true}. While an event is disabled emitting it costs one
+ * check and no allocation.
+ *
+ * @since 100.2.1
+ */
+final class JfrEvents {
+
+  private static final String CATEGORY = "ArcGIS Runtime Toolkit";
+
+  private static final EventType SCALEBAR_UPDATE = EventType.getEventType(ScalebarUpdate.class);
+  private static final EventType TEXT_MEASUREMENT = EventType.getEventType(TextMeasurement.class);
+  private static final EventType DISTANCE_QUERY = EventType.getEventType(DistanceQuery.class);
+  private static final EventType COMPASS_HEADING = EventType.getEventType(CompassHeading.class);
+  private static final EventType COMPASS_FADE = EventType.getEventType(CompassFade.class);
+  private static final EventType OVERVIEW_SYNC = EventType.getEventType(OverviewSync.class);
+
+  /**
+   * Private constructor as this class is not meant to be instantiated.
+   *
+   * @since 100.2.1
+   */
+  private JfrEvents() {
+  }
+
+  @Name("com.esri.arcgisruntime.toolkit.ScalebarUpdate")
+  @Label("Scalebar Update")
+  @Description("A scalebar recalculating and rebuilding its nodes")
+  @Category(CATEGORY)
+  @Enabled(false)
+  @StackTrace(false)
+  static final class ScalebarUpdate extends Event {
+    @Label("Control")
+    String control;
+    @Label("Style")
+    String style;
+    @Label("Segment Count")
+    int segmentCount;
+    @Label("Cache Hit")
+    boolean cacheHit;
+  }
+
+  @Name("com.esri.arcgisruntime.toolkit.TextMeasurement")
+  @Label("Text Measurement")
+  @Description("A control measuring the size of a label before layout")
+  @Category(CATEGORY)
+  @Enabled(false)
+  @StackTrace(false)
+  static final class TextMeasurement extends Event {
+    @Label("Control")
+    String control;
+    @Label("Text")
+    String text;
+  }
+
+  @Name("com.esri.arcgisruntime.toolkit.DistanceQuery")
+  @Label("Distance Query")
+  @Description("A control asking the geometry engine for a geodetic distance")
+  @Category(CATEGORY)
+  @Enabled(false)
+  @StackTrace(false)
+  static final class DistanceQuery extends Event {
+    @Label("Control")
+    String control;
+    @Label("Width")
+    double width;
+  }
+
+  @Name("com.esri.arcgisruntime.toolkit.CompassHeading")
+  @Label("Compass Heading Change")
+  @Description("A compass reacting to a change of its heading")
+  @Category(CATEGORY)
+  @Enabled(false)
+  @StackTrace(false)
+  static final class CompassHeading extends Event {
+    @Label("Control")
+    String control;
+    @Label("Heading")
+    double heading;
+    @Label("Animated")
+    boolean animated;
+  }
+
+  @Name("com.esri.arcgisruntime.toolkit.CompassFade")
+  @Label("Compass Fade")
+  @Description("A compass starting to fade in or out")
+  @Category(CATEGORY)
+  @Enabled(false)
+  @StackTrace(false)
+  static final class CompassFade extends Event {
+    @Label("Control")
+    String control;
+    @Label("Hidden")
+    boolean hidden;
+  }
+
+  @Name("com.esri.arcgisruntime.toolkit.OverviewSync")
+  @Label("Overview Map Sync")
+  @Description("An overview map following its geo view")
+  @Category(CATEGORY)
+  @Enabled(false)
+  @StackTrace(false)
+  static final class OverviewSync extends Event {
+    @Label("Control")
+    String control;
+    @Label("Snapshot Mode")
+    boolean snapshotMode;
+  }
+
+  /**
+   * Starts a scalebar update event.
+   *
+   * @return the event, or null if it is disabled
+   * @since 100.2.1
+   */
+  static Object beginScalebarUpdate() {
+    if (!SCALEBAR_UPDATE.isEnabled()) {
+      return null;
+    }
+    ScalebarUpdate event = new ScalebarUpdate();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Ends and commits a scalebar update event.
+   *
+   * @param event the event from {@link #beginScalebarUpdate()}
+   * @param control the scalebar
+   * @param style the scalebar's style
+   * @param segmentCount the number of segments drawn
+   * @param cacheHit true if the update was served from a cache
+   * @since 100.2.1
+   */
+  static void endScalebarUpdate(Object event, Object control, String style, int segmentCount, boolean cacheHit) {
+    ScalebarUpdate scalebarUpdate = (ScalebarUpdate) event;
+    scalebarUpdate.end();
+    scalebarUpdate.control = describe(control);
+    scalebarUpdate.style = style;
+    scalebarUpdate.segmentCount = segmentCount;
+    scalebarUpdate.cacheHit = cacheHit;
+    scalebarUpdate.commit();
+  }
+
+  /**
+   * Starts a text measurement event.
+   *
+   * @return the event, or null if it is disabled
+   * @since 100.2.1
+   */
+  static Object beginTextMeasurement() {
+    if (!TEXT_MEASUREMENT.isEnabled()) {
+      return null;
+    }
+    TextMeasurement event = new TextMeasurement();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Ends and commits a text measurement event.
+   *
+   * @param event the event from {@link #beginTextMeasurement()}
+   * @param control the control measuring the text
+   * @param text the text measured
+   * @since 100.2.1
+   */
+  static void endTextMeasurement(Object event, Object control, String text) {
+    TextMeasurement textMeasurement = (TextMeasurement) event;
+    textMeasurement.end();
+    textMeasurement.control = describe(control);
+    textMeasurement.text = text;
+    textMeasurement.commit();
+  }
+
+  /**
+   * Starts a distance query event.
+   *
+   * @return the event, or null if it is disabled
+   * @since 100.2.1
+   */
+  static Object beginDistanceQuery() {
+    if (!DISTANCE_QUERY.isEnabled()) {
+      return null;
+    }
+    DistanceQuery event = new DistanceQuery();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Ends and commits a distance query event.
+   *
+   * @param event the event from {@link #beginDistanceQuery()}
+   * @param control the control querying the distance
+   * @param width the screen width the distance was measured across
+   * @since 100.2.1
+   */
+  static void endDistanceQuery(Object event, Object control, double width) {
+    DistanceQuery distanceQuery = (DistanceQuery) event;
+    distanceQuery.end();
+    distanceQuery.control = describe(control);
+    distanceQuery.width = width;
+    distanceQuery.commit();
+  }
+
+  /**
+   * Emits a compass heading change event.
+   *
+   * @param control the compass
+   * @param heading the new heading
+   * @param animated true if the compass animates to the heading
+   * @since 100.2.1
+   */
+  static void compassHeading(Object control, double heading, boolean animated) {
+    if (COMPASS_HEADING.isEnabled()) {
+      CompassHeading event = new CompassHeading();
+      event.control = describe(control);
+      event.heading = heading;
+      event.animated = animated;
+      event.commit();
+    }
+  }
+
+  /**
+   * Emits a compass fade event.
+   *
+   * @param control the compass
+   * @param hidden true if the compass is fading out
+   * @since 100.2.1
+   */
+  static void compassFade(Object control, boolean hidden) {
+    if (COMPASS_FADE.isEnabled()) {
+      CompassFade event = new CompassFade();
+      event.control = describe(control);
+      event.hidden = hidden;
+      event.commit();
+    }
+  }
+
+  /**
+   * Starts an overview sync event.
+   *
+   * @return the event, or null if it is disabled
+   * @since 100.2.1
+   */
+  static Object beginOverviewSync() {
+    if (!OVERVIEW_SYNC.isEnabled()) {
+      return null;
+    }
+    OverviewSync event = new OverviewSync();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Ends and commits an overview sync event.
+   *
+   * @param event the event from {@link #beginOverviewSync()}
+   * @param control the overview map
+   * @param snapshotMode true if the overview is in snapshot mode
+   * @since 100.2.1
+   */
+  static void endOverviewSync(Object event, Object control, boolean snapshotMode) {
+    OverviewSync overviewSync = (OverviewSync) event;
+    overviewSync.end();
+    overviewSync.control = describe(control);
+    overviewSync.snapshotMode = snapshotMode;
+    overviewSync.commit();
+  }
+
+  /**
+   * Describes a control so its events can be told apart from those of other controls of the same type.
+   *
+   * @param control the control
+   * @return the control's class name, identity hash and id if it has one
+   * @since 100.2.1
+   */
+  private static String describe(Object control) {
+    String description =
+      control.getClass().getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(control));
+    String id = control instanceof Node ? ((Node) control).getId() : null;
+    return id != null ? description + "#" + id : description;
+  }
+}
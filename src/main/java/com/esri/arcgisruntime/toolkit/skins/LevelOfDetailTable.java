@@ -0,0 +1,147 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.esri.arcgisruntime.toolkit.skins;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import com.esri.arcgisruntime.arcgisservices.LevelOfDetail;
+import com.esri.arcgisruntime.arcgisservices.TileInfo;
+
+/**
+ * The levels of detail of a tiling scheme held in primitive arrays, so that a scale can be snapped to a level without
+ * querying the tiling scheme.
+ *
+ * @since 100.2.1
+ */
+final class LevelOfDetailTable {
+
+  // level ids, scales and resolutions ordered from the smallest scale (most zoomed out) to the largest
+  private final int[] levels;
+  private final double[] scales;
+  private final double[] resolutions;
+
+  /**
+   * Creates a table from a tiling scheme.
+   *
+   * @param tileInfo the tiling scheme
+   * @since 100.2.1
+   */
+  LevelOfDetailTable(TileInfo tileInfo) {
+    // sort by descending scale denominator as the tiling scheme's order isn't guaranteed
+    List<LevelOfDetail> levelsOfDetail = tileInfo.getLevelsOfDetail();
+    LevelOfDetail[] sorted = levelsOfDetail.toArray(new LevelOfDetail[levelsOfDetail.size()]);
+    Arrays.sort(sorted, Comparator.comparingDouble(LevelOfDetail::getScale).reversed());
+
+    levels = new int[sorted.length];
+    scales = new double[sorted.length];
+    resolutions = new double[sorted.length];
+    for (int i = 0; i < sorted.length; i++) {
+      levels[i] = sorted[i].getLevel();
+      scales[i] = sorted[i].getScale();
+      resolutions[i] = sorted[i].getResolution();
+    }
+  }
+
+  /**
+   * Returns true if the table has no levels.
+   *
+   * @return true if empty
+   * @since 100.2.1
+   */
+  boolean isEmpty() {
+    return scales.length == 0;
+  }
+
+  /**
+   * Returns the index of the level whose scale is nearest to a scale. Nearness is measured by ratio, so the level
+   * chosen is the one that makes the tiles appear closest to their natural size.
+   *
+   * @param scale the scale
+   * @return the index of the nearest level, or -1 if the table is empty
+   * @since 100.2.1
+   */
+  int nearestIndex(double scale) {
+    if (scales.length == 0) {
+      return -1;
+    }
+    // binary search in the descending scale array for the first level with a scale at or below the target
+    int low = 0;
+    int high = scales.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (scales[middle] > scale) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    if (low == 0) {
+      return 0;
+    }
+    if (low == scales.length) {
+      return scales.length - 1;
+    }
+    // choose between the level either side by ratio
+    return scales[low - 1] / scale < scale / scales[low] ? low - 1 : low;
+  }
+
+  /**
+   * Returns the scale of the level nearest to a scale.
+   *
+   * @param scale the scale
+   * @return the scale of the nearest level, or the scale itself if the table is empty
+   * @since 100.2.1
+   */
+  double snap(double scale) {
+    int index = nearestIndex(scale);
+    return index < 0 ? scale : scales[index];
+  }
+
+  /**
+   * Returns the level id at an index.
+   *
+   * @param index the index
+   * @return the level id
+   * @since 100.2.1
+   */
+  int getLevel(int index) {
+    return levels[index];
+  }
+
+  /**
+   * Returns the scale at an index.
+   *
+   * @param index the index
+   * @return the scale
+   * @since 100.2.1
+   */
+  double getScale(int index) {
+    return scales[index];
+  }
+
+  /**
+   * Returns the resolution, in map units per pixel, at an index.
+   *
+   * @param index the index
+   * @return the resolution
+   * @since 100.2.1
+   */
+  double getResolution(int index) {
+    return resolutions[index];
+  }
+}
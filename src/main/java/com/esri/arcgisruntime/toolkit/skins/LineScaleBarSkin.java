@@ -19,7 +19,7 @@ package com.esri.arcgisruntime.toolkit.skins;
 import com.esri.arcgisruntime.geometry.LinearUnit;
 import com.esri.arcgisruntime.toolkit.Scalebar;
 import com.esri.arcgisruntime.toolkit.ScalebarUtil;
-import javafx.scene.control.Label;
+import javafx.scene.Node;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.shape.LineTo;
 import javafx.scene.shape.MoveTo;
@@ -34,7 +34,7 @@ import javafx.scene.shape.StrokeLineCap;
  */
 public final class LineScaleBarSkin extends ScalebarSkin {
 
-  private final Label distanceLabel = new Label();
+  private final Node distanceLabel;
   private final Path line = new Path();
 
   /**
@@ -51,7 +51,7 @@ public final class LineScaleBarSkin extends ScalebarSkin {
     line.setStrokeLineCap(StrokeLineCap.ROUND);
     line.setEffect(new DropShadow(1.0, SHADOW_OFFSET, SHADOW_OFFSET, SHADOW_COLOR));
 
-    distanceLabel.setTextFill(TEXT_COLOR);
+    distanceLabel = createLabel("");
 
     getVBox().getChildren().addAll(line, distanceLabel);
   }
@@ -72,6 +72,12 @@ public final class LineScaleBarSkin extends ScalebarSkin {
     // get the distance to be displayed in that unit
     displayDistance = ScalebarUtil.calculateDistanceInDisplayUnits(displayDistance, getBaseUnit(), displayUnits);
 
+    // show a cached image if the scalebar has been drawn like this before
+    if (showCachedImage(width, height, displayWidth,
+      ScalebarUtil.labelString(displayDistance) + displayUnits.getAbbreviation())) {
+      return;
+    }
+
     // update the line
     line.getElements().clear();
     line.getElements().addAll(
@@ -82,7 +88,7 @@ public final class LineScaleBarSkin extends ScalebarSkin {
       new LineTo(displayWidth, 0.0));
 
     // update the label
-    distanceLabel.setText(ScalebarUtil.labelString(displayDistance) + displayUnits.getAbbreviation());
+    setLabelText(distanceLabel, ScalebarUtil.labelString(displayDistance) + displayUnits.getAbbreviation());
 
     // adjust for left/right/center alignment
     getVBox().setTranslateX(calculateAlignmentTranslationX(width, displayWidth));
@@ -99,6 +105,6 @@ public final class LineScaleBarSkin extends ScalebarSkin {
   @Override
   protected double computePrefHeight(
     double width, double topInset, double rightInset, double bottomInset, double leftInset) {
-    return topInset + bottomInset + HEIGHT + STROKE_WIDTH + calculateRegion(new Label()).getHeight();
+    return topInset + bottomInset + HEIGHT + STROKE_WIDTH + measureTextHeight();
   }
 }
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.esri.arcgisruntime.toolkit.skins;
+
+import com.esri.arcgisruntime.geometry.GeometryEngine;
+import com.esri.arcgisruntime.geometry.Point;
+import com.esri.arcgisruntime.geometry.SpatialReference;
+import com.esri.arcgisruntime.mapping.Viewpoint;
+import com.esri.arcgisruntime.mapping.view.MapView;
+
+/**
+ * A snapshot of the transform from map coordinates to screen coordinates of an unrotated map view. Once captured the
+ * transform is applied in plain Java, so points can be placed on screen without a call to the view for each one.
+ *
+ * @since 100.2.1
+ */
+final class MapScreenTransform {
+
+  private static final double EARTH_RADIUS = 6378137.0;
+
+  private final SpatialReference spatialReference;
+  private final double centerX;
+  private final double centerY;
+  private final double unitsPerPixel;
+  private final double width;
+  private final double height;
+
+  /**
+   * Creates a transform.
+   *
+   * @param spatialReference the spatial reference of the map
+   * @param centerX the x coordinate of the center of the view in map units
+   * @param centerY the y coordinate of the center of the view in map units
+   * @param unitsPerPixel the map units per density independent pixel
+   * @param width the width of the view
+   * @param height the height of the view
+   * @since 100.2.1
+   */
+  MapScreenTransform(SpatialReference spatialReference, double centerX, double centerY, double unitsPerPixel,
+    double width, double height) {
+    this.spatialReference = spatialReference;
+    this.centerX = centerX;
+    this.centerY = centerY;
+    this.unitsPerPixel = unitsPerPixel;
+    this.width = width;
+    this.height = height;
+  }
+
+  /**
+   * Captures the current transform of a map view.
+   *
+   * @param mapView the map view
+   * @return the transform, or null if the map view doesn't have a viewpoint yet
+   * @since 100.2.1
+   */
+  static MapScreenTransform capture(MapView mapView) {
+    Viewpoint viewpoint = mapView.getCurrentViewpoint(Viewpoint.Type.CENTER_AND_SCALE);
+    Point center = viewpoint != null ? (Point) viewpoint.getTargetGeometry() : null;
+    double unitsPerPixel = mapView.getUnitsPerDensityIndependentPixel();
+    if (center == null || !(unitsPerPixel > 0.0)) {
+      return null;
+    }
+    return new MapScreenTransform(center.getSpatialReference(), center.getX(), center.getY(), unitsPerPixel,
+      mapView.getWidth(), mapView.getHeight());
+  }
+
+  /**
+   * Gets the spatial reference of the map.
+   *
+   * @return the spatial reference
+   * @since 100.2.1
+   */
+  SpatialReference getSpatialReference() {
+    return spatialReference;
+  }
+
+  /**
+   * Gets the map units per density independent pixel.
+   *
+   * @return the map units per pixel
+   * @since 100.2.1
+   */
+  double getUnitsPerPixel() {
+    return unitsPerPixel;
+  }
+
+  /**
+   * Returns the screen x coordinate of a map location.
+   *
+   * @param x the x coordinate in map units
+   * @return the screen x coordinate
+   * @since 100.2.1
+   */
+  double toScreenX(double x) {
+    return width / 2.0 + (x - centerX) / unitsPerPixel;
+  }
+
+  /**
+   * Returns the screen y coordinate of a map location.
+   *
+   * @param y the y coordinate in map units
+   * @return the screen y coordinate
+   * @since 100.2.1
+   */
+  double toScreenY(double y) {
+    return height / 2.0 - (y - centerY) / unitsPerPixel;
+  }
+
+  /**
+   * Returns the map x coordinate of a screen location.
+   *
+   * @param screenX the screen x coordinate
+   * @return the x coordinate in map units
+   * @since 100.2.1
+   */
+  double toMapX(double screenX) {
+    return centerX + (screenX - width / 2.0) * unitsPerPixel;
+  }
+
+  /**
+   * Returns the map y coordinate of a screen location.
+   *
+   * @param screenY the screen y coordinate
+   * @return the y coordinate in map units
+   * @since 100.2.1
+   */
+  double toMapY(double screenY) {
+    return centerY - (screenY - height / 2.0) * unitsPerPixel;
+  }
+
+  /**
+   * Returns true if a map location is inside the view, inset by a margin.
+   *
+   * @param x the x coordinate in map units
+   * @param y the y coordinate in map units
+   * @param margin the margin as a fraction of the view's width and height
+   * @return true if the location is inside the margin
+   * @since 100.2.1
+   */
+  boolean isInside(double x, double y, double margin) {
+    double screenX = toScreenX(x);
+    double screenY = toScreenY(y);
+    return screenX >= width * margin && screenX <= width * (1.0 - margin) &&
+      screenY >= height * margin && screenY <= height * (1.0 - margin);
+  }
+
+  /**
+   * Projects x/y pairs in place into the spatial reference of this transform. Web Mercator from WGS 84 is done in plain
+   * Java, other projections fall back to the geometry engine.
+   *
+   * @param coordinates x/y pairs
+   * @param from the spatial reference of the coordinates
+   * @since 100.2.1
+   */
+  void project(double[] coordinates, SpatialReference from) {
+    project(coordinates, from, spatialReference);
+  }
+
+  /**
+   * Projects x/y pairs in place from one spatial reference to another. Web Mercator from WGS 84 is done in plain Java,
+   * other projections fall back to the geometry engine.
+   *
+   * @param coordinates x/y pairs
+   * @param from the spatial reference of the coordinates
+   * @param to the spatial reference to project into
+   * @since 100.2.1
+   */
+  static void project(double[] coordinates, SpatialReference from, SpatialReference to) {
+    if (from == null || to == null || from.equals(to)) {
+      return;
+    }
+    if (from.getWkid() == 4326 && isWebMercator(to)) {
+      for (int i = 0; i < coordinates.length; i += 2) {
+        double latitude = Math.max(-85.0511287798, Math.min(85.0511287798, coordinates[i + 1]));
+        coordinates[i] = EARTH_RADIUS * Math.toRadians(coordinates[i]);
+        coordinates[i + 1] = EARTH_RADIUS * Math.log(Math.tan(Math.PI / 4.0 + Math.toRadians(latitude) / 2.0));
+      }
+    } else {
+      for (int i = 0; i < coordinates.length; i += 2) {
+        Point projected = (Point) GeometryEngine.project(new Point(coordinates[i], coordinates[i + 1], from), to);
+        coordinates[i] = projected.getX();
+        coordinates[i + 1] = projected.getY();
+      }
+    }
+  }
+
+  /**
+   * Returns true if a spatial reference is Web Mercator.
+   *
+   * @param spatialReference the spatial reference
+   * @return true if Web Mercator
+   * @since 100.2.1
+   */
+  static boolean isWebMercator(SpatialReference spatialReference) {
+    int wkid = spatialReference.getWkid();
+    return wkid == 3857 || wkid == 102100 || wkid == 102113 || wkid == 900913;
+  }
+}
@@ -16,17 +16,55 @@
 
 package com.esri.arcgisruntime.toolkit.skins;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.esri.arcgisruntime.concurrent.ListenableFuture;
+import com.esri.arcgisruntime.geometry.GeometryEngine;
+import com.esri.arcgisruntime.geometry.Part;
 import com.esri.arcgisruntime.geometry.Point;
 import com.esri.arcgisruntime.geometry.Polygon;
+import com.esri.arcgisruntime.geometry.PolygonBuilder;
+import com.esri.arcgisruntime.geometry.SpatialReference;
+import com.esri.arcgisruntime.geometry.SpatialReferences;
+import com.esri.arcgisruntime.layers.ArcGISTiledLayer;
+import com.esri.arcgisruntime.layers.ImageTiledLayer;
+import com.esri.arcgisruntime.layers.Layer;
+import com.esri.arcgisruntime.loadable.LoadStatus;
 import com.esri.arcgisruntime.mapping.ArcGISMap;
+import com.esri.arcgisruntime.mapping.Basemap;
+import com.esri.arcgisruntime.mapping.LayerList;
 import com.esri.arcgisruntime.mapping.Viewpoint;
+import com.esri.arcgisruntime.mapping.view.Camera;
+import com.esri.arcgisruntime.mapping.view.DrawStatus;
 import com.esri.arcgisruntime.mapping.view.GeoView;
 import com.esri.arcgisruntime.mapping.view.Graphic;
 import com.esri.arcgisruntime.mapping.view.GraphicsOverlay;
 import com.esri.arcgisruntime.mapping.view.InteractionListener;
 import com.esri.arcgisruntime.mapping.view.MapView;
+import com.esri.arcgisruntime.mapping.view.SceneView;
+import com.esri.arcgisruntime.mapping.view.ViewpointChangedListener;
+import com.esri.arcgisruntime.symbology.MarkerSymbol;
+import com.esri.arcgisruntime.toolkit.CachedTiledLayer;
+import com.esri.arcgisruntime.toolkit.DiskTileCache;
+import com.esri.arcgisruntime.toolkit.MetricsRegistry;
 import com.esri.arcgisruntime.toolkit.OverviewMap;
+import com.esri.arcgisruntime.toolkit.TilePrefetcher;
+import com.esri.arcgisruntime.toolkit.UrlTemplateTileSource;
+import javafx.application.Platform;
+import javafx.geometry.Point2D;
 import javafx.scene.control.SkinBase;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.StackPane;
 
 /**
@@ -39,6 +77,174 @@ public class OverviewMapSkin extends SkinBase<OverviewMap> {
   private static final double PREF_WIDTH = 200.0;
   private static final double PREF_HEIGHT = 132.0;
 
+  // how long the geo view's viewpoint has to be unchanged before it is considered to have settled
+  private static final long SETTLE_DELAY = TimeUnit.MILLISECONDS.toNanos(250);
+
+  // fraction of the snapshot's width and height the geo view can get to the edge of before a new snapshot is taken
+  private static final double SNAPSHOT_MARGIN = 0.2;
+
+  // how long to wait for the overview to draw before taking a snapshot anyway
+  private static final long SNAPSHOT_DRAW_TIMEOUT = TimeUnit.SECONDS.toNanos(2);
+
+  private enum SnapshotState {
+    IDLE,
+    AWAITING_DRAW,
+    EXPORTING,
+  }
+
+  private final StackPane stackPane = new StackPane();
+
+  // the overview map view and the indicator, created the first time the control is shown
+  private MapView overviewMapView;
+  private Graphic indicatorGraphic;
+  private GraphicsOverlay indicatorGraphicsOverlay;
+
+  // the snapshot of the overview and the indicator drawn over it, used in snapshot mode
+  private ImageView snapshotView;
+  private IndicatorOverlay indicatorOverlay;
+
+  // the transform of the current snapshot, null if there isn't one
+  private MapScreenTransform snapshotTransform;
+
+  // the transform of the live overview map view, captured whenever its viewpoint changes
+  private MapScreenTransform liveTransform;
+
+  // what was last drawn with the indicator overlay, so it can be redrawn when the overview moves
+  private SpatialReference overlayFootprintSpatialReference;
+  private Point overlayMarker;
+  private double snapshotScale = Double.NaN;
+  private SnapshotState snapshotState = SnapshotState.IDLE;
+  private long snapshotRequestTime = 0;
+
+  // incremented for every snapshot requested so that stale exports can be ignored
+  private int snapshotGeneration = 0;
+
+  // corners of the indicator in screen coordinates when drawn with the indicator overlay, as x/y pairs
+  private final double[] screenCorners = new double[8];
+
+  // tracks if the control is showing, the overview is only kept in sync while it is; the tracker reports the initial
+  // state from its constructor, before the field below is assigned, so the state is kept in its own field
+  private final ShowingTracker showingTracker;
+  private boolean showing = false;
+
+  // true when the geo view's viewpoint has changed since the last sync
+  private boolean syncPending = false;
+
+  // true when the overview map needs recentering but is waiting for the geo view to settle
+  private boolean recenterPending = false;
+
+  // time of the last viewpoint change of the geo view
+  private long lastViewpointChange = 0;
+
+  // relative difference in scale below which the overview is not rescaled
+  private static final double SCALE_TOLERANCE = 1.0e-6;
+
+  // the scale of the geo view at the last sync
+  private double targetScale = Double.NaN;
+
+  // the basemap shown by the overview, a copy of the control's basemap when tiles are read through a cache
+  private Basemap overviewBasemap;
+
+  // the levels of detail of the basemap, null if they are not known
+  private LevelOfDetailTable levelsOfDetail;
+
+  // how far ahead the geo view's movement is extrapolated to predict which tiles the overview will need next
+  private static final double PREFETCH_HORIZON = 0.5;
+
+  // weight given to the latest velocity sample, smoothing out uneven viewpoint updates
+  private static final double VELOCITY_SMOOTHING = 0.3;
+
+  // velocity samples further apart than this start a new movement rather than continuing the last one
+  private static final long VELOCITY_RESET_INTERVAL = TimeUnit.MILLISECONDS.toNanos(200);
+
+  // the predicted movement, as a fraction of the overview's size, below which no tiles are prefetched
+  private static final double PREFETCH_MIN_LEAD = 0.1;
+
+  // prefetches tiles for the basemap's first tiled layer when it reads its tiles through a cache
+  private TilePrefetcher tilePrefetcher;
+  private SpatialReference tileSpatialReference;
+
+  // the geo view's center in the tiling scheme's spatial reference and its smoothed velocity in map units per second
+  private final double[] prefetchCenter = new double[2];
+  private double lastCenterX;
+  private double lastCenterY;
+  private long lastCenterTime = 0;
+  private double velocityX;
+  private double velocityY;
+
+  // builder reused for every update of the indicator polygon for a map view
+  private PolygonBuilder indicatorBuilder;
+
+  // the corners of the indicator polygon for a map view in the same order as the polygon, as x/y pairs
+  private final double[] indicatorCorners = new double[8];
+
+  // the corners last pushed to the indicator graphic, snapped to the overview's pixel grid
+  private final long[] lastIndicatorCorners = new long[8];
+  private boolean hasIndicator = false;
+
+  // the screen position of the indicator for a scene view, null when unknown
+  private Point2D lastIndicatorScreenLocation;
+
+  // the scene view's camera footprint and target, only recalculated when the camera moves
+  private final CameraFootprint cameraFootprint = new CameraFootprint();
+  private Point sceneTarget;
+
+  // vertical field of view of the scene view's camera in degrees, the runtime doesn't expose it so the default is used
+  private static final double SCENE_FIELD_OF_VIEW = 60.0;
+
+  // density independent pixels per meter on screen, for converting a ground distance per pixel to a scale
+  private static final double DIPS_PER_METER = 96.0 / 0.0254;
+
+  // syncs the overview with the geo view at most once per pulse, scheduled with the toolkit's other deferrable work
+  private final Runnable syncTask = this::sync;
+
+  // wakes up deferred syncs once they are due, shared by all overview maps
+  private static final ScheduledExecutorService WAKE_UP_SERVICE = Executors.newSingleThreadScheduledExecutor(r -> {
+    Thread thread = new Thread(r, "overview-map-wake-up");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  // the next deferred sync, null if none is scheduled
+  private ScheduledFuture<?> wakeUp;
+
+  // metrics reported by all overview maps
+  private static final MetricsRegistry.Counter SYNC_COUNT = MetricsRegistry.getDefault().counter("overviewmap.syncs");
+  private static final MetricsRegistry.Histogram SYNC_TIME =
+    MetricsRegistry.getDefault().durationHistogram("overviewmap.sync.nanos");
+  private static final MetricsRegistry.Counter RECENTER_COUNT =
+    MetricsRegistry.getDefault().counter("overviewmap.recenters");
+  private static final MetricsRegistry.Counter SNAPSHOT_COUNT =
+    MetricsRegistry.getDefault().counter("overviewmap.snapshots");
+
+  // minimum time between viewpoint requests sent to the geo view while navigating from the overview
+  private static final long NAVIGATION_REQUEST_INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+  // duration in seconds of the scene view's camera animation for each navigation request
+  private static final float NAVIGATION_DURATION = 0.1f;
+
+  // sends the latest navigation target to the geo view on each pulse of the shared animation timer
+  private final SharedAnimationTimer.PulseListener navigationPulse = this::sendNavigationRequests;
+
+  // the overview's transform, the pointer in map coordinates and the geo view's center when the mouse was pressed,
+  // the transform is kept for the whole drag so the overview moving underneath the pointer doesn't feed back into it
+  private MapScreenTransform dragTransform;
+  private double dragStartX;
+  private double dragStartY;
+  private final double[] dragStartCenter = new double[2];
+
+  // the latest point requested by navigating, null once it has been sent to the geo view
+  private Point navigationTarget;
+  private ListenableFuture<Boolean> navigationRequest;
+  private long lastNavigationRequest = 0;
+
+  // schedules an update of the overview when the geo view's viewpoint changes, this can happen many times per frame so
+  // the work is coalesced and done on the next pulse
+  private final ViewpointChangedListener viewpointChangedListener = v -> {
+    lastViewpointChange = System.nanoTime();
+    requestSync();
+  };
+
   /**
    * Creates an instance of the skin.
    *
@@ -48,52 +254,1000 @@ public class OverviewMapSkin extends SkinBase<OverviewMap> {
   public OverviewMapSkin(OverviewMap control) {
     super(control);
 
-    // create a stack pane holding an map view
-    MapView overviewMapView = new MapView();
-    ArcGISMap map = new ArcGISMap(control.basemapProperty().get());
-    overviewMapView.setMap(map);
-    StackPane stackPane = new StackPane();
-    stackPane.getChildren().add(overviewMapView);
     getChildren().add(stackPane);
+    stackPane.addEventFilter(MouseEvent.MOUSE_PRESSED, this::navigationStarted);
+    stackPane.addEventFilter(MouseEvent.MOUSE_DRAGGED, this::navigationDragged);
+    stackPane.addEventFilter(MouseEvent.MOUSE_RELEASED, this::navigationFinished);
 
-    // add a listener for changes in the geo view's view point that will update the indicator graphic
-    final Graphic indicatorGraphic = new Graphic();
-    GeoView geoView = control.geoViewProperty().get();
-    geoView.addViewpointChangedListener(v -> {
-      if (geoView instanceof MapView) {
-        MapView mapView = (MapView) geoView;
-        Polygon visibleArea = mapView.getVisibleArea();
-        if (visibleArea != null) {
-          indicatorGraphic.setGeometry(visibleArea);
-          // keep overview centered on the map view's visible area
-          overviewMapView.setViewpoint(new Viewpoint(visibleArea.getExtent().getCenter(), overviewMapView.getMapScale()));
-        }
-      } else {
-        Viewpoint viewpoint = geoView.getCurrentViewpoint(Viewpoint.Type.CENTER_AND_SCALE);
-        Point target = (Point) viewpoint.getTargetGeometry();
-        if (target != null) {
-          indicatorGraphic.setGeometry(target);
-          // keep overview centered on the scene view's target
-          overviewMapView.setViewpoint(new Viewpoint(target, overviewMapView.getMapScale()));
-        }
+    // listen for property changes
+    control.basemapProperty().addListener((observable, oldValue, newValue) -> {
+      if (overviewMapView != null) {
+        overviewBasemap = createOverviewBasemap(newValue);
+        updateLevelsOfDetail(overviewBasemap);
+        overviewMapView.getMap().setBasemap(overviewBasemap);
+      }
+    });
+    control.scaleRatioProperty().addListener(observable -> requestSync());
+    control.symbolProperty().addListener((observable, oldValue, newValue) -> {
+      if (indicatorGraphic != null) {
+        indicatorGraphic.setSymbol(newValue);
+        indicatorOverlay.setSymbol(newValue);
+        // a scene view's indicator changes between a point and a footprint with the type of symbol
+        hasIndicator = false;
+        lastIndicatorScreenLocation = null;
+        requestSync();
       }
     });
+    control.snapshotModeProperty().addListener(observable -> indicatorStyleChanged());
+    control.indicatorRenderingProperty().addListener(observable -> indicatorStyleChanged());
+
+    // nothing else is done until the control is shown
+    showingTracker = new ShowingTracker(control, this::showingChanged);
+  }
+
+  /**
+   * Starts or suspends keeping the overview in sync with the geo view. The overview map view is created the first time
+   * the control is shown. While the control isn't showing the geo view's viewpoint is not tracked and the overview map
+   * view is hidden, when it is shown again the overview catches up with a single sync.
+   *
+   * @param showing true if the control is now showing
+   * @since 100.2.1
+   */
+  private void showingChanged(boolean showing) {
+    this.showing = showing;
+    GeoView geoView = getSkinnable().getGeoView();
+    if (showing) {
+      if (overviewMapView == null) {
+        createOverviewMapView();
+      }
+      // in snapshot mode the map view is only shown until there is a snapshot
+      overviewMapView.setVisible(!getSkinnable().isSnapshotMode() || snapshotTransform == null);
+      geoView.addViewpointChangedListener(viewpointChangedListener);
+
+      // the geo view may have moved while suspended
+      hasIndicator = false;
+      lastIndicatorScreenLocation = null;
+      requestSync();
+    } else {
+      geoView.removeViewpointChangedListener(viewpointChangedListener);
+      PulseScheduler.cancel(syncTask);
+      cancelWakeUp();
+      syncPending = false;
+      recenterPending = false;
+      snapshotState = SnapshotState.IDLE;
+      lastCenterTime = 0;
+      if (overviewMapView != null) {
+        overviewMapView.setVisible(false);
+      }
+    }
+  }
+
+  /**
+   * Creates the overview map view with its map and indicator graphic.
+   *
+   * @since 100.2.1
+   */
+  private void createOverviewMapView() {
+    OverviewMap control = getSkinnable();
+
+    // create a map view in the stack pane
+    overviewMapView = new MapView();
+    overviewBasemap = createOverviewBasemap(control.getBasemap());
+    updateLevelsOfDetail(overviewBasemap);
+    overviewMapView.setMap(new ArcGISMap(overviewBasemap));
+    stackPane.getChildren().add(overviewMapView);
 
     // add the indicator graphic to the map view
-    indicatorGraphic.setSymbol(control.symbolProperty().get());
-    GraphicsOverlay indicatorOverlay = new GraphicsOverlay();
-    indicatorOverlay.getGraphics().add(indicatorGraphic);
-    overviewMapView.getGraphicsOverlays().add(indicatorOverlay);
+    indicatorGraphic = new Graphic();
+    indicatorGraphic.setSymbol(control.getSymbol());
+    indicatorGraphicsOverlay = new GraphicsOverlay();
+    indicatorGraphicsOverlay.getGraphics().add(indicatorGraphic);
+    overviewMapView.getGraphicsOverlays().add(indicatorGraphicsOverlay);
+
+    // add the snapshot and the overlay used to draw the indicator with JavaFX shapes on top of the map view
+    snapshotView = new ImageView();
+    snapshotView.fitWidthProperty().bind(stackPane.widthProperty());
+    snapshotView.fitHeightProperty().bind(stackPane.heightProperty());
+    snapshotView.setVisible(false);
+    indicatorOverlay = new IndicatorOverlay();
+    indicatorOverlay.setSymbol(control.getSymbol());
+    stackPane.getChildren().addAll(snapshotView, indicatorOverlay);
+    indicatorGraphicsOverlay.setVisible(!useIndicatorOverlay());
+
+    // the overlay is placed with the overview's transform so it has to follow the overview when it moves
+    overviewMapView.addViewpointChangedListener(v -> {
+      liveTransform = MapScreenTransform.capture(overviewMapView);
+      if (useIndicatorOverlay() && !control.isSnapshotMode()) {
+        redrawIndicatorOverlay();
+      }
+    });
 
-    // disable map view interaction
+    // take a snapshot once the overview has drawn at the snapshot's viewpoint
+    overviewMapView.addDrawStatusChangedListener(e -> {
+      if (e.getDrawStatus() == DrawStatus.COMPLETED) {
+        Platform.runLater(() -> {
+          if (snapshotState == SnapshotState.AWAITING_DRAW) {
+            exportSnapshot();
+          }
+        });
+      }
+    });
+
+    // disable map view interaction, navigating from the overview is handled by the skin and moves the geo view instead
     overviewMapView.setInteractionListener(new InteractionListener() {});
 
     // hide attribution
     overviewMapView.setAttributionTextVisible(false);
+  }
 
-    // listen for property changes
-    control.basemapProperty().addListener((observable, oldValue, newValue) -> overviewMapView.getMap().setBasemap(newValue));
-    control.symbolProperty().addListener((observable, oldValue, newValue) -> indicatorGraphic.setSymbol(newValue));
+  /**
+   * Creates the basemap shown by the overview. Without a tile cache this is the control's basemap. With one it is a
+   * copy of the control's basemap, so that the basemap passed in, which the app may also use elsewhere, is never
+   * changed when its layers are replaced with cached ones.
+   *
+   * @param basemap the control's basemap
+   * @return the basemap to show, or null if the control has no basemap
+   * @since 100.2.1
+   */
+  private Basemap createOverviewBasemap(Basemap basemap) {
+    if (getSkinnable().getTileCache() == null || basemap == null) {
+      return basemap;
+    }
+    Basemap copy = basemap.copy();
+    applyTileCache(copy);
+    return copy;
+  }
+
+  /**
+   * Replaces the online ArcGIS tiled layers of the overview's own basemap with layers that read their tiles through the
+   * control's tile cache. Each layer is replaced once it has loaded and its tiling scheme is known. Layers with a
+   * credential or a request configuration are left as they are, since the cached layers download their tiles without
+   * them.
+   *
+   * @param basemap the overview's basemap
+   * @since 100.2.1
+   */
+  private void applyTileCache(Basemap basemap) {
+    DiskTileCache tileCache = getSkinnable().getTileCache();
+    LayerList baseLayers = basemap.getBaseLayers();
+    for (Layer layer : new ArrayList<>(baseLayers)) {
+      if (layer instanceof ArcGISTiledLayer) {
+        ArcGISTiledLayer tiledLayer = (ArcGISTiledLayer) layer;
+        String uri = tiledLayer.getUri();
+        if (uri != null && uri.startsWith("http") && tiledLayer.getCredential() == null &&
+          tiledLayer.getRequestConfiguration() == null) {
+          tiledLayer.addDoneLoadingListener(() -> {
+            int index = baseLayers.indexOf(tiledLayer);
+            if (tiledLayer.getLoadStatus() == LoadStatus.LOADED && index >= 0) {
+              String template = uri + "/tile/{level}/{row}/{col}";
+              baseLayers.set(index, new CachedTiledLayer(tiledLayer.getTileInfo(), tiledLayer.getFullExtent(),
+                new UrlTemplateTileSource(template), tileCache, sourceName(template)));
+              if (overviewBasemap == basemap) {
+                updateTilePrefetcher(basemap);
+              }
+            }
+          });
+          tiledLayer.loadAsync();
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the name that keeps a tile source's tiles apart from others in the tile cache. The name is a digest of the
+   * source's URL template, so that two services never share a directory.
+   *
+   * @param template the URL template of the tile source
+   * @return the name, a string of hex digits
+   * @since 100.2.1
+   */
+  private static String sourceName(String template) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(template.getBytes(StandardCharsets.UTF_8));
+      StringBuilder name = new StringBuilder(digest.length * 2);
+      for (byte b : digest) {
+        name.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+      }
+      return name.toString();
+    } catch (NoSuchAlgorithmException e) {
+      // every Java platform supports SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Reads the levels of detail of a basemap's first tiled layer into a table once the layer has loaded, so the
+   * overview's scale can be snapped to whole levels without querying the layer on every sync.
+   *
+   * @param basemap the basemap
+   * @since 100.2.1
+   */
+  private void updateLevelsOfDetail(Basemap basemap) {
+    levelsOfDetail = null;
+    updateTilePrefetcher(basemap);
+    if (basemap == null) {
+      return;
+    }
+    for (Layer layer : basemap.getBaseLayers()) {
+      if (layer instanceof ImageTiledLayer) {
+        ImageTiledLayer tiledLayer = (ImageTiledLayer) layer;
+        tiledLayer.addDoneLoadingListener(() -> {
+          // ignore the layer if the basemap has been replaced while it was loading
+          if (tiledLayer.getLoadStatus() == LoadStatus.LOADED && overviewBasemap == basemap) {
+            LevelOfDetailTable table = new LevelOfDetailTable(tiledLayer.getTileInfo());
+            levelsOfDetail = table.isEmpty() ? null : table;
+            requestSync();
+          }
+        });
+        tiledLayer.loadAsync();
+        return;
+      }
+    }
+  }
+
+  /**
+   * Uses the prefetcher of a basemap's first tiled layer if that layer reads its tiles through a cache. The prefetcher
+   * used before is shut down so that it stops fetching tiles for a basemap that is no longer shown.
+   *
+   * @param basemap the basemap
+   * @since 100.2.1
+   */
+  private void updateTilePrefetcher(Basemap basemap) {
+    shutdownTilePrefetcher();
+    tileSpatialReference = null;
+    lastCenterTime = 0;
+    if (basemap == null) {
+      return;
+    }
+    for (Layer layer : basemap.getBaseLayers()) {
+      if (layer instanceof ImageTiledLayer) {
+        if (layer instanceof CachedTiledLayer) {
+          CachedTiledLayer cachedLayer = (CachedTiledLayer) layer;
+          tilePrefetcher = cachedLayer.getTilePrefetcher();
+          tileSpatialReference = cachedLayer.getTileInfo().getSpatialReference();
+        }
+        return;
+      }
+    }
+  }
+
+  /**
+   * Shuts down the prefetcher in use, if any, abandoning the tiles it is still waiting to fetch.
+   *
+   * @since 100.2.1
+   */
+  private void shutdownTilePrefetcher() {
+    if (tilePrefetcher != null) {
+      tilePrefetcher.shutdown();
+      tilePrefetcher = null;
+    }
+  }
+
+  /**
+   * Schedules a sync of the overview with the geo view on the next pulse if the control is showing.
+   *
+   * @since 100.2.1
+   */
+  private void requestSync() {
+    if (showing) {
+      syncPending = true;
+      PulseScheduler.submit(syncTask, PulseScheduler.Priority.HIGH);
+    }
+  }
+
+  /**
+   * Syncs the indicator and the overview map with the geo view. Scheduled after the geo view's viewpoint has changed,
+   * and woken up again once deferred work is due. In {@link OverviewMap.UpdateMode#SETTLED} mode recentering the
+   * overview map is deferred until the geo view has stopped changing.
+   *
+   * @since 100.2.1
+   */
+  private void sync() {
+    Object event = ToolkitEvents.beginOverviewSync();
+    long start = System.nanoTime();
+    OverviewMap control = getSkinnable();
+    long sinceViewpointChange = start - lastViewpointChange;
+    boolean settling = control.getUpdateMode() == OverviewMap.UpdateMode.SETTLED &&
+      sinceViewpointChange < SETTLE_DELAY;
+    // the overview stays still while it is being dragged so the pointer keeps its place on the map
+    boolean deferRecenter = settling || dragTransform != null;
+    boolean worked = false;
+
+    if (syncPending) {
+      syncPending = false;
+      worked = true;
+      Point center = updateIndicator(control.getGeoView(), control.getSyncThreshold());
+      if (center != null) {
+        prefetch(center);
+        if (control.isSnapshotMode()) {
+          updateSnapshot(center);
+        } else if (deferRecenter) {
+          recenterPending = true;
+        } else {
+          recenter(center, control.getSyncThreshold());
+        }
+      }
+    } else if (recenterPending && !deferRecenter) {
+      worked = true;
+      Point center = updateIndicator(control.getGeoView(), Double.POSITIVE_INFINITY);
+      if (center != null) {
+        recenter(center, control.getSyncThreshold());
+      }
+    }
+
+    // don't wait forever for the overview to draw before taking a snapshot
+    long sinceSnapshotRequest = System.nanoTime() - snapshotRequestTime;
+    if (snapshotState == SnapshotState.AWAITING_DRAW && sinceSnapshotRequest > SNAPSHOT_DRAW_TIMEOUT) {
+      worked = true;
+      exportSnapshot();
+    }
+    if (worked) {
+      SYNC_COUNT.increment();
+      SYNC_TIME.recordSince(start);
+      ToolkitEvents.endOverviewSync(event, control, control.isSnapshotMode());
+    }
+
+    // wake up once the earliest deferred work is due rather than polling on every pulse, the end of a drag requests a
+    // sync of its own
+    long delay = Long.MAX_VALUE;
+    if (recenterPending && settling) {
+      delay = SETTLE_DELAY - sinceViewpointChange;
+    }
+    if (snapshotState == SnapshotState.AWAITING_DRAW) {
+      delay = Math.min(delay, SNAPSHOT_DRAW_TIMEOUT - sinceSnapshotRequest);
+    }
+    if (delay != Long.MAX_VALUE) {
+      scheduleWakeUp(delay);
+    }
+  }
+
+  /**
+   * Schedules a sync on the first pulse after a delay, replacing any sync scheduled earlier.
+   *
+   * @param delay the delay in nanoseconds
+   * @since 100.2.1
+   */
+  private void scheduleWakeUp(long delay) {
+    cancelWakeUp();
+    wakeUp = WAKE_UP_SERVICE.schedule(() -> Platform.runLater(() -> {
+      if (showing) {
+        PulseScheduler.submit(syncTask, PulseScheduler.Priority.HIGH);
+      }
+    }), Math.max(delay, 0), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Cancels the scheduled sync, if any.
+   *
+   * @since 100.2.1
+   */
+  private void cancelWakeUp() {
+    if (wakeUp != null) {
+      wakeUp.cancel(false);
+      wakeUp = null;
+    }
+  }
+
+  /**
+   * Updates the indicator graphic if the geo view has moved far enough for the change to be visible.
+   *
+   * @param geoView the geo view
+   * @param threshold the minimum movement in overview pixels for the indicator to be updated
+   * @return the point the overview should be centered on, or null if the geo view doesn't have a viewpoint yet
+   * @since 100.2.1
+   */
+  private Point updateIndicator(GeoView geoView, double threshold) {
+    if (geoView instanceof MapView) {
+      MapView mapView = (MapView) geoView;
+      Viewpoint viewpoint = mapView.getCurrentViewpoint(Viewpoint.Type.CENTER_AND_SCALE);
+      Point center = viewpoint != null ? (Point) viewpoint.getTargetGeometry() : null;
+      if (center == null) {
+        return null;
+      }
+      targetScale = viewpoint.getTargetScale();
+      double unitsPerPixel = mapView.getUnitsPerDensityIndependentPixel();
+      calculateFootprint(center, unitsPerPixel, mapView.getWidth(), mapView.getHeight(), mapView.getMapRotation());
+      if (useIndicatorOverlay()) {
+        drawFootprintOverlay(center.getSpatialReference());
+        return center;
+      }
+
+      // snap the corners to a grid the size of the threshold in overview pixels, and only update the graphic if that
+      // changes any of them
+      double gridSize = threshold * unitsPerPixel * overviewMapView.getMapScale() / viewpoint.getTargetScale();
+      boolean changed = !hasIndicator;
+      if (gridSize > 0.0 && !Double.isInfinite(gridSize)) {
+        for (int i = 0; i < indicatorCorners.length; i++) {
+          long snapped = Math.round(indicatorCorners[i] / gridSize);
+          changed |= snapped != lastIndicatorCorners[i];
+          lastIndicatorCorners[i] = snapped;
+        }
+      } else {
+        // the overview's scale isn't known yet or there is no threshold
+        changed |= threshold < Double.POSITIVE_INFINITY;
+      }
+      if (changed) {
+        indicatorGraphic.setGeometry(buildFootprint(center.getSpatialReference()));
+        hasIndicator = true;
+      }
+      return center;
+    } else if (geoView instanceof SceneView) {
+      return updateSceneIndicator((SceneView) geoView, threshold);
+    } else {
+      return updateViewpointIndicator(geoView, threshold);
+    }
+  }
+
+  /**
+   * Updates the indicator for a geo view that is neither a map view nor a scene view. The indicator is the target of
+   * the view's current viewpoint.
+   *
+   * @param geoView the geo view
+   * @param threshold the minimum movement in overview pixels for the indicator to be updated
+   * @return the point the overview should be centered on, or null if the geo view doesn't have a viewpoint yet
+   * @since 100.2.1
+   */
+  private Point updateViewpointIndicator(GeoView geoView, double threshold) {
+    Viewpoint viewpoint = geoView.getCurrentViewpoint(Viewpoint.Type.CENTER_AND_SCALE);
+    Point target = viewpoint != null ? (Point) viewpoint.getTargetGeometry() : null;
+    if (target == null) {
+      return null;
+    }
+    targetScale = viewpoint.getTargetScale();
+    if (useIndicatorOverlay()) {
+      drawMarkerOverlay(target);
+      return target;
+    }
+    Point2D screenLocation = overviewMapView.locationToScreen(target);
+    if (!hasIndicator || lastIndicatorScreenLocation == null || screenLocation == null ||
+      screenLocation.distance(lastIndicatorScreenLocation) >= threshold) {
+      indicatorGraphic.setGeometry(target);
+      lastIndicatorScreenLocation = screenLocation;
+      hasIndicator = true;
+    }
+    return target;
+  }
+
+  /**
+   * Updates the indicator for a scene view. With a marker symbol the indicator is the camera's target, otherwise it is
+   * the camera's footprint on the ground. Both are worked out from the camera without querying the scene view's
+   * viewpoint, and not at all if the camera hasn't moved noticeably.
+   *
+   * @param sceneView the scene view
+   * @param threshold the minimum movement in overview pixels for the indicator to be updated
+   * @return the point the overview should be centered on, or null if the scene view doesn't have a camera yet
+   * @since 100.2.1
+   */
+  private Point updateSceneIndicator(SceneView sceneView, double threshold) {
+    Camera camera = sceneView.getCurrentViewpointCamera();
+    double width = sceneView.getWidth();
+    double height = sceneView.getHeight();
+    if (camera == null || !(width > 0.0) || !(height > 0.0)) {
+      return null;
+    }
+    Point location = camera.getLocation();
+    boolean moved = cameraFootprint.update(location.getX(), location.getY(), location.getZ(), camera.getHeading(),
+      camera.getPitch(), SCENE_FIELD_OF_VIEW, width / height);
+    targetScale = cameraFootprint.getGroundWidth() / width * DIPS_PER_METER;
+    if (moved || sceneTarget == null) {
+      sceneTarget = new Point(cameraFootprint.getCenterLongitude(), cameraFootprint.getCenterLatitude(),
+        SpatialReferences.getWgs84());
+    }
+    boolean marker = getSkinnable().getSymbol() instanceof MarkerSymbol;
+    if (!marker) {
+      System.arraycopy(cameraFootprint.getCorners(), 0, indicatorCorners, 0, indicatorCorners.length);
+    }
+
+    if (useIndicatorOverlay()) {
+      if (marker) {
+        drawMarkerOverlay(sceneTarget);
+      } else {
+        drawFootprintOverlay(SpatialReferences.getWgs84());
+      }
+      return sceneTarget;
+    }
+    if (!moved && hasIndicator) {
+      return sceneTarget;
+    }
+
+    if (marker) {
+      Point2D screenLocation = overviewMapView.locationToScreen(sceneTarget);
+      if (lastIndicatorScreenLocation == null || screenLocation == null ||
+        screenLocation.distance(lastIndicatorScreenLocation) >= threshold) {
+        indicatorGraphic.setGeometry(sceneTarget);
+        lastIndicatorScreenLocation = screenLocation;
+        hasIndicator = true;
+      }
+      return sceneTarget;
+    }
+
+    // snap the corners' positions on the overview to a grid the size of the threshold, and only update the graphic if
+    // that changes any of them
+    boolean changed = !hasIndicator;
+    if (liveTransform != null && threshold > 0.0 && !Double.isInfinite(threshold)) {
+      System.arraycopy(indicatorCorners, 0, screenCorners, 0, indicatorCorners.length);
+      liveTransform.project(screenCorners, SpatialReferences.getWgs84());
+      for (int i = 0; i < screenCorners.length; i += 2) {
+        long snappedX = Math.round(liveTransform.toScreenX(screenCorners[i]) / threshold);
+        long snappedY = Math.round(liveTransform.toScreenY(screenCorners[i + 1]) / threshold);
+        changed |= snappedX != lastIndicatorCorners[i] || snappedY != lastIndicatorCorners[i + 1];
+        lastIndicatorCorners[i] = snappedX;
+        lastIndicatorCorners[i + 1] = snappedY;
+      }
+    } else {
+      // the overview's transform isn't known yet or there is no threshold
+      changed |= threshold < Double.POSITIVE_INFINITY;
+    }
+    if (changed) {
+      indicatorGraphic.setGeometry(buildFootprint(SpatialReferences.getWgs84()));
+      hasIndicator = true;
+    }
+    return sceneTarget;
+  }
+
+  /**
+   * Returns true if the indicator is drawn with JavaFX shapes rather than a graphic.
+   *
+   * @return true if the indicator overlay is used
+   * @since 100.2.1
+   */
+  private boolean useIndicatorOverlay() {
+    OverviewMap control = getSkinnable();
+    return control.isSnapshotMode() || control.getIndicatorRendering() == OverviewMap.IndicatorRendering.OVERLAY;
+  }
+
+  /**
+   * Returns the transform used to place the indicator overlay.
+   *
+   * @return the transform, or null if it isn't known
+   * @since 100.2.1
+   */
+  private MapScreenTransform getOverlayTransform() {
+    return getSkinnable().isSnapshotMode() ? snapshotTransform : liveTransform;
+  }
+
+  /**
+   * Called when the way the indicator is drawn changes. Switches between the graphic and the overlay and, when leaving
+   * snapshot mode, goes back to the live map view.
+   *
+   * @since 100.2.1
+   */
+  private void indicatorStyleChanged() {
+    if (overviewMapView == null) {
+      return;
+    }
+    if (!getSkinnable().isSnapshotMode()) {
+      snapshotGeneration++;
+      snapshotState = SnapshotState.IDLE;
+      snapshotTransform = null;
+      snapshotView.setImage(null);
+      snapshotView.setVisible(false);
+      overviewMapView.setVisible(true);
+    }
+    indicatorGraphicsOverlay.setVisible(!useIndicatorOverlay());
+    indicatorOverlay.hideIndicator();
+    overlayFootprintSpatialReference = null;
+    overlayMarker = null;
+    hasIndicator = false;
+    lastIndicatorScreenLocation = null;
+    requestSync();
+  }
+
+  /**
+   * Draws the footprint in {@link #indicatorCorners} with the indicator overlay.
+   *
+   * @param spatialReference the spatial reference of the corners
+   * @since 100.2.1
+   */
+  private void drawFootprintOverlay(SpatialReference spatialReference) {
+    overlayFootprintSpatialReference = spatialReference;
+    overlayMarker = null;
+    MapScreenTransform transform = getOverlayTransform();
+    if (transform == null) {
+      indicatorOverlay.hideIndicator();
+      return;
+    }
+    System.arraycopy(indicatorCorners, 0, screenCorners, 0, indicatorCorners.length);
+    transform.project(screenCorners, spatialReference);
+    for (int i = 0; i < screenCorners.length; i += 2) {
+      screenCorners[i] = transform.toScreenX(screenCorners[i]);
+      screenCorners[i + 1] = transform.toScreenY(screenCorners[i + 1]);
+    }
+    indicatorOverlay.showFootprint(screenCorners);
+  }
+
+  /**
+   * Draws a marker at a point with the indicator overlay.
+   *
+   * @param point the point
+   * @since 100.2.1
+   */
+  private void drawMarkerOverlay(Point point) {
+    overlayMarker = point;
+    overlayFootprintSpatialReference = null;
+    MapScreenTransform transform = getOverlayTransform();
+    if (transform == null) {
+      indicatorOverlay.hideIndicator();
+      return;
+    }
+    screenCorners[0] = point.getX();
+    screenCorners[1] = point.getY();
+    transform.project(screenCorners, point.getSpatialReference());
+    indicatorOverlay.showMarker(transform.toScreenX(screenCorners[0]), transform.toScreenY(screenCorners[1]));
+  }
+
+  /**
+   * Redraws whatever was last drawn with the indicator overlay using the current overlay transform.
+   *
+   * @since 100.2.1
+   */
+  private void redrawIndicatorOverlay() {
+    if (overlayFootprintSpatialReference != null) {
+      drawFootprintOverlay(overlayFootprintSpatialReference);
+    } else if (overlayMarker != null) {
+      drawMarkerOverlay(overlayMarker);
+    }
+  }
+
+  /**
+   * Takes a new snapshot of the overview if the geo view has got too close to the edge of the current one or the
+   * overview's scale needs to change.
+   *
+   * @param center the center of the geo view
+   * @since 100.2.1
+   */
+  private void updateSnapshot(Point center) {
+    if (snapshotState != SnapshotState.IDLE) {
+      // a snapshot is on its way, this is checked again when it arrives
+      return;
+    }
+    double scale = calculateOverviewScale();
+    if (snapshotTransform != null && !(Math.abs(scale - snapshotScale) > snapshotScale * SCALE_TOLERANCE)) {
+      screenCorners[0] = center.getX();
+      screenCorners[1] = center.getY();
+      snapshotTransform.project(screenCorners, center.getSpatialReference());
+      if (snapshotTransform.isInside(screenCorners[0], screenCorners[1], SNAPSHOT_MARGIN)) {
+        return;
+      }
+    }
+
+    // draw the overview at the new viewpoint, the snapshot is taken once it has drawn
+    snapshotGeneration++;
+    snapshotState = SnapshotState.AWAITING_DRAW;
+    snapshotRequestTime = System.nanoTime();
+    snapshotScale = scale;
+    overviewMapView.setVisible(true);
+    overviewMapView.setViewpoint(new Viewpoint(center, scale));
+    RECENTER_COUNT.increment();
+  }
+
+  /**
+   * Exports an image of the overview map view to use as the snapshot.
+   *
+   * @since 100.2.1
+   */
+  private void exportSnapshot() {
+    SNAPSHOT_COUNT.increment();
+    snapshotState = SnapshotState.EXPORTING;
+    int generation = snapshotGeneration;
+    ListenableFuture<Image> future = overviewMapView.exportImageAsync();
+    future.addDoneListener(() -> Platform.runLater(() -> snapshotExported(future, generation)));
+  }
+
+  /**
+   * Shows a newly exported snapshot in place of the map view.
+   *
+   * @param future the export
+   * @param generation the snapshot generation the export was for
+   * @since 100.2.1
+   */
+  private void snapshotExported(ListenableFuture<Image> future, int generation) {
+    if (generation != snapshotGeneration || snapshotState != SnapshotState.EXPORTING) {
+      return;
+    }
+    snapshotState = SnapshotState.IDLE;
+    try {
+      snapshotView.setImage(future.get());
+    } catch (InterruptedException | ExecutionException e) {
+      // go back to the live map view, a new snapshot is attempted on the next viewpoint change
+      snapshotTransform = null;
+      snapshotView.setVisible(false);
+      overviewMapView.setVisible(true);
+      return;
+    }
+    snapshotTransform = MapScreenTransform.capture(overviewMapView);
+    snapshotView.setVisible(true);
+    overviewMapView.setVisible(false);
+
+    // redraw the indicator for the new snapshot
+    requestSync();
+  }
+
+  /**
+   * Keeps the overview map centered on a point at the scale set by the control's scale ratio, ignoring movements of
+   * less than the threshold.
+   *
+   * @param center the point to center the overview map on
+   * @param threshold the minimum distance in overview pixels the center has to move before the overview is recentered
+   * @since 100.2.1
+   */
+  private void recenter(Point center, double threshold) {
+    recenterPending = false;
+    double scale = calculateOverviewScale();
+    double currentScale = overviewMapView.getMapScale();
+    boolean rescale = !(Math.abs(scale - currentScale) <= currentScale * SCALE_TOLERANCE);
+    Point2D screenLocation = overviewMapView.locationToScreen(center);
+    Point2D screenCenter = new Point2D(overviewMapView.getWidth() / 2.0, overviewMapView.getHeight() / 2.0);
+    if (rescale || screenLocation == null || screenLocation.distance(screenCenter) >= threshold) {
+      overviewMapView.setViewpoint(new Viewpoint(center, scale));
+      RECENTER_COUNT.increment();
+      // the indicator has moved on screen even though it hasn't moved on the map
+      lastIndicatorScreenLocation = null;
+    }
+  }
+
+  /**
+   * Tracks the geo view's velocity and prefetches the tiles covering where the overview is predicted to be shortly, so
+   * they are already in the cache when the overview recenters there.
+   *
+   * @param center the geo view's center
+   * @since 100.2.1
+   */
+  private void prefetch(Point center) {
+    if (tilePrefetcher == null || levelsOfDetail == null) {
+      return;
+    }
+    long time = System.nanoTime();
+    prefetchCenter[0] = center.getX();
+    prefetchCenter[1] = center.getY();
+    MapScreenTransform.project(prefetchCenter, center.getSpatialReference(), tileSpatialReference);
+    double x = prefetchCenter[0];
+    double y = prefetchCenter[1];
+    long interval = time - lastCenterTime;
+    if (lastCenterTime != 0 && interval > 0 && interval < VELOCITY_RESET_INTERVAL) {
+      double seconds = interval / 1.0e9;
+      velocityX += VELOCITY_SMOOTHING * ((x - lastCenterX) / seconds - velocityX);
+      velocityY += VELOCITY_SMOOTHING * ((y - lastCenterY) / seconds - velocityY);
+    } else {
+      velocityX = 0.0;
+      velocityY = 0.0;
+    }
+    lastCenterX = x;
+    lastCenterY = y;
+    lastCenterTime = time;
+
+    double scale = calculateOverviewScale();
+    if (!(scale > 0.0)) {
+      return;
+    }
+    int index = levelsOfDetail.nearestIndex(scale);
+    double resolution = levelsOfDetail.getResolution(index);
+    double halfWidth = overviewMapView.getWidth() * resolution / 2.0;
+    double halfHeight = overviewMapView.getHeight() * resolution / 2.0;
+    double leadX = velocityX * PREFETCH_HORIZON;
+    double leadY = velocityY * PREFETCH_HORIZON;
+    // the overview already requests the tiles around its current extent
+    if (Math.abs(leadX) < halfWidth * PREFETCH_MIN_LEAD && Math.abs(leadY) < halfHeight * PREFETCH_MIN_LEAD) {
+      return;
+    }
+    x += leadX;
+    y += leadY;
+    tilePrefetcher.prefetch(levelsOfDetail.getLevel(index), resolution, x - halfWidth, y - halfHeight, x + halfWidth,
+      y + halfHeight);
+  }
+
+  /**
+   * Starts navigating the geo view when the mouse is pressed on the overview.
+   *
+   * @param e the mouse event
+   * @since 100.2.1
+   */
+  private void navigationStarted(MouseEvent e) {
+    dragTransform = null;
+    OverviewMap control = getSkinnable();
+    if (!control.isNavigationEnabled() || e.getButton() != MouseButton.PRIMARY) {
+      return;
+    }
+    MapScreenTransform transform = getOverlayTransform();
+    Viewpoint viewpoint = control.getGeoView().getCurrentViewpoint(Viewpoint.Type.CENTER_AND_SCALE);
+    Point center = viewpoint != null ? (Point) viewpoint.getTargetGeometry() : null;
+    if (transform == null || center == null) {
+      return;
+    }
+    dragTransform = transform;
+    dragStartCenter[0] = center.getX();
+    dragStartCenter[1] = center.getY();
+    transform.project(dragStartCenter, center.getSpatialReference());
+    dragStartX = transform.toMapX(e.getX());
+    dragStartY = transform.toMapY(e.getY());
+    e.consume();
+  }
+
+  /**
+   * Moves the geo view by the distance the pointer has been dragged on the overview.
+   *
+   * @param e the mouse event
+   * @since 100.2.1
+   */
+  private void navigationDragged(MouseEvent e) {
+    if (dragTransform == null) {
+      return;
+    }
+    double x = dragStartCenter[0] + dragTransform.toMapX(e.getX()) - dragStartX;
+    double y = dragStartCenter[1] + dragTransform.toMapY(e.getY()) - dragStartY;
+    requestNavigation(new Point(x, y, dragTransform.getSpatialReference()));
+    e.consume();
+  }
+
+  /**
+   * Centers the geo view on the point clicked, or finishes a drag.
+   *
+   * @param e the mouse event
+   * @since 100.2.1
+   */
+  private void navigationFinished(MouseEvent e) {
+    if (dragTransform == null) {
+      return;
+    }
+    if (e.isStillSincePress()) {
+      requestNavigation(new Point(dragTransform.toMapX(e.getX()), dragTransform.toMapY(e.getY()),
+        dragTransform.getSpatialReference()));
+    }
+    dragTransform = null;
+    // let the overview catch up now the drag has finished
+    requestSync();
+    e.consume();
+  }
+
+  /**
+   * Records the point the geo view should be centered on. It is sent to the geo view at a bounded rate, and only the
+   * latest point is sent if several are requested in between.
+   *
+   * @param target the point
+   * @since 100.2.1
+   */
+  private void requestNavigation(Point target) {
+    navigationTarget = target;
+    SharedAnimationTimer.add(navigationPulse);
+  }
+
+  /**
+   * Sends the latest navigation target to the geo view once the previous request has completed and enough time has
+   * passed since it was sent.
+   *
+   * @param now the timestamp of the current pulse in nanoseconds
+   * @return true if this needs to be called again on the next pulse
+   * @since 100.2.1
+   */
+  private boolean sendNavigationRequests(long now) {
+    if (navigationTarget == null) {
+      return false;
+    }
+    if ((navigationRequest != null && !navigationRequest.isDone()) ||
+      now - lastNavigationRequest < NAVIGATION_REQUEST_INTERVAL) {
+      return true;
+    }
+    GeoView geoView = getSkinnable().getGeoView();
+    if (geoView instanceof MapView) {
+      navigationRequest = ((MapView) geoView).setViewpointCenterAsync(navigationTarget);
+    } else if (geoView instanceof SceneView) {
+      navigationRequest = moveCamera((SceneView) geoView, navigationTarget);
+    }
+    navigationTarget = null;
+    lastNavigationRequest = now;
+    return false;
+  }
+
+  /**
+   * Moves a scene view's camera so that its target is at a point, keeping the camera's heading, pitch and distance.
+   *
+   * @param sceneView the scene view
+   * @param target the point
+   * @return the future for the camera animation, or null if the scene view doesn't have a viewpoint yet
+   * @since 100.2.1
+   */
+  private static ListenableFuture<Boolean> moveCamera(SceneView sceneView, Point target) {
+    Camera camera = sceneView.getCurrentViewpointCamera();
+    Viewpoint viewpoint = sceneView.getCurrentViewpoint(Viewpoint.Type.CENTER_AND_SCALE);
+    Point current = viewpoint != null ? (Point) viewpoint.getTargetGeometry() : null;
+    if (camera == null || current == null) {
+      return null;
+    }
+    Point location = camera.getLocation();
+    Point projected = (Point) GeometryEngine.project(target, location.getSpatialReference());
+    Point currentProjected = (Point) GeometryEngine.project(current, location.getSpatialReference());
+    Point moved = new Point(location.getX() + projected.getX() - currentProjected.getX(),
+      location.getY() + projected.getY() - currentProjected.getY(), location.getZ(), location.getSpatialReference());
+    return sceneView.setViewpointCameraAsync(camera.moveTo(moved), NAVIGATION_DURATION);
+  }
+
+  /**
+   * Returns the scale the overview should be shown at. This is the geo view's scale multiplied by the control's scale
+   * ratio, snapped to the nearest level of detail of the basemap so that only whole tile levels are requested. If the
+   * scale ratio is not set the overview keeps its current scale.
+   *
+   * @return the scale
+   * @since 100.2.1
+   */
+  private double calculateOverviewScale() {
+    double scaleRatio = getSkinnable().getScaleRatio();
+    if (!(scaleRatio > 0.0) || Double.isNaN(targetScale)) {
+      return overviewMapView.getMapScale();
+    }
+    double scale = targetScale * scaleRatio;
+    return levelsOfDetail != null ? levelsOfDetail.snap(scale) : scale;
+  }
+
+  /**
+   * Calculates the corners of the area shown by a map view into {@link #indicatorCorners}. This gives the same
+   * footprint as the view's visible area without fetching it from the view.
+   *
+   * @param center the center of the map view
+   * @param unitsPerPixel the map units per density independent pixel
+   * @param width the width of the map view
+   * @param height the height of the map view
+   * @param rotation the map rotation in degrees counter-clockwise
+   * @since 100.2.1
+   */
+  private void calculateFootprint(Point center, double unitsPerPixel, double width, double height, double rotation) {
+    double radians = Math.toRadians(rotation);
+    double cos = Math.cos(radians);
+    double sin = Math.sin(radians);
+    double halfWidth = width * unitsPerPixel / 2.0;
+    double halfHeight = height * unitsPerPixel / 2.0;
+
+    // the screen's right and up directions in map coordinates
+    double rightX = cos * halfWidth;
+    double rightY = -sin * halfWidth;
+    double upX = sin * halfHeight;
+    double upY = cos * halfHeight;
+
+    double x = center.getX();
+    double y = center.getY();
+    // top left, top right, bottom right, bottom left
+    indicatorCorners[0] = x - rightX + upX;
+    indicatorCorners[1] = y - rightY + upY;
+    indicatorCorners[2] = x + rightX + upX;
+    indicatorCorners[3] = y + rightY + upY;
+    indicatorCorners[4] = x + rightX - upX;
+    indicatorCorners[5] = y + rightY - upY;
+    indicatorCorners[6] = x - rightX - upX;
+    indicatorCorners[7] = y - rightY - upY;
+  }
+
+  /**
+   * Creates a polygon from {@link #indicatorCorners} using a builder that is reused between updates.
+   *
+   * @param spatialReference the spatial reference of the corners
+   * @return the polygon
+   * @since 100.2.1
+   */
+  private Polygon buildFootprint(SpatialReference spatialReference) {
+    if (indicatorBuilder == null || !spatialReference.equals(indicatorBuilder.getSpatialReference())) {
+      indicatorBuilder = new PolygonBuilder(spatialReference);
+      indicatorBuilder.getParts().add(new Part(spatialReference));
+    }
+    Part part = indicatorBuilder.getParts().get(0);
+    part.clear();
+    for (int i = 0; i < indicatorCorners.length; i += 2) {
+      part.addPoint(indicatorCorners[i], indicatorCorners[i + 1]);
+    }
+    return indicatorBuilder.toGeometry();
+  }
+
+  @Override
+  public void dispose() {
+    showingTracker.dispose();
+    getSkinnable().getGeoView().removeViewpointChangedListener(viewpointChangedListener);
+    PulseScheduler.cancel(syncTask);
+    cancelWakeUp();
+    showing = false;
+    SharedAnimationTimer.remove(navigationPulse);
+    shutdownTilePrefetcher();
+    if (overviewMapView != null) {
+      overviewMapView.dispose();
+    }
+    super.dispose();
   }
 
   @Override
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.esri.arcgisruntime.toolkit.skins;
+
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.esri.arcgisruntime.toolkit.MetricsRegistry;
+
+/**
+ * Runs deferrable toolkit work on JavaFX pulses within a time budget, so that housekeeping in the toolkit's controls
+ * never takes up a whole frame while the user is interacting with a view. Tasks are run in priority order, first in
+ * first out within a priority, until the pulse's budget is used up; the rest wait for the next pulse. At least one
+ * task is run on every pulse so work is never starved.
+ *
+ * <p>A task that is already waiting is not queued again, so submitting the same task on every event coalesces the
+ * events into a single run. A task submitted while the scheduler is running tasks waits for the next pulse, which lets
+ * a task resubmit itself to continue on the next pulse.
+ *
+ * <p>Work that must respond on every frame, such as following the pointer during a drag, should use the
+ * {@link SharedAnimationTimer} directly instead.
+ *
+ * <p>All methods must be called on the JavaFX application thread.
+ *
+ * @since 100.2.1
+ */
+final class PulseScheduler {
+
+  /**
+   * The order tasks are run in.
+   *
+   * @since 100.2.1
+   */
+  enum Priority {
+    /**
+     * Work the user sees straight away, such as updating an indicator.
+     *
+     * @since 100.2.1
+     */
+    HIGH,
+    /**
+     * Ordinary updates of the controls.
+     *
+     * @since 100.2.1
+     */
+    NORMAL,
+    /**
+     * Housekeeping that can wait, such as starting a fade.
+     *
+     * @since 100.2.1
+     */
+    LOW,
+  }
+
+  // time each pulse can spend running tasks, well within a 60 fps frame so the view's own rendering isn't delayed
+  private static final long PULSE_BUDGET = TimeUnit.MILLISECONDS.toNanos(4);
+
+  private static final Priority[] PRIORITIES = Priority.values();
+
+  // waiting tasks for each priority
+  @SuppressWarnings("unchecked")
+  private static final ArrayDeque<Runnable>[] QUEUES = new ArrayDeque[PRIORITIES.length];
+
+  static {
+    for (int i = 0; i < QUEUES.length; i++) {
+      QUEUES[i] = new ArrayDeque<>();
+    }
+  }
+
+  // the pulse each waiting task was submitted in, so tasks submitted while running wait for the next pulse
+  private static final Map<Runnable, Long> SUBMITTED = new IdentityHashMap<>();
+
+  private static long pulseNumber = 0;
+
+  private static final SharedAnimationTimer.PulseListener PULSE = PulseScheduler::pulse;
+
+  // metrics for all the toolkit's scheduled work
+  private static final MetricsRegistry.Counter TASK_COUNT = MetricsRegistry.getDefault().counter("scheduler.tasks");
+  private static final MetricsRegistry.Counter DEFERRED_PULSE_COUNT =
+    MetricsRegistry.getDefault().counter("scheduler.pulses.deferred");
+  private static final MetricsRegistry.Histogram PULSE_TIME =
+    MetricsRegistry.getDefault().durationHistogram("scheduler.pulse.nanos");
+
+  /**
+   * Private constructor as this class is not meant to be instantiated.
+   *
+   * @since 100.2.1
+   */
+  private PulseScheduler() {
+  }
+
+  /**
+   * Submits a task to run on a coming pulse. Submitting a task that is already waiting has no effect, it keeps its
+   * place and priority.
+   *
+   * @param task the task
+   * @param priority the priority
+   * @since 100.2.1
+   */
+  static void submit(Runnable task, Priority priority) {
+    if (!SUBMITTED.containsKey(task)) {
+      SUBMITTED.put(task, pulseNumber);
+      QUEUES[priority.ordinal()].addLast(task);
+      SharedAnimationTimer.add(PULSE);
+    }
+  }
+
+  /**
+   * Cancels a waiting task.
+   *
+   * @param task the task
+   * @since 100.2.1
+   */
+  static void cancel(Runnable task) {
+    if (SUBMITTED.remove(task) != null) {
+      for (ArrayDeque<Runnable> queue : QUEUES) {
+        if (queue.remove(task)) {
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Runs waiting tasks in priority order until the budget is used up. Package private so that tests can drive pulses
+   * without a running JavaFX toolkit.
+   *
+   * @param now the timestamp of the current pulse in nanoseconds
+   * @return true if tasks are still waiting
+   * @since 100.2.1
+   */
+  static boolean pulse(long now) {
+    long start = System.nanoTime();
+    long pulse = ++pulseNumber;
+    boolean ranTask = false;
+    for (ArrayDeque<Runnable> queue : QUEUES) {
+      Runnable task;
+      while ((task = queue.peekFirst()) != null && SUBMITTED.get(task) < pulse) {
+        if (ranTask && System.nanoTime() - start >= PULSE_BUDGET) {
+          DEFERRED_PULSE_COUNT.increment();
+          PULSE_TIME.recordSince(start);
+          return true;
+        }
+        queue.pollFirst();
+        SUBMITTED.remove(task);
+        run(task);
+        ranTask = true;
+      }
+    }
+    PULSE_TIME.recordSince(start);
+    return !SUBMITTED.isEmpty();
+  }
+
+  /**
+   * Runs a task, passing any exception it throws to the thread's uncaught exception handler so one failing task doesn't
+   * stop the others.
+   *
+   * @param task the task
+   * @since 100.2.1
+   */
+  private static void run(Runnable task) {
+    TASK_COUNT.increment();
+    try {
+      task.run();
+    } catch (RuntimeException e) {
+      Thread thread = Thread.currentThread();
+      thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+    }
+  }
+}
@@ -0,0 +1,580 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.esri.arcgisruntime.toolkit.skins;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.esri.arcgisruntime.geometry.GeometryEngine;
+import com.esri.arcgisruntime.geometry.Multipoint;
+import com.esri.arcgisruntime.geometry.Point;
+import com.esri.arcgisruntime.geometry.PointCollection;
+import com.esri.arcgisruntime.geometry.SpatialReference;
+import com.esri.arcgisruntime.geometry.SpatialReferences;
+import com.esri.arcgisruntime.mapping.view.MapView;
+import com.esri.arcgisruntime.mapping.view.ViewpointChangedListener;
+import com.esri.arcgisruntime.toolkit.MetricsRegistry;
+import com.esri.arcgisruntime.toolkit.ScaleDistortionOverlay;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.geometry.HPos;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.SkinBase;
+import javafx.scene.paint.Color;
+
+/**
+ * Implements a skin for the {@link ScaleDistortionOverlay} control.
+ *
+ * <p>The map is divided into square tiles of sample cells on a grid of power of two cell sizes in map units, so tiles
+ * stay valid while the map is panned and are reused when it returns to a zoom level. Tiles hold the ground distance
+ * covered by one map unit along each cell, which doesn't depend on the view, and are colored relative to the center
+ * of the view when they are drawn. Tiles of Web Mercator and geographic maps are cheap to compute, they are computed
+ * on the JavaFX application thread when they are drawn and nothing of theirs runs in parallel. Only tiles of other
+ * maps, which need the geometry engine, are computed on the fork-join common pool. They are drawn as they arrive, with
+ * the tile of the next coarser level drawn in their place until then. Tiles that are no longer visible by the time the
+ * pool gets to them are dropped, and tiles that can't be computed are remembered as empty so they aren't requested
+ * again.
+ *
+ * @since 100.2.1
+ */
+public final class ScaleDistortionOverlaySkin extends SkinBase<ScaleDistortionOverlay> {
+
+  // the smallest size of a sample cell in pixels, and the number of cells along the side of a tile
+  private static final int CELL_SIZE = 16;
+  private static final int TILE_CELLS = 16;
+  private static final int MAX_CACHED_TILES = 512;
+
+  // cached in place of a tile that could not be computed, it draws nothing
+  private static final float[] FAILED_TILE = new float[0];
+
+  // the distortion shown at full opacity, the width of each color band and the opacity of the strongest band
+  private static final double MAX_DISTORTION = 0.5;
+  private static final double BAND_INTERVAL = 0.05;
+  private static final double MAX_OPACITY = 0.5;
+
+  // the number of rows of a tile computed by a task before it is split
+  private static final int ROWS_PER_TASK = 4;
+
+  // WGS 84 ellipsoid
+  private static final double SEMI_MAJOR_AXIS = 6378137.0;
+  private static final double ECCENTRICITY_SQUARED = 0.00669437999014;
+
+  // the colors of the bands, indexed by the band number
+  private static final Color[] OVER_COLORS = createBandColors(Color.RED);
+  private static final Color[] UNDER_COLORS = createBandColors(Color.BLUE);
+
+  // metrics reported by all overlays
+  private static final MetricsRegistry.Counter TILE_COUNT =
+    MetricsRegistry.getDefault().counter("scaledistortion.tiles");
+  private static final MetricsRegistry.Histogram TILE_TIME =
+    MetricsRegistry.getDefault().durationHistogram("scaledistortion.tile.nanos");
+
+  private final Canvas canvas = new Canvas();
+
+  // computed tiles in least recently used order, and tiles being computed; both only used on the application thread
+  private final LinkedHashMap<TileKey, float[]> tiles = new LinkedHashMap<TileKey, float[]>(64, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<TileKey, float[]> eldest) {
+      return size() > MAX_CACHED_TILES;
+    }
+  };
+  private final Set<TileKey> pendingTiles = new HashSet<>();
+  private boolean disposed = false;
+
+  // the missing tiles of the last redraw, read by the pool's threads to drop requests for tiles no longer visible
+  private volatile Set<TileKey> wantedTiles = Collections.emptySet();
+
+  // redraws are scheduled so that many viewpoint changes and arriving tiles in a frame cause one redraw
+  private final Runnable redrawTask = this::redraw;
+  private final ViewpointChangedListener viewpointChangedListener =
+    v -> PulseScheduler.submit(redrawTask, PulseScheduler.Priority.NORMAL);
+  private final InvalidationListener sizeListener =
+    observable -> PulseScheduler.submit(redrawTask, PulseScheduler.Priority.NORMAL);
+
+  /**
+   * Creates an instance of the skin.
+   *
+   * @param control the {@link ScaleDistortionOverlay} control this skin represents
+   * @since 100.2.1
+   */
+  public ScaleDistortionOverlaySkin(ScaleDistortionOverlay control) {
+    super(control);
+
+    MapView mapView = control.getMapView();
+    mapView.addViewpointChangedListener(viewpointChangedListener);
+    mapView.widthProperty().addListener(sizeListener);
+    mapView.heightProperty().addListener(sizeListener);
+
+    getChildren().add(canvas);
+  }
+
+  @Override
+  public void dispose() {
+    MapView mapView = getSkinnable().getMapView();
+    mapView.removeViewpointChangedListener(viewpointChangedListener);
+    mapView.widthProperty().removeListener(sizeListener);
+    mapView.heightProperty().removeListener(sizeListener);
+    PulseScheduler.cancel(redrawTask);
+    disposed = true;
+    wantedTiles = Collections.emptySet();
+    tiles.clear();
+    pendingTiles.clear();
+    super.dispose();
+  }
+
+  @Override
+  protected void layoutChildren(double contentX, double contentY, double contentWidth, double contentHeight) {
+    if (canvas.getWidth() != contentWidth || canvas.getHeight() != contentHeight) {
+      canvas.setWidth(contentWidth);
+      canvas.setHeight(contentHeight);
+      PulseScheduler.submit(redrawTask, PulseScheduler.Priority.NORMAL);
+    }
+    layoutInArea(canvas, contentX, contentY, contentWidth, contentHeight, -1, HPos.LEFT, VPos.TOP);
+  }
+
+  @Override
+  protected double computePrefWidth(double height, double topInset, double rightInset, double bottomInset,
+    double leftInset) {
+    return getSkinnable().getMapView().getWidth();
+  }
+
+  @Override
+  protected double computePrefHeight(double width, double topInset, double rightInset, double bottomInset,
+    double leftInset) {
+    return getSkinnable().getMapView().getHeight();
+  }
+
+  /**
+   * Redraws the overlay from the computed tiles, and computes or starts computing any visible tiles that are missing.
+   *
+   * @since 100.2.1
+   */
+  private void redraw() {
+    GraphicsContext graphicsContext = canvas.getGraphicsContext2D();
+    graphicsContext.clearRect(0.0, 0.0, canvas.getWidth(), canvas.getHeight());
+    wantedTiles = Collections.emptySet();
+
+    MapView mapView = getSkinnable().getMapView();
+    double width = mapView.getWidth();
+    double height = mapView.getHeight();
+    MapScreenTransform transform = mapView.getMapRotation() == 0.0 ? MapScreenTransform.capture(mapView) : null;
+    if (transform == null || width <= 0.0 || height <= 0.0) {
+      return;
+    }
+    SpatialReference spatialReference = transform.getSpatialReference();
+
+    // choose the power of two cell size that gives cells of at least the minimum size on screen
+    int level = Math.getExponent(CELL_SIZE * transform.getUnitsPerPixel()) + 1;
+    double cellSize = Math.scalb(1.0, level);
+
+    // the ground distance covered by one map unit at the center is what a scalebar shows
+    float[] reference = new float[1];
+    double centerX = transform.toMapX(width / 2.0);
+    double centerY = transform.toMapY(height / 2.0);
+    sampleRow(spatialReference, centerX - cellSize / 2.0, centerY, cellSize, 1, reference, 0);
+    if (!(reference[0] > 0.0f)) {
+      return;
+    }
+
+    // find the visible tiles, draw the ones already computed or cheap to compute, and request the others with their
+    // parent as a stand in; the tiles to draw are held here as the cache may evict them while missing ones are added
+    boolean analytic = isAnalytic(spatialReference);
+    double tileSize = cellSize * TILE_CELLS;
+    long columnMin = (long) Math.floor(transform.toMapX(0.0) / tileSize);
+    long columnMax = (long) Math.floor(transform.toMapX(width) / tileSize);
+    long rowMin = (long) Math.floor(transform.toMapY(height) / tileSize);
+    long rowMax = (long) Math.floor(transform.toMapY(0.0) / tileSize);
+    Map<TileKey, float[]> computed = new LinkedHashMap<>();
+    Map<TileKey, float[]> standIns = new LinkedHashMap<>();
+    Set<TileKey> missing = new HashSet<>();
+    for (long row = rowMin; row <= rowMax; row++) {
+      for (long column = columnMin; column <= columnMax; column++) {
+        TileKey key = new TileKey(spatialReference, level, column, row);
+        float[] samples = tiles.get(key);
+        if (samples == null && analytic) {
+          samples = computeTile(key);
+          tiles.put(key, samples);
+        }
+        if (samples != null) {
+          computed.put(key, samples);
+        } else {
+          missing.add(key);
+          TileKey parent = new TileKey(spatialReference, level + 1, Math.floorDiv(column, 2), Math.floorDiv(row, 2));
+          float[] parentSamples = tiles.get(parent);
+          if (parentSamples != null) {
+            standIns.put(parent, parentSamples);
+          }
+        }
+      }
+    }
+    wantedTiles = missing;
+    for (TileKey key : missing) {
+      requestTile(key);
+    }
+    for (Map.Entry<TileKey, float[]> entry : standIns.entrySet()) {
+      drawTile(graphicsContext, transform, entry.getKey(), entry.getValue(), reference[0]);
+    }
+    for (Map.Entry<TileKey, float[]> entry : computed.entrySet()) {
+      drawTile(graphicsContext, transform, entry.getKey(), entry.getValue(), reference[0]);
+    }
+  }
+
+  /**
+   * Draws the cells of a tile colored by how much their ground scale differs from the reference.
+   *
+   * @param graphicsContext the canvas graphics context
+   * @param transform the transform of the map view
+   * @param key the tile
+   * @param samples the ground distance covered by one map unit in each cell
+   * @param reference the ground distance covered by one map unit at the center of the view
+   * @since 100.2.1
+   */
+  private static void drawTile(GraphicsContext graphicsContext, MapScreenTransform transform, TileKey key,
+    float[] samples, float reference) {
+    if (samples == FAILED_TILE) {
+      return;
+    }
+    double cellSize = Math.scalb(1.0, key.level);
+    double originX = key.column * cellSize * TILE_CELLS;
+    double originY = key.row * cellSize * TILE_CELLS;
+    double cellPixels = cellSize / transform.getUnitsPerPixel();
+    for (int j = 0; j < TILE_CELLS; j++) {
+      // rows go up the map from the bottom of the tile, the top edge is the screen y of the cell
+      double screenY = transform.toScreenY(originY + (j + 1) * cellSize);
+      for (int i = 0; i < TILE_CELLS; i++) {
+        double distortion = samples[j * TILE_CELLS + i] / reference - 1.0;
+        int band = (int) Math.min(OVER_COLORS.length - 1, Math.round(Math.abs(distortion) / BAND_INTERVAL));
+        if (band > 0) {
+          graphicsContext.setFill(distortion > 0.0 ? OVER_COLORS[band] : UNDER_COLORS[band]);
+          graphicsContext.fillRect(transform.toScreenX(originX + i * cellSize), screenY, cellPixels, cellPixels);
+        }
+      }
+    }
+  }
+
+  /**
+   * Starts computing a tile on the fork-join pool unless it is already being computed.
+   *
+   * @param key the tile
+   * @since 100.2.1
+   */
+  private void requestTile(TileKey key) {
+    if (pendingTiles.add(key)) {
+      ForkJoinPool.commonPool().execute(new TileTask(key));
+    }
+  }
+
+  /**
+   * Stores a computed tile and schedules a redraw. Called on the JavaFX application thread.
+   *
+   * @param key the tile
+   * @param samples the samples of the tile, {@link #FAILED_TILE} if it could not be computed, or null if it was dropped
+   * @param dropped true if the tile was dropped because it wasn't visible any more
+   * @since 100.2.1
+   */
+  private void tileComputed(TileKey key, float[] samples, boolean dropped) {
+    if (disposed) {
+      return;
+    }
+    pendingTiles.remove(key);
+    if (samples == FAILED_TILE) {
+      // the spatial reference can't be projected here, remember that so the tile isn't requested on every redraw
+      tiles.put(key, samples);
+    } else if (samples != null) {
+      tiles.put(key, samples);
+      PulseScheduler.submit(redrawTask, PulseScheduler.Priority.NORMAL);
+    } else if (dropped && wantedTiles.contains(key)) {
+      // the tile came back into view after it was dropped, request it again
+      PulseScheduler.submit(redrawTask, PulseScheduler.Priority.NORMAL);
+    }
+  }
+
+  /**
+   * Returns true if the tiles of a spatial reference are sampled with formulas rather than the geometry engine.
+   *
+   * @param spatialReference the spatial reference of the map
+   * @return true for Web Mercator and geographic spatial references
+   * @since 100.2.1
+   */
+  private static boolean isAnalytic(SpatialReference spatialReference) {
+    return MapScreenTransform.isWebMercator(spatialReference) || spatialReference.isGeographic();
+  }
+
+  /**
+   * Computes all the samples of a tile on the calling thread.
+   *
+   * @param key the tile
+   * @return the samples of the tile
+   * @since 100.2.1
+   */
+  private static float[] computeTile(TileKey key) {
+    long start = System.nanoTime();
+    float[] samples = new float[TILE_CELLS * TILE_CELLS];
+    sampleRows(key, samples, 0, TILE_CELLS);
+    TILE_COUNT.increment();
+    TILE_TIME.recordSince(start);
+    return samples;
+  }
+
+  /**
+   * Computes a range of rows of a tile.
+   *
+   * @param key the tile
+   * @param samples the samples of the whole tile
+   * @param rowStart the first row to compute
+   * @param rowEnd the row after the last row to compute
+   * @since 100.2.1
+   */
+  private static void sampleRows(TileKey key, float[] samples, int rowStart, int rowEnd) {
+    double cellSize = Math.scalb(1.0, key.level);
+    double originX = key.column * cellSize * TILE_CELLS;
+    double originY = key.row * cellSize * TILE_CELLS;
+    for (int j = rowStart; j < rowEnd; j++) {
+      sampleRow(key.spatialReference, originX, originY + (j + 0.5) * cellSize, cellSize, TILE_CELLS, samples,
+        j * TILE_CELLS);
+    }
+  }
+
+  /**
+   * Samples the ground distance covered by one map unit along a row of cells. Web Mercator and geographic coordinates
+   * are sampled with formulas on the WGS 84 ellipsoid. Other spatial references are projected to WGS 84 with one call
+   * to the geometry engine for the whole row.
+   *
+   * @param spatialReference the spatial reference of the map
+   * @param x the x coordinate of the left edge of the first cell
+   * @param y the y coordinate of the row
+   * @param cellSize the width of a cell in map units
+   * @param count the number of cells
+   * @param samples the array to write the samples into
+   * @param offset the index of the first sample
+   * @since 100.2.1
+   */
+  private static void sampleRow(SpatialReference spatialReference, double x, double y, double cellSize, int count,
+    float[] samples, int offset) {
+    if (MapScreenTransform.isWebMercator(spatialReference)) {
+      // a map unit along a parallel covers the parallel's radius over the sphere's radius
+      double latitude = Math.PI / 2.0 - 2.0 * Math.atan(Math.exp(-y / SEMI_MAJOR_AXIS));
+      float sample = (float) (parallelRadius(latitude) / SEMI_MAJOR_AXIS);
+      for (int i = 0; i < count; i++) {
+        samples[offset + i] = sample;
+      }
+    } else if (spatialReference.isGeographic()) {
+      // a degree along a parallel covers the parallel's radius times a degree in radians
+      float sample = (float) (parallelRadius(Math.toRadians(y)) * Math.PI / 180.0);
+      for (int i = 0; i < count; i++) {
+        samples[offset + i] = sample;
+      }
+    } else {
+      // project the cell edges in one batch and measure between them on the ellipsoid
+      PointCollection points = new PointCollection(spatialReference);
+      for (int i = 0; i <= count; i++) {
+        points.add(x + i * cellSize, y);
+      }
+      Multipoint projected = (Multipoint) GeometryEngine.project(new Multipoint(points), SpatialReferences.getWgs84());
+      Point previous = null;
+      int i = 0;
+      for (Point point : projected.getPoints()) {
+        if (previous != null) {
+          samples[offset + i++] = (float) (groundDistance(previous, point) / cellSize);
+        }
+        previous = point;
+      }
+    }
+  }
+
+  /**
+   * Returns the radius of a parallel on the WGS 84 ellipsoid.
+   *
+   * @param latitude the latitude in radians
+   * @return the radius in meters
+   * @since 100.2.1
+   */
+  private static double parallelRadius(double latitude) {
+    double sin = Math.sin(latitude);
+    return SEMI_MAJOR_AXIS * Math.cos(latitude) / Math.sqrt(1.0 - ECCENTRICITY_SQUARED * sin * sin);
+  }
+
+  /**
+   * Returns the distance on the WGS 84 ellipsoid between two nearby points, using the ellipsoid's radii of curvature at
+   * their mean latitude. This is accurate for the short distances across a cell.
+   *
+   * @param from the first point in WGS 84
+   * @param to the second point in WGS 84
+   * @return the distance in meters
+   * @since 100.2.1
+   */
+  private static double groundDistance(Point from, Point to) {
+    double latitude = Math.toRadians((from.getY() + to.getY()) / 2.0);
+    double sin = Math.sin(latitude);
+    double w = 1.0 - ECCENTRICITY_SQUARED * sin * sin;
+    double meridianRadius = SEMI_MAJOR_AXIS * (1.0 - ECCENTRICITY_SQUARED) / (w * Math.sqrt(w));
+    double longitudeDelta = Math.IEEEremainder(to.getX() - from.getX(), 360.0);
+    double east = parallelRadius(latitude) * Math.toRadians(longitudeDelta);
+    double north = meridianRadius * Math.toRadians(to.getY() - from.getY());
+    return Math.hypot(east, north);
+  }
+
+  /**
+   * Creates the colors of the distortion bands, from transparent for no distortion to the color at the maximum
+   * opacity.
+   *
+   * @param color the color
+   * @return the band colors
+   * @since 100.2.1
+   */
+  private static Color[] createBandColors(Color color) {
+    int bands = (int) Math.round(MAX_DISTORTION / BAND_INTERVAL) + 1;
+    Color[] colors = new Color[bands];
+    for (int i = 0; i < bands; i++) {
+      colors[i] = Color.color(color.getRed(), color.getGreen(), color.getBlue(), MAX_OPACITY * i / (bands - 1));
+    }
+    return colors;
+  }
+
+  /**
+   * Identifies a tile by its spatial reference, cell size level, column and row.
+   *
+   * @since 100.2.1
+   */
+  private static final class TileKey {
+
+    private final SpatialReference spatialReference;
+    private final int level;
+    private final long column;
+    private final long row;
+
+    /**
+     * Creates a tile key.
+     *
+     * @param spatialReference the spatial reference of the map
+     * @param level the power of two of the cell size in map units
+     * @param column the column of the tile
+     * @param row the row of the tile, increasing up the map
+     * @since 100.2.1
+     */
+    TileKey(SpatialReference spatialReference, int level, long column, long row) {
+      this.spatialReference = spatialReference;
+      this.level = level;
+      this.column = column;
+      this.row = row;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof TileKey)) {
+        return false;
+      }
+      TileKey other = (TileKey) o;
+      return level == other.level && column == other.column && row == other.row &&
+        spatialReference.equals(other.spatialReference);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(spatialReference, level, column, row);
+    }
+  }
+
+  /**
+   * Computes the samples of a tile, splitting its rows between the pool's threads, then hands the tile back to the
+   * application thread. The tile is dropped without computing it if it isn't visible any more.
+   *
+   * @since 100.2.1
+   */
+  private final class TileTask extends RecursiveAction {
+
+    private final TileKey key;
+
+    /**
+     * Creates a task.
+     *
+     * @param key the tile to compute
+     * @since 100.2.1
+     */
+    TileTask(TileKey key) {
+      this.key = key;
+    }
+
+    @Override
+    protected void compute() {
+      if (!wantedTiles.contains(key)) {
+        Platform.runLater(() -> tileComputed(key, null, true));
+        return;
+      }
+      long start = System.nanoTime();
+      float[] samples = new float[TILE_CELLS * TILE_CELLS];
+      try {
+        new RowsTask(key, samples, 0, TILE_CELLS).invoke();
+        TILE_COUNT.increment();
+        TILE_TIME.recordSince(start);
+      } catch (RuntimeException e) {
+        samples = FAILED_TILE;
+      }
+      float[] result = samples;
+      Platform.runLater(() -> tileComputed(key, result, false));
+    }
+  }
+
+  /**
+   * Computes a range of rows of a tile, splitting the range in half while it is larger than {@link #ROWS_PER_TASK}.
+   *
+   * @since 100.2.1
+   */
+  private static final class RowsTask extends RecursiveAction {
+
+    private final TileKey key;
+    private final float[] samples;
+    private final int rowStart;
+    private final int rowEnd;
+
+    /**
+     * Creates a task.
+     *
+     * @param key the tile
+     * @param samples the samples of the whole tile
+     * @param rowStart the first row to compute
+     * @param rowEnd the row after the last row to compute
+     * @since 100.2.1
+     */
+    RowsTask(TileKey key, float[] samples, int rowStart, int rowEnd) {
+      this.key = key;
+      this.samples = samples;
+      this.rowStart = rowStart;
+      this.rowEnd = rowEnd;
+    }
+
+    @Override
+    protected void compute() {
+      if (rowEnd - rowStart > ROWS_PER_TASK) {
+        int middle = (rowStart + rowEnd) >>> 1;
+        invokeAll(new RowsTask(key, samples, rowStart, middle), new RowsTask(key, samples, middle, rowEnd));
+        return;
+      }
+      sampleRows(key, samples, rowStart, rowEnd);
+    }
+  }
+}
@@ -26,18 +26,31 @@ import com.esri.arcgisruntime.geometry.Polygon;
 import com.esri.arcgisruntime.geometry.PolylineBuilder;
 import com.esri.arcgisruntime.mapping.view.MapView;
 import com.esri.arcgisruntime.mapping.view.ViewpointChangedListener;
+import com.esri.arcgisruntime.toolkit.MetricsRegistry;
 import com.esri.arcgisruntime.toolkit.Scalebar;
+import com.esri.arcgisruntime.toolkit.ScalebarImageCache;
+import com.esri.arcgisruntime.toolkit.ToolkitResources;
+import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
 import javafx.beans.value.ChangeListener;
+import javafx.geometry.Bounds;
 import javafx.geometry.HPos;
 import javafx.geometry.Pos;
 import javafx.geometry.VPos;
 import javafx.scene.Group;
+import javafx.scene.Node;
 import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.control.Label;
+import javafx.scene.control.Labeled;
 import javafx.scene.control.SkinBase;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.WritableImage;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
 
 /**
  * Base class for the skins that visualize the scalebar.
@@ -55,6 +68,13 @@ public abstract class ScalebarSkin extends SkinBase<Scalebar> {
   final static Color ALTERNATE_FILL_COLOR = Color.BLACK;
   final static Color SHADOW_COLOR = Color.rgb(0x6E, 0x84, 0x8D);
   final static Color TEXT_COLOR = Color.BLACK;
+  // the space either side of a label when working out how many labels fit along the scalebar
+  final static double LABEL_PADDING = 10.0;
+
+  // metrics reported by all scalebars
+  private static final MetricsRegistry.Counter UPDATE_COUNT = MetricsRegistry.getDefault().counter("scalebar.updates");
+  private static final MetricsRegistry.Histogram UPDATE_TIME =
+    MetricsRegistry.getDefault().durationHistogram("scalebar.update.nanos");
 
   private boolean invalid = true;
   private final VBox vBox = new VBox();
@@ -62,19 +82,42 @@ public abstract class ScalebarSkin extends SkinBase<Scalebar> {
   private UnitSystem unitSystem;
   private LinearUnit baseUnit;
   private HPos alignment = HPos.CENTER;
-
-  private final ViewpointChangedListener viewpointChangedListener = v -> invalidated();
+  private final Scalebar.LabelMode labelMode;
+  private Font font;
+  private GlyphAdvances glyphAdvances;
+
+  // shows a cached image of the scalebar in place of the VBox, and the key of an update waiting to be cached
+  private final ImageView cachedImageView = new ImageView();
+  private final Runnable cacheTask = this::cacheImage;
+  private String pendingCacheKey;
+  private boolean cacheHit;
+  // the number of segments drawn by the last update, reported in flight recorder events
+  private int segmentCount = 1;
+
+  // viewpoint changes can come many times per frame, so the scalebar is invalidated by a scheduled task which coalesces
+  // them and is deferred if the frame is busy
+  private final Runnable viewpointInvalidation = this::invalidated;
+  private final ViewpointChangedListener viewpointChangedListener =
+    v -> PulseScheduler.submit(viewpointInvalidation, PulseScheduler.Priority.NORMAL);
 
   private final ChangeListener<UnitSystem> unitsChangedListener = (observable, oldValue, newValue) -> {
     updateUnits(newValue);
     invalidated();
   };
 
+  // held in a field so the same instance is removed as was added
+  private final InvalidationListener invalidationListener = this::invalidated;
+
   private final ChangeListener<HPos> alignmentChangedListener = (observable, oldValue, newValue) -> {
     alignment = newValue;
     invalidated();
   };
 
+  private final ChangeListener<Font> fontChangedListener = (observable, oldValue, newValue) -> {
+    updateFont(newValue);
+    invalidated();
+  };
+
   /**
    * Constructs a skin.
    *
@@ -85,33 +128,42 @@ public abstract class ScalebarSkin extends SkinBase<Scalebar> {
     super(control);
 
     // add listeners for things that cause the scalebar to change
-    control.widthProperty().addListener(this::invalidated);
-    control.heightProperty().addListener(this::invalidated);
+    control.widthProperty().addListener(invalidationListener);
+    control.heightProperty().addListener(invalidationListener);
     control.mapViewProperty().get().addViewpointChangedListener(viewpointChangedListener);
-    control.mapViewProperty().get().widthProperty().addListener(this::invalidated);
-    control.mapViewProperty().get().heightProperty().addListener(this::invalidated);
+    control.mapViewProperty().get().widthProperty().addListener(invalidationListener);
+    control.mapViewProperty().get().heightProperty().addListener(invalidationListener);
     control.unitSystemProperty().addListener(unitsChangedListener);
     control.alignmentProperty().addListener(alignmentChangedListener);
+    control.fontProperty().addListener(fontChangedListener);
+    control.imageCacheProperty().addListener(invalidationListener);
 
     updateUnits(control.getUnitSystem());
     alignment = control.getAlignment();
+    labelMode = control.getLabelMode();
+    updateFont(control.getFont());
 
     // Subclasses will add their nodes into this VBox. A VBox is used since each scalebar type consists of vertically
     // arranged elements e.g. a line with a distance label below.
     vBox.setAlignment(Pos.CENTER);
-    getChildren().add(vBox);
+    cachedImageView.setVisible(false);
+    getChildren().addAll(vBox, cachedImageView);
   }
 
   @Override
   public void dispose() {
     // remove listeners when this skin is being disposed
-    getSkinnable().widthProperty().removeListener(this::invalidated);
-    getSkinnable().heightProperty().removeListener(this::invalidated);
+    getSkinnable().widthProperty().removeListener(invalidationListener);
+    getSkinnable().heightProperty().removeListener(invalidationListener);
     getSkinnable().mapViewProperty().get().removeViewpointChangedListener(viewpointChangedListener);
-    getSkinnable().mapViewProperty().get().widthProperty().removeListener(this::invalidated);
-    getSkinnable().mapViewProperty().get().heightProperty().removeListener(this::invalidated);
+    getSkinnable().mapViewProperty().get().widthProperty().removeListener(invalidationListener);
+    getSkinnable().mapViewProperty().get().heightProperty().removeListener(invalidationListener);
     getSkinnable().unitSystemProperty().removeListener(unitsChangedListener);
     getSkinnable().alignmentProperty().removeListener(alignmentChangedListener);
+    getSkinnable().fontProperty().removeListener(fontChangedListener);
+    getSkinnable().imageCacheProperty().removeListener(invalidationListener);
+    PulseScheduler.cancel(viewpointInvalidation);
+    PulseScheduler.cancel(cacheTask);
 
     vBox.getChildren().clear();
   }
@@ -128,10 +180,22 @@ public abstract class ScalebarSkin extends SkinBase<Scalebar> {
   @Override
   protected void layoutChildren(double contentX, double contentY, double contentWidth, double contentHeight) {
     if (invalid) {
+      Object event = ToolkitEvents.beginScalebarUpdate();
+      long start = System.nanoTime();
+      cacheHit = false;
+      pendingCacheKey = null;
       update(contentWidth, contentHeight);
       invalid = false;
+      UPDATE_COUNT.increment();
+      UPDATE_TIME.recordSince(start);
+      ToolkitEvents.endScalebarUpdate(event, getSkinnable(), getClass().getSimpleName(), segmentCount, cacheHit);
+      if (pendingCacheKey != null) {
+        // the image is taken once this layout has finished
+        PulseScheduler.submit(cacheTask, PulseScheduler.Priority.LOW);
+      }
     }
-    getChildren().forEach(c -> layoutInArea(c, contentX, contentY, contentWidth, contentHeight, -1, HPos.CENTER, VPos.CENTER));
+    // the cached image view is positioned where the VBox was when the image was taken
+    layoutInArea(vBox, contentX, contentY, contentWidth, contentHeight, -1, HPos.CENTER, VPos.CENTER);
   }
 
   /**
@@ -144,6 +208,16 @@ public abstract class ScalebarSkin extends SkinBase<Scalebar> {
    */
   protected abstract double calculateAvailableWidth(double width);
 
+  /**
+   * Records the number of segments drawn by an update, for skins that divide the scalebar into segments.
+   *
+   * @param segmentCount the number of segments
+   * @since 100.2.1
+   */
+  void setSegmentCount(int segmentCount) {
+    this.segmentCount = segmentCount;
+  }
+
     /**
    * Returns the VBox that is used to contain all the scalebar nodes.
      *
@@ -192,15 +266,126 @@ public abstract class ScalebarSkin extends SkinBase<Scalebar> {
    * @since 100.2.1
    */
   Region calculateRegion(Region region) {
+    Object event = ToolkitEvents.beginTextMeasurement();
     Group root = new Group();
     Scene placeholderScene = new Scene(root);
     root.getChildren().add(region);
     root.applyCss();
     root.layout();
+    ToolkitEvents.endTextMeasurement(event, getSkinnable(),
+      region instanceof Labeled ? ((Labeled) region).getText() : null);
 
     return region;
   }
 
+  /**
+   * Shows a cached image of the scalebar if one has been taken of the same contents at the same size. Otherwise an
+   * image is taken once the skin has built its nodes, if the scalebar has an image cache. Skins call this from
+   * {@link #update(double, double)} once they know what they will draw.
+   *
+   * @param width the width given to update
+   * @param height the height given to update
+   * @param displayWidth the width of the scalebar's line or bar
+   * @param labels the text of the scalebar's labels and anything else that changes what the skin draws
+   * @return true if a cached image is shown and the skin doesn't need to build its nodes
+   * @since 100.2.1
+   */
+  boolean showCachedImage(double width, double height, double displayWidth, String labels) {
+    cachedImageView.setVisible(false);
+    cachedImageView.setImage(null);
+    ScalebarImageCache imageCache = getSkinnable().getImageCache();
+    if (imageCache == null) {
+      return false;
+    }
+
+    // the display width is rounded to whole pixels so that revisiting a scale finds its image
+    String key = getClass().getSimpleName() + '|' + alignment + '|' + labelMode + '|' +
+      (labelMode == Scalebar.LabelMode.TEXT ? font : "") + '|' + width + 'x' + height + '|' +
+      Math.round(displayWidth) + '|' + labels;
+    ScalebarImageCache.Entry entry = imageCache.get(key);
+    if (entry == null) {
+      pendingCacheKey = key;
+      return false;
+    }
+    cachedImageView.setImage(entry.getImage());
+    cachedImageView.relocate(entry.getX(), entry.getY());
+    cachedImageView.setVisible(true);
+    vBox.setVisible(false);
+    cacheHit = true;
+    return true;
+  }
+
+  /**
+   * Creates a node for a label, which is a {@link Label} or a {@link Text} depending on the scalebar's label mode.
+   *
+   * @param text the text of the label
+   * @return the label node
+   * @since 100.2.1
+   */
+  Node createLabel(String text) {
+    if (labelMode == Scalebar.LabelMode.TEXT) {
+      Text label = new Text(text);
+      label.setTextOrigin(VPos.TOP);
+      label.setFont(font);
+      label.setFill(TEXT_COLOR);
+      return label;
+    }
+    Label label = new Label(text);
+    label.setTextFill(TEXT_COLOR);
+    return label;
+  }
+
+  /**
+   * Sets the text of a label created by {@link #createLabel(String)}, and brings a text label's font up to date.
+   *
+   * @param label the label node
+   * @param text the text
+   * @since 100.2.1
+   */
+  void setLabelText(Node label, String text) {
+    if (label instanceof Text) {
+      ((Text) label).setText(text);
+      ((Text) label).setFont(font);
+    } else {
+      ((Label) label).setText(text);
+    }
+  }
+
+  /**
+   * Returns the width of a label created by {@link #createLabel(String)}.
+   *
+   * @param label the label node
+   * @return the width
+   * @since 100.2.1
+   */
+  double measureLabel(Node label) {
+    return label instanceof Text ? glyphAdvances.measure(((Text) label).getText()) :
+      calculateRegion((Region) label).getWidth();
+  }
+
+  /**
+   * Returns the width a label showing some text would have.
+   *
+   * @param text the text
+   * @return the width
+   * @since 100.2.1
+   */
+  double measureText(String text) {
+    return labelMode == Scalebar.LabelMode.TEXT ? glyphAdvances.measure(text) :
+      calculateRegion(new Label(text)).getWidth();
+  }
+
+  /**
+   * Returns the height of a label.
+   *
+   * @return the height
+   * @since 100.2.1
+   */
+  double measureTextHeight() {
+    return labelMode == Scalebar.LabelMode.TEXT ? glyphAdvances.getLineHeight() :
+      calculateRegion(new Label()).getHeight();
+  }
+
   /**
    * Calculates a distance on the map view based on the maximum possible scalebar width.
    *
@@ -209,6 +394,7 @@ public abstract class ScalebarSkin extends SkinBase<Scalebar> {
    * @since 100.2.1
    */
   double calculateDistance(MapView mapView, LinearUnit unit, double width) {
+    Object event = ToolkitEvents.beginDistanceQuery();
     double distance = 0.0;
 
     Polygon visibleArea = mapView.getVisibleArea();
@@ -227,6 +413,7 @@ public abstract class ScalebarSkin extends SkinBase<Scalebar> {
         distance = GeometryEngine.lengthGeodetic(polylineBuilder.toGeometry(), unit, GeodeticCurveType.GEODESIC);
       }
     }
+    ToolkitEvents.endDistanceQuery(event, getSkinnable(), width);
 
     return distance;
   }
@@ -296,14 +483,45 @@ public abstract class ScalebarSkin extends SkinBase<Scalebar> {
     this.unitSystem = unitSystem;
     switch (unitSystem) {
       case METRIC:
-        baseUnit = new LinearUnit(LinearUnitId.METERS);
+        baseUnit = ToolkitResources.getLinearUnit(LinearUnitId.METERS);
         break;
       case IMPERIAL:
-        baseUnit = new LinearUnit(LinearUnitId.FEET);
+        baseUnit = ToolkitResources.getLinearUnit(LinearUnitId.FEET);
         break;
     }
   }
 
+  /**
+   * Takes an image of the scalebar built by the last update and adds it to the image cache.
+   *
+   * @since 100.2.1
+   */
+  private void cacheImage() {
+    String key = pendingCacheKey;
+    pendingCacheKey = null;
+    ScalebarImageCache imageCache = getSkinnable().getImageCache();
+    // skip if the scalebar has changed again or has nothing to show
+    if (key == null || imageCache == null || invalid || !vBox.isVisible() || getSkinnable().getScene() == null) {
+      return;
+    }
+    SnapshotParameters parameters = new SnapshotParameters();
+    parameters.setFill(Color.TRANSPARENT);
+    WritableImage image = vBox.snapshot(parameters, null);
+    Bounds bounds = vBox.getBoundsInParent();
+    imageCache.put(key, image, bounds.getMinX(), bounds.getMinY());
+  }
+
+  /**
+   * Updates the font and its character widths used by text labels.
+   *
+   * @param font the new font
+   * @since 100.2.1
+   */
+  private void updateFont(Font font) {
+    this.font = font;
+    glyphAdvances = GlyphAdvances.forFont(font);
+  }
+
   @Override
   protected double computeMinHeight(double width, double topInset, double rightInset, double bottomInset, double
     leftInset) {
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.arcgisruntime.toolkit.skins;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.animation.AnimationTimer;
+
+/**
+ * A single animation timer shared by all the toolkit skins. Rather than every skin running its own timeline, skins add
+ * a {@link PulseListener} which is called once per JavaFX pulse for as long as it has work to do. The underlying timer
+ * is only running while at least one listener is active so an idle toolkit costs nothing per pulse.
+ *
+ * <p>All methods must be called on the JavaFX application thread.
+ *
+ * @since 100.2.1
+ */
+final class SharedAnimationTimer {
+
+  /**
+   * Receives a callback on every pulse while it is active.
+   *
+   * @since 100.2.1
+   */
+  interface PulseListener {
+    /**
+     * Called once per pulse.
+     *
+     * @param now the timestamp of the current pulse in nanoseconds
+     * @return true to be called again on the next pulse, false if there is no more work to do
+     * @since 100.2.1
+     */
+    boolean pulse(long now);
+  }
+
+  // active listeners - entries are nulled rather than removed so listeners can be removed during a pulse
+  private static final List<PulseListener> LISTENERS = new ArrayList<>();
+
+  private static boolean running = false;
+
+  private static final AnimationTimer TIMER = new AnimationTimer() {
+    @Override
+    public void handle(long now) {
+      // go idle when there is nothing left to animate
+      if (!pulse(now)) {
+        stop();
+        running = false;
+      }
+    }
+  };
+
+  /**
+   * Private constructor as this class is not meant to be instantiated.
+   *
+   * @since 100.2.1
+   */
+  private SharedAnimationTimer() {
+  }
+
+  /**
+   * Calls the listeners that were active at the start of the pulse, any added during the pulse will be called on the
+   * next one. Package private so that tests can drive pulses without a running JavaFX toolkit.
+   *
+   * @param now the timestamp of the current pulse in nanoseconds
+   * @return true if any listener is still active
+   * @since 100.2.1
+   */
+  static boolean pulse(long now) {
+    int count = LISTENERS.size();
+    int kept = 0;
+    for (int i = 0; i < count; i++) {
+      PulseListener listener = LISTENERS.get(i);
+      boolean keep = listener != null && listener.pulse(now) && LISTENERS.get(i) != null;
+      // clear the slot straight away so a listener that has finished can be added again later in the same pulse
+      LISTENERS.set(i, null);
+      if (keep) {
+        LISTENERS.set(kept++, listener);
+      }
+    }
+    for (int i = count; i < LISTENERS.size(); i++) {
+      PulseListener listener = LISTENERS.get(i);
+      if (listener != null) {
+        LISTENERS.set(kept++, listener);
+      }
+    }
+    LISTENERS.subList(kept, LISTENERS.size()).clear();
+    return !LISTENERS.isEmpty();
+  }
+
+  /**
+   * Adds a listener that will be called on every pulse until it returns false or is removed. Adding a listener that is
+   * already active has no effect.
+   *
+   * @param listener the listener
+   * @since 100.2.1
+   */
+  static void add(PulseListener listener) {
+    if (!LISTENERS.contains(listener)) {
+      LISTENERS.add(listener);
+    }
+    if (!running) {
+      running = true;
+      TIMER.start();
+    }
+  }
+
+  /**
+   * Removes a listener so that it will not be called on any further pulses.
+   *
+   * @param listener the listener
+   * @since 100.2.1
+   */
+  static void remove(PulseListener listener) {
+    int index = LISTENERS.indexOf(listener);
+    if (index >= 0) {
+      LISTENERS.set(index, null);
+    }
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.esri.arcgisruntime.toolkit.skins;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.stage.Window;
+
+/**
+ * Tracks whether a node is showing i.e. it and all of its ancestors are visible and it is in a scene whose window is
+ * showing. Used by skins to avoid doing work for controls nobody can see.
+ *
+ * @since 100.2.1
+ */
+final class ShowingTracker {
+
+  private final Node node;
+  private final Consumer<Boolean> showingChanged;
+  private final InvalidationListener listener = observable -> update();
+
+  // everything currently being listened to, these change as the node moves in the scene graph
+  private final List<Observable> observed = new ArrayList<>();
+
+  private boolean showing = false;
+
+  /**
+   * Creates a tracker for a node. The consumer is called with the new state each time the node starts or stops showing,
+   * including straight away if the node is already showing.
+   *
+   * @param node the node
+   * @param showingChanged called when the node starts or stops showing
+   * @since 100.2.1
+   */
+  ShowingTracker(Node node, Consumer<Boolean> showingChanged) {
+    this.node = node;
+    this.showingChanged = showingChanged;
+    update();
+  }
+
+  /**
+   * Returns true if the node is showing.
+   *
+   * @return true if showing
+   * @since 100.2.1
+   */
+  boolean isShowing() {
+    return showing;
+  }
+
+  /**
+   * Stops tracking the node.
+   *
+   * @since 100.2.1
+   */
+  void dispose() {
+    observed.forEach(o -> o.removeListener(listener));
+    observed.clear();
+  }
+
+  /**
+   * Listens to the current chain of ancestors, scene and window and works out if the node is showing.
+   *
+   * @since 100.2.1
+   */
+  private void update() {
+    dispose();
+
+    boolean visible = true;
+    for (Node n = node; n != null; n = n.getParent()) {
+      observe(n.visibleProperty());
+      observe(n.parentProperty());
+      visible &= n.isVisible();
+    }
+    observe(node.sceneProperty());
+    Scene scene = node.getScene();
+    Window window = null;
+    if (scene != null) {
+      observe(scene.windowProperty());
+      window = scene.getWindow();
+      if (window != null) {
+        observe(window.showingProperty());
+      }
+    }
+
+    boolean nowShowing = visible && window != null && window.isShowing();
+    if (nowShowing != showing) {
+      showing = nowShowing;
+      showingChanged.accept(showing);
+    }
+  }
+
+  /**
+   * Adds the listener to an observable.
+   *
+   * @param observable the observable
+   * @since 100.2.1
+   */
+  private void observe(Observable observable) {
+    observable.addListener(listener);
+    observed.add(observable);
+  }
+}
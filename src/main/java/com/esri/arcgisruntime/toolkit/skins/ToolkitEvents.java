@@ -0,0 +1,185 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.esri.arcgisruntime.toolkit.skins;
+
+/**
+ * Emits the toolkit's flight recorder events when the JVM supports them. Callers only see this class, so nothing
+ * outside {@link JfrEvents} links against {@code jdk.jfr} and the controls keep working on a JVM without it.
+ *
+ * <p>Timed events are used in pairs, the handle returned by a begin method is passed to the matching end method:
+ * <pre>
+ * Object event = ToolkitEvents.beginDistanceQuery();
+ * ...
+ * ToolkitEvents.endDistanceQuery(event, control, width);
+ * </pre>
+ * A begin method returns null when flight recorder is unavailable or the event is disabled, and the end methods do
+ * nothing with a null handle.
+ *
+ * @since 100.2.1
+ */
+final class ToolkitEvents {
+
+  private static final boolean AVAILABLE = isAvailable();
+
+  /**
+   * Private constructor as this class is not meant to be instantiated.
+   *
+   * @since 100.2.1
+   */
+  private ToolkitEvents() {
+  }
+
+  /**
+   * Starts a scalebar update event.
+   *
+   * @return the event handle, or null if the event isn't recorded
+   * @since 100.2.1
+   */
+  static Object beginScalebarUpdate() {
+    return AVAILABLE ? JfrEvents.beginScalebarUpdate() : null;
+  }
+
+  /**
+   * Ends a scalebar update event.
+   *
+   * @param event the handle from {@link #beginScalebarUpdate()}
+   * @param control the scalebar
+   * @param style the scalebar's style
+   * @param segmentCount the number of segments drawn
+   * @param cacheHit true if the update was served from a cache
+   * @since 100.2.1
+   */
+  static void endScalebarUpdate(Object event, Object control, String style, int segmentCount, boolean cacheHit) {
+    if (event != null) {
+      JfrEvents.endScalebarUpdate(event, control, style, segmentCount, cacheHit);
+    }
+  }
+
+  /**
+   * Starts a text measurement event.
+   *
+   * @return the event handle, or null if the event isn't recorded
+   * @since 100.2.1
+   */
+  static Object beginTextMeasurement() {
+    return AVAILABLE ? JfrEvents.beginTextMeasurement() : null;
+  }
+
+  /**
+   * Ends a text measurement event.
+   *
+   * @param event the handle from {@link #beginTextMeasurement()}
+   * @param control the control measuring the text
+   * @param text the text measured
+   * @since 100.2.1
+   */
+  static void endTextMeasurement(Object event, Object control, String text) {
+    if (event != null) {
+      JfrEvents.endTextMeasurement(event, control, text);
+    }
+  }
+
+  /**
+   * Starts a distance query event.
+   *
+   * @return the event handle, or null if the event isn't recorded
+   * @since 100.2.1
+   */
+  static Object beginDistanceQuery() {
+    return AVAILABLE ? JfrEvents.beginDistanceQuery() : null;
+  }
+
+  /**
+   * Ends a distance query event.
+   *
+   * @param event the handle from {@link #beginDistanceQuery()}
+   * @param control the control querying the distance
+   * @param width the screen width the distance was measured across
+   * @since 100.2.1
+   */
+  static void endDistanceQuery(Object event, Object control, double width) {
+    if (event != null) {
+      JfrEvents.endDistanceQuery(event, control, width);
+    }
+  }
+
+  /**
+   * Emits a compass heading change event.
+   *
+   * @param control the compass
+   * @param heading the new heading
+   * @param animated true if the compass animates to the heading
+   * @since 100.2.1
+   */
+  static void compassHeading(Object control, double heading, boolean animated) {
+    if (AVAILABLE) {
+      JfrEvents.compassHeading(control, heading, animated);
+    }
+  }
+
+  /**
+   * Emits a compass fade event.
+   *
+   * @param control the compass
+   * @param hidden true if the compass is fading out
+   * @since 100.2.1
+   */
+  static void compassFade(Object control, boolean hidden) {
+    if (AVAILABLE) {
+      JfrEvents.compassFade(control, hidden);
+    }
+  }
+
+  /**
+   * Starts an overview sync event.
+   *
+   * @return the event handle, or null if the event isn't recorded
+   * @since 100.2.1
+   */
+  static Object beginOverviewSync() {
+    return AVAILABLE ? JfrEvents.beginOverviewSync() : null;
+  }
+
+  /**
+   * Ends an overview sync event.
+   *
+   * @param event the handle from {@link #beginOverviewSync()}
+   * @param control the overview map
+   * @param snapshotMode true if the overview is in snapshot mode
+   * @since 100.2.1
+   */
+  static void endOverviewSync(Object event, Object control, boolean snapshotMode) {
+    if (event != null) {
+      JfrEvents.endOverviewSync(event, control, snapshotMode);
+    }
+  }
+
+  /**
+   * Returns true if flight recorder events can be used. Loading {@link JfrEvents} fails on a JVM without
+   * {@code jdk.jfr}, such as Java 8 before update 262.
+   *
+   * @return true if available
+   * @since 100.2.1
+   */
+  private static boolean isAvailable() {
+    try {
+      Class.forName("com.esri.arcgisruntime.toolkit.skins.JfrEvents", true, ToolkitEvents.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException | LinkageError | RuntimeException e) {
+      return false;
+    }
+  }
+}
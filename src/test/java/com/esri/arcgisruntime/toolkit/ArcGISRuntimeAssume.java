@@ -0,0 +1,49 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.arcgisruntime.toolkit;
+
+import com.esri.arcgisruntime.geometry.LinearUnit;
+import com.esri.arcgisruntime.geometry.LinearUnitId;
+import org.junit.Assume;
+
+/**
+ * Skips tests that need the runtime's native libraries when they are not installed. Plain Java parts of the toolkit are
+ * always tested, anything that creates runtime objects such as spatial references, units or tiling schemes is only
+ * tested where the runtime can be loaded.
+ */
+public final class ArcGISRuntimeAssume {
+
+  private static final boolean AVAILABLE = isAvailable();
+
+  private ArcGISRuntimeAssume() {
+  }
+
+  /**
+   * Skips the calling test if the runtime's native libraries can't be loaded.
+   */
+  public static void assumeRuntimeAvailable() {
+    Assume.assumeTrue("the ArcGIS Runtime native libraries are not installed", AVAILABLE);
+  }
+
+  private static boolean isAvailable() {
+    try {
+      return new LinearUnit(LinearUnitId.METERS).getLinearUnitId() == LinearUnitId.METERS;
+    } catch (RuntimeException | LinkageError e) {
+      return false;
+    }
+  }
+}
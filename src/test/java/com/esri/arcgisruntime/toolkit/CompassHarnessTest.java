@@ -0,0 +1,227 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.arcgisruntime.toolkit;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javafx.event.Event;
+import javafx.event.EventType;
+import javafx.geometry.Point2D;
+import javafx.scene.Node;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Drives a compass under the headless toolkit from recorded traces through a {@link StandInView}, and checks how
+ * often it updates and what each update costs.
+ */
+public class CompassHarnessTest {
+
+  // budgets for handling one heading event on the JavaFX application thread, loose enough for a busy CI machine
+  private static final long EVENT_TIME_BUDGET = TimeUnit.MILLISECONDS.toNanos(1);
+  private static final long EVENT_ALLOCATION_BUDGET = 4096;
+
+  private static final int EVENT_COUNT = 120;
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private Stage stage;
+
+  @Before
+  public void setUp() {
+    HeadlessToolkit.assumeStarted();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    if (stage != null) {
+      HeadlessToolkit.run(stage::hide);
+    }
+  }
+
+  @Test
+  public void updatesOncePerMapRotationEvent() throws Exception {
+    ViewpointTraceBuilder trace = new ViewpointTraceBuilder();
+    for (int i = 0; i < EVENT_COUNT; i++) {
+      trace.mapEvent(i * 16_666_667L, 3857, 0.0, 0.0, 1.0e6, 2.5 * (i + 1), 800.0, 600.0);
+    }
+    replayWithinBudget(trace.write(folder.newFile()));
+  }
+
+  @Test
+  public void updatesOncePerSceneCameraEvent() throws Exception {
+    File file = new ViewpointTraceBuilder()
+      .sceneFlight(EVENT_COUNT, new double[] {-117.0, 34.0, 20000.0, 10.0, 45.0},
+        new double[] {-116.0, 35.0, 5000.0, 350.0, 70.0}, 800.0, 600.0)
+      .write(folder.newFile());
+    replayWithinBudget(file);
+  }
+
+  @Test
+  public void animatesTheShortestWayAndSettles() throws Exception {
+    File file = new ViewpointTraceBuilder()
+      .mapEvent(0L, 3857, 0.0, 0.0, 1.0e6, 350.0, 800.0, 600.0)
+      .mapEvent(16_666_667L, 3857, 0.0, 0.0, 1.0e6, 10.0, 800.0, 600.0)
+      .write(folder.newFile());
+    ViewpointTracePlayer player = new ViewpointTracePlayer(file);
+    StandInView view = new StandInView();
+    Compass compass = showCompass(view, false);
+    HeadlessToolkit.run(() -> {
+      view.load(player, 0);
+      compass.setAnimateRotation(true);
+      view.load(player, 1);
+    });
+
+    // the needle turns through north rather than back round through south
+    List<Double> displayed = new ArrayList<>();
+    for (int i = 0; i < 60; i++) {
+      HeadlessToolkit.waitForPulses(1);
+      displayed.add(HeadlessToolkit.call(() -> displayedHeading(compass)));
+    }
+    for (double heading : displayed) {
+      double fromStart = normalize(heading - 350.0);
+      assertTrue("displayed " + heading, fromStart <= 20.0 + 1.0e-6);
+    }
+    assertEquals(10.0, displayed.get(displayed.size() - 1), 0.05);
+
+    // once it has got there the compass stops updating
+    MetricsDelta metrics = new MetricsDelta();
+    double settled = HeadlessToolkit.call(() -> displayedHeading(compass));
+    HeadlessToolkit.waitForPulses(10);
+    assertEquals(settled, HeadlessToolkit.call(() -> displayedHeading(compass)), 0.0);
+    assertEquals(0, metrics.counter("compass.heading.changes"));
+  }
+
+  @Test
+  public void dragShowsRequestedHeadingWhileViewCatchesUp() throws Exception {
+    StandInView view = new StandInView();
+    view.setHeadingStep(30.0);
+    Compass compass = showCompass(view, true);
+    Node needle = HeadlessToolkit.call(() -> compass.getChildrenUnmodifiable().get(0));
+    Point2D center = HeadlessToolkit.call(() -> compass.localToScene(compass.getWidth() / 2.0,
+      compass.getHeight() / 2.0));
+    double radius = 40.0;
+
+    // drag the needle a quarter turn clockwise from straight up, which turns the view to a heading of 270
+    int moves = 9;
+    HeadlessToolkit.run(() -> fire(needle, MouseEvent.MOUSE_PRESSED, center.getX(), center.getY() - radius));
+    for (int i = 1; i <= moves; i++) {
+      double angle = Math.toRadians(90.0 * i / moves);
+      double x = center.getX() + radius * Math.sin(angle);
+      double y = center.getY() - radius * Math.cos(angle);
+      HeadlessToolkit.run(() -> fire(needle, MouseEvent.MOUSE_DRAGGED, x, y));
+      HeadlessToolkit.waitForPulses(1);
+    }
+    HeadlessToolkit.run(() -> fire(needle, MouseEvent.MOUSE_RELEASED, center.getX() + radius, center.getY()));
+    assertTrue("rotation requests are coalesced", view.getHeadingRequestCount() < moves);
+
+    // the view catches up through intermediate headings, which the needle must not follow
+    boolean turning = true;
+    while (turning) {
+      turning = HeadlessToolkit.call(view::step);
+      HeadlessToolkit.waitForPulses(1);
+      assertEquals(270.0, HeadlessToolkit.call(() -> displayedHeading(compass)), 0.5);
+    }
+    HeadlessToolkit.waitForPulses(10);
+    assertEquals(270.0, HeadlessToolkit.call(() -> displayedHeading(compass)), 0.5);
+    assertEquals(270.0, HeadlessToolkit.call(compass::getHeading), 0.5);
+    assertEquals(270.0, view.getHeading(), 0.0);
+  }
+
+  @Test
+  public void keepsHeadingGivenToStaticSource() throws Exception {
+    HeadingSource source = new StaticHeadingSource();
+    Compass compass = showCompass(source, false);
+    MetricsDelta metrics = new MetricsDelta();
+    HeadlessToolkit.run(() -> compass.setHeading(45.0));
+    HeadlessToolkit.waitForPulses(5);
+    assertEquals(45.0, source.getHeading(), 0.0);
+    assertEquals(45.0, HeadlessToolkit.call(() -> displayedHeading(compass)), 0.0);
+    assertEquals(1, metrics.counter("compass.heading.changes"));
+  }
+
+  /**
+   * Replays every event of a trace on a stand-in view linked to a compass, and checks the compass updated once per
+   * event within the time and allocation budgets.
+   */
+  private void replayWithinBudget(File file) throws Exception {
+    ViewpointTracePlayer player = new ViewpointTracePlayer(file);
+    StandInView view = new StandInView();
+    Compass compass = showCompass(view, false);
+    // warm up so class loading and first time initialization aren't measured
+    HeadlessToolkit.run(() -> {
+      for (int i = 0; i < player.getEventCount(); i++) {
+        view.load(player, i);
+      }
+    });
+
+    MetricsDelta metrics = new MetricsDelta();
+    long[] cost = HeadlessToolkit.call(() -> {
+      long allocated = HeadlessToolkit.allocatedBytes();
+      long start = System.nanoTime();
+      for (int i = 0; i < player.getEventCount(); i++) {
+        view.load(player, i);
+      }
+      return new long[] {System.nanoTime() - start, HeadlessToolkit.allocatedBytes() - allocated};
+    });
+
+    int events = player.getEventCount();
+    assertEquals(events, metrics.counter("compass.heading.changes"));
+    assertTrue("mean time per event " + cost[0] / events + "ns", cost[0] / events <= EVENT_TIME_BUDGET);
+    assertTrue("mean allocation per event " + cost[1] / events + " bytes",
+      cost[1] / events <= EVENT_ALLOCATION_BUDGET);
+    assertEquals(normalize(view.getHeading()), HeadlessToolkit.call(() -> displayedHeading(compass)), 1.0e-9);
+  }
+
+  private Compass showCompass(HeadingSource source, boolean animateRotation) throws Exception {
+    return HeadlessToolkit.call(() -> {
+      Compass compass = new Compass();
+      compass.setAutoHide(false);
+      compass.setAnimateRotation(animateRotation);
+      compass.setHeadingSource(source);
+      stage = HeadlessToolkit.show(new StackPane(compass), 200.0, 200.0);
+      return compass;
+    });
+  }
+
+  private static double displayedHeading(Compass compass) {
+    return normalize(-compass.getChildrenUnmodifiable().get(0).getRotate());
+  }
+
+  private static void fire(Node target, EventType<MouseEvent> type, double sceneX, double sceneY) {
+    Event.fireEvent(target, new MouseEvent(type, sceneX, sceneY, sceneX, sceneY, MouseButton.PRIMARY, 1, false, false,
+      false, false, type != MouseEvent.MOUSE_RELEASED, false, false, false, false, false, null));
+  }
+
+  private static double normalize(double heading) {
+    return ((heading % 360.0) + 360.0) % 360.0;
+  }
+}
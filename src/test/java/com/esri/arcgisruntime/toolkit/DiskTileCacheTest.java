@@ -0,0 +1,268 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.arcgisruntime.toolkit;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DiskTileCacheTest {
+
+  private static final String SOURCE = "source";
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void storesAndReturnsTiles() throws IOException {
+    DiskTileCache cache = new DiskTileCache(folder.getRoot(), 1000);
+    assertNull(cache.get(SOURCE, 1, 2, 3));
+    assertFalse(cache.contains(SOURCE, 1, 2, 3));
+
+    cache.put(SOURCE, 1, 2, 3, tile(100, 1));
+    assertTrue(cache.contains(SOURCE, 1, 2, 3));
+    assertArrayEquals(tile(100, 1), cache.get(SOURCE, 1, 2, 3));
+    assertFalse(cache.contains("other", 1, 2, 3));
+    assertEquals(100, cache.getSize());
+  }
+
+  @Test
+  public void replacingTileKeepsSizeRight() throws IOException {
+    DiskTileCache cache = new DiskTileCache(folder.getRoot(), 1000);
+    cache.put(SOURCE, 0, 0, 0, tile(100, 1));
+    cache.put(SOURCE, 0, 0, 0, tile(60, 2));
+    assertEquals(60, cache.getSize());
+    assertArrayEquals(tile(60, 2), cache.get(SOURCE, 0, 0, 0));
+  }
+
+  @Test
+  public void ignoresMissingAndOversizedTiles() throws IOException {
+    DiskTileCache cache = new DiskTileCache(folder.getRoot(), 100);
+    cache.put(SOURCE, 0, 0, 0, null);
+    cache.put(SOURCE, 0, 0, 1, tile(101, 1));
+    assertFalse(cache.contains(SOURCE, 0, 0, 0));
+    assertFalse(cache.contains(SOURCE, 0, 0, 1));
+    assertEquals(0, cache.getSize());
+  }
+
+  @Test
+  public void evictsLeastRecentlyUsedTiles() throws IOException {
+    DiskTileCache cache = new DiskTileCache(folder.getRoot(), 250);
+    cache.put(SOURCE, 0, 0, 0, tile(100, 1));
+    cache.put(SOURCE, 0, 0, 1, tile(100, 2));
+    cache.get(SOURCE, 0, 0, 0);
+    cache.put(SOURCE, 0, 0, 2, tile(100, 3));
+
+    assertTrue(cache.contains(SOURCE, 0, 0, 0));
+    assertFalse(cache.contains(SOURCE, 0, 0, 1));
+    assertTrue(cache.contains(SOURCE, 0, 0, 2));
+    assertEquals(200, cache.getSize());
+    assertEquals(2, tileFiles().size());
+  }
+
+  @Test
+  public void tilesPersistBetweenSessions() throws IOException {
+    DiskTileCache cache = new DiskTileCache(folder.getRoot(), 1000);
+    cache.put(SOURCE, 4, 5, 6, tile(100, 7));
+
+    DiskTileCache reopened = new DiskTileCache(folder.getRoot(), 1000);
+    assertTrue(reopened.contains(SOURCE, 4, 5, 6));
+    assertArrayEquals(tile(100, 7), reopened.get(SOURCE, 4, 5, 6));
+    assertEquals(100, reopened.getSize());
+  }
+
+  @Test
+  public void reopeningSmallerCacheEvicts() throws IOException {
+    DiskTileCache cache = new DiskTileCache(folder.getRoot(), 1000);
+    cache.put(SOURCE, 0, 0, 0, tile(100, 1));
+    cache.put(SOURCE, 0, 0, 1, tile(100, 2));
+
+    DiskTileCache reopened = new DiskTileCache(folder.getRoot(), 150);
+    assertEquals(100, reopened.getSize());
+    assertEquals(1, tileFiles().size());
+  }
+
+  @Test
+  public void leavesNoTemporaryFiles() throws IOException {
+    DiskTileCache cache = new DiskTileCache(folder.getRoot(), 10000);
+    for (int i = 0; i < 10; i++) {
+      cache.put(SOURCE, 0, 0, i, tile(100, i));
+    }
+    try (Stream<Path> paths = Files.walk(folder.getRoot().toPath())) {
+      assertTrue(paths.filter(Files::isRegularFile).allMatch(p -> p.toString().endsWith(".tile")));
+    }
+  }
+
+  @Test
+  public void readingTileDoesNotWriteToDisk() throws IOException {
+    DiskTileCache cache = new DiskTileCache(folder.getRoot(), 1000);
+    cache.put(SOURCE, 0, 0, 0, tile(100, 1));
+    File file = tileFiles().get(0);
+    long modified = System.currentTimeMillis() - 10000;
+    assertTrue(file.setLastModified(modified));
+
+    cache.get(SOURCE, 0, 0, 0);
+    assertEquals(modified, file.lastModified());
+  }
+
+  @Test
+  public void flushSavesReadOrderForNextSession() throws IOException {
+    DiskTileCache cache = new DiskTileCache(folder.getRoot(), 1000);
+    cache.put(SOURCE, 0, 0, 0, tile(100, 1));
+    cache.put(SOURCE, 0, 0, 1, tile(100, 2));
+    long now = System.currentTimeMillis();
+    for (File file : tileFiles()) {
+      // the first tile looks older than the second
+      assertTrue(file.setLastModified(now - (file.getName().startsWith("0_0") ? 20000 : 10000)));
+    }
+    cache.get(SOURCE, 0, 0, 0);
+    cache.flush();
+
+    DiskTileCache reopened = new DiskTileCache(folder.getRoot(), 150);
+    assertTrue(reopened.contains(SOURCE, 0, 0, 0));
+    assertFalse(reopened.contains(SOURCE, 0, 0, 1));
+  }
+
+  @Test
+  public void rejectsSourceNamesOutsideItsDirectory() throws IOException {
+    DiskTileCache cache = new DiskTileCache(folder.getRoot(), 1000);
+    for (String sourceName : new String[] {"", ".", "..", "../escape", "a/b", "a\\b"}) {
+      try {
+        cache.put(sourceName, 0, 0, 0, tile(10, 1));
+        fail("expected " + sourceName + " to be rejected");
+      } catch (IllegalArgumentException e) {
+        // expected
+      }
+    }
+    assertTrue(tileFiles().isEmpty());
+  }
+
+  @Test
+  public void fetchesMissingTilesOnce() throws IOException {
+    DiskTileCache cache = new DiskTileCache(folder.getRoot(), 1000);
+    AtomicInteger fetches = new AtomicInteger();
+    TileSource source = (level, row, column) -> {
+      fetches.incrementAndGet();
+      return tile(10, column);
+    };
+    assertArrayEquals(tile(10, 3), cache.getOrFetch(SOURCE, 0, 0, 3, source));
+    assertArrayEquals(tile(10, 3), cache.getOrFetch(SOURCE, 0, 0, 3, source));
+    assertEquals(1, fetches.get());
+    assertTrue(cache.contains(SOURCE, 0, 0, 3));
+  }
+
+  @Test
+  public void missingTilesFromSourceAreNotCached() throws IOException {
+    DiskTileCache cache = new DiskTileCache(folder.getRoot(), 1000);
+    assertNull(cache.getOrFetch(SOURCE, 0, 0, 0, (level, row, column) -> null));
+    assertFalse(cache.contains(SOURCE, 0, 0, 0));
+  }
+
+  @Test
+  public void fetchFailureIsPassedOn() throws IOException {
+    DiskTileCache cache = new DiskTileCache(folder.getRoot(), 1000);
+    IOException failure = new IOException("offline");
+    try {
+      cache.getOrFetch(SOURCE, 0, 0, 0, (level, row, column) -> {
+        throw failure;
+      });
+      fail("expected the fetch to fail");
+    } catch (IOException e) {
+      assertSame(failure, e);
+    }
+    assertFalse(cache.contains(SOURCE, 0, 0, 0));
+  }
+
+  @Test
+  public void concurrentRequestsShareOneFetch() throws Exception {
+    DiskTileCache cache = new DiskTileCache(folder.getRoot(), 1000);
+    AtomicInteger fetches = new AtomicInteger();
+    CountDownLatch fetching = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    TileSource source = (level, row, column) -> {
+      fetches.incrementAndGet();
+      fetching.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        throw new IOException(e);
+      }
+      return tile(10, 9);
+    };
+
+    AtomicReference<byte[]> first = new AtomicReference<>();
+    AtomicReference<byte[]> second = new AtomicReference<>();
+    Thread firstThread = new Thread(() -> first.set(fetch(cache, source)));
+    firstThread.start();
+    fetching.await();
+    Thread secondThread = new Thread(() -> second.set(fetch(cache, source)));
+    secondThread.start();
+
+    // let the first fetch finish once the second request is waiting for it
+    while (secondThread.getState() != Thread.State.WAITING && secondThread.isAlive()) {
+      Thread.sleep(1);
+    }
+    release.countDown();
+    firstThread.join();
+    secondThread.join();
+
+    assertEquals(1, fetches.get());
+    assertArrayEquals(tile(10, 9), first.get());
+    assertArrayEquals(tile(10, 9), second.get());
+  }
+
+  private static byte[] fetch(DiskTileCache cache, TileSource source) {
+    try {
+      return cache.getOrFetch(SOURCE, 0, 0, 0, source);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  private List<File> tileFiles() throws IOException {
+    try (Stream<Path> paths = Files.walk(folder.getRoot().toPath())) {
+      return paths.filter(p -> p.toString().endsWith(".tile")).map(Path::toFile).collect(Collectors.toList());
+    }
+  }
+
+  static byte[] tile(int size, int value) {
+    byte[] data = new byte[size];
+    for (int i = 0; i < size; i++) {
+      data[i] = (byte) (value + i);
+    }
+    return data;
+  }
+}
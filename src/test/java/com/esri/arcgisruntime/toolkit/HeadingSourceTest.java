@@ -0,0 +1,50 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.arcgisruntime.toolkit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class HeadingSourceTest {
+
+  @Test(expected = NullPointerException.class)
+  public void geoViewIsRequired() {
+    HeadingSource.forGeoView(null);
+  }
+
+  @Test
+  public void staticSourceHoldsLastHeading() {
+    HeadingSource source = new StaticHeadingSource();
+    assertEquals(0.0, source.getHeading(), 0.0);
+    source.setHeading(45.0);
+    assertEquals(45.0, source.getHeading(), 0.0);
+  }
+
+  @Test
+  public void staticSourceNeverNotifies() {
+    HeadingSource source = new StaticHeadingSource();
+    AtomicInteger notifications = new AtomicInteger();
+    Runnable listener = notifications::incrementAndGet;
+    source.addHeadingChangedListener(listener);
+    source.setHeading(90.0);
+    source.removeHeadingChangedListener(listener);
+    assertEquals(0, notifications.get());
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.arcgisruntime.toolkit;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.javafx.application.PlatformImpl;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import org.junit.Assume;
+
+/**
+ * Runs controls under a headless JavaFX toolkit. The test task configures JavaFX to use Monocle's headless platform and
+ * software rendering, so controls are laid out, pulsed and drawn on a machine with no display or GPU. Tests that need
+ * the toolkit are skipped if it can't be started.
+ */
+public final class HeadlessToolkit {
+
+  private static final long TIMEOUT_SECONDS = 30;
+
+  private static boolean started = false;
+  private static Throwable startFailure;
+
+  private HeadlessToolkit() {
+  }
+
+  /**
+   * Starts the JavaFX toolkit the first time it is called, and skips the calling test if it can't be started.
+   */
+  public static synchronized void assumeStarted() {
+    if (!started && startFailure == null) {
+      try {
+        CountDownLatch latch = new CountDownLatch(1);
+        PlatformImpl.startup(latch::countDown);
+        started = latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        // keep the toolkit running between tests that close all their windows
+        Platform.setImplicitExit(false);
+      } catch (IllegalStateException e) {
+        // the toolkit was already started by something else
+        started = true;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        startFailure = e;
+      } catch (RuntimeException | LinkageError e) {
+        startFailure = e;
+      }
+    }
+    Assume.assumeTrue("JavaFX could not be started headless: " + startFailure, started);
+  }
+
+  /**
+   * Calls a task on the JavaFX application thread and waits for its result.
+   */
+  public static <T> T call(Callable<T> task) throws Exception {
+    FutureTask<T> future = new FutureTask<>(task);
+    Platform.runLater(future);
+    try {
+      return future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof Exception) {
+        throw (Exception) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Runs a task on the JavaFX application thread and waits for it to finish.
+   */
+  public static void run(Runnable task) throws Exception {
+    call(Executors.callable(task));
+  }
+
+  /**
+   * Waits for a number of pulses, so animations and work deferred to pulses get to run.
+   */
+  public static void waitForPulses(int count) throws Exception {
+    CountDownLatch latch = new CountDownLatch(count);
+    AnimationTimer timer = call(() -> {
+      AnimationTimer pulses = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+          latch.countDown();
+        }
+      };
+      pulses.start();
+      return pulses;
+    });
+    boolean pulsed = latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    run(timer::stop);
+    if (!pulsed) {
+      throw new AssertionError("timed out waiting for " + count + " pulses");
+    }
+  }
+
+  /**
+   * Shows a root node in a window of a given size. Must be called on the JavaFX application thread.
+   */
+  public static Stage show(Parent root, double width, double height) {
+    Stage stage = new Stage();
+    stage.setScene(new Scene(root, width, height));
+    stage.show();
+    return stage;
+  }
+
+  /**
+   * Returns the number of bytes the calling thread has allocated, for measuring the allocations of work run on the
+   * JavaFX application thread. Skips the calling test if the JVM doesn't measure allocations.
+   */
+  public static long allocatedBytes() {
+    java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    Assume.assumeTrue("the JVM doesn't measure allocations", threads instanceof com.sun.management.ThreadMXBean &&
+      ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported());
+    return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+}
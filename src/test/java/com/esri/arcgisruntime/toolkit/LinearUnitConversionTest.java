@@ -0,0 +1,120 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.arcgisruntime.toolkit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.esri.arcgisruntime.geometry.LinearUnit;
+import com.esri.arcgisruntime.geometry.LinearUnitId;
+import com.esri.arcgisruntime.geometry.Unit;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LinearUnitConversionTest {
+
+  @Test
+  public void convertsBetweenUnitIds() {
+    assertEquals(1609.344, LinearUnitConversion.convert(1.0, LinearUnitId.MILES, LinearUnitId.METERS), 1.0e-12);
+    assertEquals(3.0, LinearUnitConversion.convert(1.0, LinearUnitId.YARDS, LinearUnitId.FEET), 1.0e-12);
+    assertEquals(12.0, LinearUnitConversion.convert(1.0, LinearUnitId.FEET, LinearUnitId.INCHES), 1.0e-12);
+    assertEquals(2.5, LinearUnitConversion.convert(2500.0, LinearUnitId.METERS, LinearUnitId.KILOMETERS), 1.0e-12);
+    assertEquals(1852.0 / 1609.344,
+      LinearUnitConversion.convert(1.0, LinearUnitId.NAUTICAL_MILES, LinearUnitId.MILES), 1.0e-12);
+  }
+
+  @Test
+  public void sameUnitIsUnchanged() {
+    for (LinearUnitId id : LinearUnitId.values()) {
+      if (id != LinearUnitId.OTHER) {
+        assertEquals(123.456, LinearUnitConversion.convert(123.456, id, id), 0.0);
+      }
+    }
+  }
+
+  @Test
+  public void conversionsRoundTrip() {
+    for (LinearUnitId from : LinearUnitId.values()) {
+      for (LinearUnitId to : LinearUnitId.values()) {
+        if (from != LinearUnitId.OTHER && to != LinearUnitId.OTHER) {
+          double converted = LinearUnitConversion.convert(42.0, from, to);
+          assertEquals(from + " to " + to, 42.0, LinearUnitConversion.convert(converted, to, from), 1.0e-12);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void everyIdentifiedUnitHasFactor() {
+    for (LinearUnitId id : LinearUnitId.values()) {
+      if (id != LinearUnitId.OTHER) {
+        assertTrue(id.toString(), LinearUnitConversion.getMetersPerUnit(id) > 0.0);
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void otherHasNoFactor() {
+    LinearUnitConversion.getMetersPerUnit(LinearUnitId.OTHER);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void otherCannotBeConverted() {
+    LinearUnitConversion.convert(1.0, LinearUnitId.OTHER, LinearUnitId.METERS);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void unitIdIsRequired() {
+    LinearUnitConversion.getMetersPerUnit((LinearUnitId) null);
+  }
+
+  @Test
+  public void surveyUnitsAreKnownByWkid() {
+    assertEquals(1200.0 / 3937.0,
+      LinearUnitConversion.getMetersPerUnit(LinearUnitConversion.US_SURVEY_FOOT_WKID), 0.0);
+    assertEquals(5280.0 * 1200.0 / 3937.0,
+      LinearUnitConversion.getMetersPerUnit(LinearUnitConversion.US_SURVEY_MILE_WKID), 1.0e-9);
+    assertTrue(Double.isNaN(LinearUnitConversion.getMetersPerUnit(1)));
+  }
+
+  @Test
+  public void agreesWithRuntimeForEveryUnitPair() {
+    ArcGISRuntimeAssume.assumeRuntimeAvailable();
+    List<LinearUnit> units = new ArrayList<>();
+    for (LinearUnitId id : LinearUnitId.values()) {
+      if (id != LinearUnitId.OTHER) {
+        units.add(new LinearUnit(id));
+      }
+    }
+    units.add((LinearUnit) Unit.fromWkid(LinearUnitConversion.US_SURVEY_FOOT_WKID));
+    units.add((LinearUnit) Unit.fromWkid(LinearUnitConversion.US_SURVEY_MILE_WKID));
+    for (LinearUnit from : units) {
+      for (LinearUnit to : units) {
+        double expected = from.convertTo(to, 1234.5);
+        assertEquals(from.getName() + " to " + to.getName(), expected,
+          LinearUnitConversion.convert(1234.5, from, to), Math.abs(expected) * 1.0e-9);
+        if (from.getLinearUnitId() != LinearUnitId.OTHER && to.getLinearUnitId() != LinearUnitId.OTHER) {
+          assertEquals(from.getName() + " to " + to.getName(), expected,
+            LinearUnitConversion.convert(1234.5, from.getLinearUnitId(), to.getLinearUnitId()),
+            Math.abs(expected) * 1.0e-9);
+        }
+      }
+    }
+  }
+}
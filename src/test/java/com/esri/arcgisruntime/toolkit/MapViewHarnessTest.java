@@ -0,0 +1,164 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.arcgisruntime.toolkit;
+
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.esri.arcgisruntime.geometry.SpatialReferences;
+import com.esri.arcgisruntime.mapping.ArcGISMap;
+import com.esri.arcgisruntime.mapping.Basemap;
+import com.esri.arcgisruntime.mapping.view.MapView;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Drives the controls that need a map view under the headless toolkit by replaying a recorded trace on a real map view,
+ * and checks how often they update and what each update costs. Scalebar and OverviewMap read the map view itself
+ * rather than a heading source, so unlike the compass they can't be driven by a {@link StandInView}; these tests are
+ * skipped without the runtime's native libraries.
+ */
+public class MapViewHarnessTest {
+
+  // budget for one update of a control on the JavaFX application thread, loose enough for a busy CI machine
+  private static final long UPDATE_TIME_BUDGET = TimeUnit.MILLISECONDS.toNanos(5);
+
+  private static final int EVENT_COUNT = 120;
+  private static final long TIMEOUT_SECONDS = 30;
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private Stage stage;
+  private MapView mapView;
+
+  @Before
+  public void setUp() {
+    ArcGISRuntimeAssume.assumeRuntimeAvailable();
+    HeadlessToolkit.assumeStarted();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    HeadlessToolkit.run(() -> {
+      if (stage != null) {
+        stage.hide();
+      }
+      if (mapView != null) {
+        mapView.dispose();
+      }
+    });
+  }
+
+  @Test
+  public void scalebarUpdatesAtMostOncePerEvent() throws Exception {
+    show(() -> new Scalebar(mapView));
+    MetricsDelta metrics = replay(zoomTrace());
+
+    assertTrue(metrics.counter("scalebar.updates") <= EVENT_COUNT);
+    assertTrue("mean update time " + metrics.mean("scalebar.update.nanos") + "ns",
+      metrics.mean("scalebar.update.nanos") <= UPDATE_TIME_BUDGET);
+  }
+
+  @Test
+  public void overviewMapSyncsAtMostOncePerEvent() throws Exception {
+    show(() -> new OverviewMap(mapView, new Basemap()));
+    MetricsDelta metrics = replay(zoomTrace());
+
+    long syncs = metrics.counter("overviewmap.syncs");
+    assertTrue(syncs <= EVENT_COUNT);
+    assertTrue(metrics.counter("overviewmap.recenters") <= syncs);
+    assertTrue("mean sync time " + metrics.mean("overviewmap.sync.nanos") + "ns",
+      metrics.mean("overviewmap.sync.nanos") <= UPDATE_TIME_BUDGET);
+  }
+
+  @Test
+  public void standInAgreesWithMapView() throws Exception {
+    show(() -> new StackPane());
+    File file = zoomTrace();
+    replay(file);
+
+    ViewpointTracePlayer player = new ViewpointTracePlayer(file);
+    StandInView view = new StandInView();
+    HeadlessToolkit.run(() -> view.load(player, player.getEventCount() - 1));
+    double unitsPerPixel = HeadlessToolkit.call(mapView::getUnitsPerDensityIndependentPixel);
+    assertEquals(unitsPerPixel, view.getUnitsPerDensityIndependentPixel(), unitsPerPixel * 0.01);
+    assertEquals(HeadlessToolkit.call(mapView::getMapRotation), view.getRotation(), 1.0e-6);
+  }
+
+  /**
+   * Shows a map view with a control over it, and waits for the layout to settle.
+   */
+  private void show(ControlFactory control) throws Exception {
+    HeadlessToolkit.run(() -> {
+      mapView = new MapView();
+      mapView.setMap(new ArcGISMap(SpatialReferences.getWebMercator()));
+      Node node = control.create();
+      StackPane.setAlignment(node, Pos.BOTTOM_LEFT);
+      stage = HeadlessToolkit.show(new StackPane(mapView, node), 800.0, 600.0);
+    });
+    HeadlessToolkit.waitForPulses(10);
+  }
+
+  /**
+   * Replays a trace on the map view at the speed it was recorded, and returns the metrics reported while it played.
+   */
+  private MetricsDelta replay(File file) throws Exception {
+    ViewpointTracePlayer player = new ViewpointTracePlayer(file);
+    CountDownLatch finished = new CountDownLatch(1);
+    MetricsDelta metrics = new MetricsDelta();
+    HeadlessToolkit.run(() -> {
+      player.setOnFinished(finished::countDown);
+      player.play(mapView, 1.0);
+    });
+    assertTrue("the trace didn't finish playing", finished.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    // let work deferred to later pulses finish
+    HeadlessToolkit.waitForPulses(10);
+    return metrics;
+  }
+
+  /**
+   * Writes a trace of a map view zooming in from a continent to a town while panning, a frame apart.
+   */
+  private File zoomTrace() throws Exception {
+    ViewpointTraceBuilder trace = new ViewpointTraceBuilder();
+    for (int i = 0; i < EVENT_COUNT; i++) {
+      double t = (double) i / (EVENT_COUNT - 1);
+      trace.mapEvent(i * 16_666_667L, 3857, -13_000_000.0 + t * 200_000.0, 4_000_000.0 - t * 100_000.0,
+        5.0e7 * Math.pow(1.0e-3, t), 0.0, 800.0, 600.0);
+    }
+    return trace.write(folder.newFile());
+  }
+
+  /**
+   * Creates the control shown over the map view, on the JavaFX application thread.
+   */
+  private interface ControlFactory {
+    Node create();
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.arcgisruntime.toolkit;
+
+/**
+ * The change in the toolkit's default metrics since the delta was created, so a test can count the updates and time
+ * the work of the controls it drives.
+ */
+public final class MetricsDelta {
+
+  private final MetricsRegistry.Snapshot start = MetricsRegistry.getDefault().snapshot();
+
+  /**
+   * Returns how much a counter has gone up.
+   */
+  public long counter(String name) {
+    return counterValue(MetricsRegistry.getDefault().snapshot(), name) - counterValue(start, name);
+  }
+
+  /**
+   * Returns how many values a histogram has recorded.
+   */
+  public long count(String name) {
+    MetricsRegistry.HistogramSnapshot now = MetricsRegistry.getDefault().snapshot().getHistograms().get(name);
+    MetricsRegistry.HistogramSnapshot before = start.getHistograms().get(name);
+    return (now != null ? now.getCount() : 0L) - (before != null ? before.getCount() : 0L);
+  }
+
+  /**
+   * Returns the mean of the values a histogram has recorded, or 0 if it hasn't recorded any.
+   */
+  public double mean(String name) {
+    MetricsRegistry.HistogramSnapshot now = MetricsRegistry.getDefault().snapshot().getHistograms().get(name);
+    MetricsRegistry.HistogramSnapshot before = start.getHistograms().get(name);
+    long count = (now != null ? now.getCount() : 0L) - (before != null ? before.getCount() : 0L);
+    long sum = (now != null ? now.getSum() : 0L) - (before != null ? before.getSum() : 0L);
+    return count > 0 ? (double) sum / count : 0.0;
+  }
+
+  private static long counterValue(MetricsRegistry.Snapshot snapshot, String name) {
+    Long value = snapshot.getCounters().get(name);
+    return value != null ? value : 0L;
+  }
+}
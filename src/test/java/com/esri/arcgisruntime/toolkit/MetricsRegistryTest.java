@@ -0,0 +1,161 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.arcgisruntime.toolkit;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsRegistryTest {
+
+  @Test
+  public void counterIsCreatedOnceAndCounts() {
+    MetricsRegistry registry = new MetricsRegistry();
+    MetricsRegistry.Counter counter = registry.counter("test.count");
+    assertSame(counter, registry.counter("test.count"));
+    counter.increment();
+    counter.add(41);
+    assertEquals(42, counter.get());
+    assertEquals(Long.valueOf(42), registry.snapshot().getCounters().get("test.count"));
+  }
+
+  @Test
+  public void histogramCountsValuesUpToEachBound() {
+    MetricsRegistry registry = new MetricsRegistry();
+    MetricsRegistry.Histogram histogram = registry.histogram("test.values", 10, 100);
+    for (long value : new long[] {5, 10, 11, 100, 1000}) {
+      histogram.record(value);
+    }
+    MetricsRegistry.HistogramSnapshot snapshot = registry.snapshot().getHistograms().get("test.values");
+    assertArrayEquals(new long[] {10, 100}, snapshot.getUpperBounds());
+    assertArrayEquals(new long[] {2, 2, 1}, snapshot.getCounts());
+    assertEquals(5, snapshot.getCount());
+    assertEquals(1126, snapshot.getSum());
+    assertEquals(1126.0 / 5.0, snapshot.getMean(), 0.0);
+  }
+
+  @Test
+  public void emptyHistogramHasNoMean() {
+    MetricsRegistry registry = new MetricsRegistry();
+    registry.histogram("test.empty", 1);
+    assertTrue(Double.isNaN(registry.snapshot().getHistograms().get("test.empty").getMean()));
+  }
+
+  @Test
+  public void durationHistogramRecordsElapsedTime() {
+    MetricsRegistry registry = new MetricsRegistry();
+    MetricsRegistry.Histogram histogram = registry.durationHistogram("test.nanos");
+    assertSame(histogram, registry.durationHistogram("test.nanos"));
+    histogram.recordSince(System.nanoTime());
+    MetricsRegistry.HistogramSnapshot snapshot = registry.snapshot().getHistograms().get("test.nanos");
+    assertEquals(1, snapshot.getCount());
+    assertTrue(snapshot.getSum() >= 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void histogramBoundsMustIncrease() {
+    new MetricsRegistry().histogram("test.bounds", 10, 10);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void histogramCannotChangeBounds() {
+    MetricsRegistry registry = new MetricsRegistry();
+    registry.histogram("test.bounds", 10, 100);
+    registry.histogram("test.bounds", 10, 1000);
+  }
+
+  @Test
+  public void gaugeIsReadWhenSnapshotIsTaken() {
+    MetricsRegistry registry = new MetricsRegistry();
+    AtomicReference<Double> value = new AtomicReference<>(1.0);
+    registry.gauge("test.gauge", value::get);
+    assertEquals(1.0, registry.snapshot().getGauges().get("test.gauge"), 0.0);
+    value.set(2.5);
+    assertEquals(2.5, registry.snapshot().getGauges().get("test.gauge"), 0.0);
+    registry.removeGauge("test.gauge");
+    assertFalse(registry.snapshot().getGauges().containsKey("test.gauge"));
+  }
+
+  @Test
+  public void snapshotIsSortedByName() {
+    MetricsRegistry registry = new MetricsRegistry();
+    registry.counter("b");
+    registry.counter("c");
+    registry.counter("a");
+    assertEquals(Arrays.asList("a", "b", "c"), new ArrayList<>(registry.snapshot().getCounters().keySet()));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void snapshotIsUnmodifiable() {
+    MetricsRegistry registry = new MetricsRegistry();
+    registry.snapshot().getCounters().put("test.count", 1L);
+  }
+
+  @Test
+  public void snapshotIsWrittenAsText() throws IOException {
+    MetricsRegistry registry = new MetricsRegistry();
+    registry.counter("test.count").add(3);
+    registry.gauge("test.gauge", () -> 0.5);
+    MetricsRegistry.Histogram histogram = registry.histogram("test.values", 10, 100);
+    histogram.record(5);
+    histogram.record(50);
+    histogram.record(500);
+
+    StringBuilder text = new StringBuilder();
+    registry.snapshot().writeTo(text);
+    assertEquals("test.count 3\n" +
+      "test.gauge 0.5\n" +
+      "test.values.le.10 1\n" +
+      "test.values.le.100 2\n" +
+      "test.values.count 3\n" +
+      "test.values.sum 555\n", text.toString());
+    assertEquals(text.toString(), registry.snapshot().toString());
+  }
+
+  @Test
+  public void countsFromManyThreadsAreNotLost() throws InterruptedException {
+    MetricsRegistry registry = new MetricsRegistry();
+    MetricsRegistry.Counter counter = registry.counter("test.count");
+    MetricsRegistry.Histogram histogram = registry.histogram("test.values", 1);
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      Thread thread = new Thread(() -> {
+        for (int j = 0; j < 10000; j++) {
+          counter.increment();
+          histogram.record(1);
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(80000, counter.get());
+    assertEquals(80000, registry.snapshot().getHistograms().get("test.values").getCount());
+  }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.arcgisruntime.toolkit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A stand-in for a map or scene view that holds its viewpoint in plain Java, so controls can be driven without the
+ * runtime's native view. The viewpoint is loaded from a recorded trace one event at a time, and viewpoint and heading
+ * events are fired on demand. Its heading is the map rotation or the camera heading, like the heading sources of
+ * real views.
+ *
+ * <p>Heading requests from a control are applied straight away, or with a heading step set, the view turns towards
+ * the requested heading by at most that step each time {@link #step()} is called, as a real view animates a rotation
+ * over several frames.
+ *
+ * <p>Like a geo view, a stand-in must only be used on the JavaFX application thread.
+ */
+public final class StandInView implements HeadingSource {
+
+  private static final double METERS_PER_DIP = 0.0254 / 96.0;
+
+  private boolean sceneView = false;
+  private int wkid = 3857;
+  private double centerX;
+  private double centerY;
+  private double scale = Double.NaN;
+  private double rotation;
+  private double cameraZ = Double.NaN;
+  private double pitch = Double.NaN;
+  private double width;
+  private double height;
+
+  private double headingStep = 0.0;
+  private double targetHeading = Double.NaN;
+  private int headingRequestCount = 0;
+
+  private final List<Runnable> headingChangedListeners = new ArrayList<>();
+  private final List<Runnable> viewpointChangedListeners = new ArrayList<>();
+
+  /**
+   * Loads an event from a trace as the view's viewpoint, firing a viewpoint changed event and, if the heading changed,
+   * a heading changed event.
+   */
+  public void load(ViewpointTracePlayer trace, int index) {
+    double previousHeading = getHeading();
+    sceneView = trace.isSceneViewEvent(index);
+    wkid = trace.getWkid(index);
+    centerX = trace.getCenterX(index);
+    centerY = trace.getCenterY(index);
+    scale = trace.getScale(index);
+    rotation = sceneView ? trace.getHeading(index) : trace.getRotation(index);
+    cameraZ = trace.getCameraZ(index);
+    pitch = trace.getPitch(index);
+    width = trace.getWidth(index);
+    height = trace.getHeight(index);
+    fireViewpointChanged();
+    if (getHeading() != previousHeading) {
+      fireHeadingChanged();
+    }
+  }
+
+  /**
+   * Sets how far the view turns towards a requested heading on each {@link #step()}, or 0 to turn straight away.
+   */
+  public void setHeadingStep(double headingStep) {
+    this.headingStep = headingStep;
+  }
+
+  /**
+   * Turns the view towards the last requested heading by at most the heading step.
+   *
+   * @return true if the view hasn't reached the requested heading yet
+   */
+  public boolean step() {
+    if (Double.isNaN(targetHeading)) {
+      return false;
+    }
+    double delta = shortestArc(rotation, targetHeading);
+    if (headingStep > 0.0 && Math.abs(delta) > headingStep) {
+      rotation = normalize(rotation + Math.copySign(headingStep, delta));
+      fireHeadingChanged();
+      fireViewpointChanged();
+      return true;
+    }
+    rotation = targetHeading;
+    targetHeading = Double.NaN;
+    fireHeadingChanged();
+    fireViewpointChanged();
+    return false;
+  }
+
+  /**
+   * Returns the number of times a control has asked the view to change its heading.
+   */
+  public int getHeadingRequestCount() {
+    return headingRequestCount;
+  }
+
+  @Override
+  public double getHeading() {
+    return rotation;
+  }
+
+  @Override
+  public void setHeading(double heading) {
+    headingRequestCount++;
+    targetHeading = normalize(heading);
+    if (headingStep <= 0.0) {
+      step();
+    }
+  }
+
+  @Override
+  public void addHeadingChangedListener(Runnable listener) {
+    headingChangedListeners.add(listener);
+  }
+
+  @Override
+  public void removeHeadingChangedListener(Runnable listener) {
+    headingChangedListeners.remove(listener);
+  }
+
+  /**
+   * Adds a listener that is notified when the viewpoint changes.
+   */
+  public void addViewpointChangedListener(Runnable listener) {
+    viewpointChangedListeners.add(listener);
+  }
+
+  /**
+   * Removes a listener that was added with {@link #addViewpointChangedListener(Runnable)}.
+   */
+  public void removeViewpointChangedListener(Runnable listener) {
+    viewpointChangedListeners.remove(listener);
+  }
+
+  /**
+   * Notifies the viewpoint changed listeners, as a view does on every frame it moves.
+   */
+  public void fireViewpointChanged() {
+    for (Runnable listener : new ArrayList<>(viewpointChangedListeners)) {
+      listener.run();
+    }
+  }
+
+  /**
+   * Notifies the heading changed listeners.
+   */
+  public void fireHeadingChanged() {
+    for (Runnable listener : new ArrayList<>(headingChangedListeners)) {
+      listener.run();
+    }
+  }
+
+  public boolean isSceneView() {
+    return sceneView;
+  }
+
+  public int getWkid() {
+    return wkid;
+  }
+
+  public double getCenterX() {
+    return centerX;
+  }
+
+  public double getCenterY() {
+    return centerY;
+  }
+
+  public double getScale() {
+    return scale;
+  }
+
+  public double getRotation() {
+    return rotation;
+  }
+
+  public double getCameraZ() {
+    return cameraZ;
+  }
+
+  public double getPitch() {
+    return pitch;
+  }
+
+  public double getWidth() {
+    return width;
+  }
+
+  public double getHeight() {
+    return height;
+  }
+
+  /**
+   * Returns the map units covered by a density independent pixel, for a map view in a projected spatial reference in
+   * meters.
+   */
+  public double getUnitsPerDensityIndependentPixel() {
+    return scale * METERS_PER_DIP;
+  }
+
+  /**
+   * Returns the corners of a map view's visible area as x, y pairs, starting at the top left corner of the view and
+   * going clockwise.
+   */
+  public double[] getVisibleArea() {
+    double unitsPerPixel = getUnitsPerDensityIndependentPixel();
+    double halfWidth = width / 2.0 * unitsPerPixel;
+    double halfHeight = height / 2.0 * unitsPerPixel;
+    double cos = Math.cos(Math.toRadians(rotation));
+    double sin = Math.sin(Math.toRadians(rotation));
+    double[] offsets = {-halfWidth, halfHeight, halfWidth, halfHeight, halfWidth, -halfHeight, -halfWidth, -halfHeight};
+    double[] corners = new double[offsets.length];
+    for (int i = 0; i < offsets.length; i += 2) {
+      // a map rotated by a heading shows north that many degrees anticlockwise
+      corners[i] = centerX + offsets[i] * cos + offsets[i + 1] * sin;
+      corners[i + 1] = centerY - offsets[i] * sin + offsets[i + 1] * cos;
+    }
+    return corners;
+  }
+
+  private static double normalize(double heading) {
+    return ((heading % 360.0) + 360.0) % 360.0;
+  }
+
+  private static double shortestArc(double from, double to) {
+    double delta = normalize(to - from);
+    return delta > 180.0 ? delta - 360.0 : delta;
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.arcgisruntime.toolkit;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.esri.arcgisruntime.geometry.SpatialReferences;
+import com.esri.arcgisruntime.mapping.ArcGISMap;
+import com.esri.arcgisruntime.mapping.Basemap;
+import com.esri.arcgisruntime.mapping.view.MapView;
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Pos;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Measures the time to first frame of an app that shows a map view with a scalebar, compass and overview map: from
+ * creating the map view and controls until the pulse that lays out and draws them has finished. Skipped without the
+ * runtime's native libraries or a JavaFX toolkit.
+ *
+ * <p>The test task runs every test in one JVM, so classes and native libraries loaded by earlier tests make the
+ * measurement warmer than a real app's startup. Run this test on its own for a cold start, e.g.
+ * {@code gradle test --tests '*StartupBenchmarkTest'}.
+ */
+public class StartupBenchmarkTest {
+
+  // generous so that the benchmark only fails when startup regresses badly, such as blocking on the network
+  private static final long FIRST_FRAME_BUDGET = TimeUnit.SECONDS.toNanos(5);
+
+  private static final long TIMEOUT_SECONDS = 30;
+
+  private Stage stage;
+  private MapView mapView;
+  private AnimationTimer frames;
+
+  @Before
+  public void setUp() {
+    ArcGISRuntimeAssume.assumeRuntimeAvailable();
+    HeadlessToolkit.assumeStarted();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    HeadlessToolkit.run(() -> {
+      if (frames != null) {
+        frames.stop();
+      }
+      if (stage != null) {
+        stage.hide();
+      }
+      if (mapView != null) {
+        mapView.dispose();
+      }
+    });
+  }
+
+  @Test
+  public void showsAllThreeControlsWithinBudget() throws Exception {
+    CountDownLatch firstFrame = new CountDownLatch(1);
+    AtomicLong start = new AtomicLong();
+    AtomicLong end = new AtomicLong();
+    HeadlessToolkit.run(() -> {
+      start.set(System.nanoTime());
+      mapView = new MapView();
+      mapView.setMap(new ArcGISMap(SpatialReferences.getWebMercator()));
+
+      Scalebar scalebar = new Scalebar(mapView);
+      Compass compass = new Compass(mapView);
+      // an empty basemap so that the measurement doesn't include loading tiles over the network
+      OverviewMap overviewMap = new OverviewMap(mapView, new Basemap());
+      StackPane.setAlignment(scalebar, Pos.BOTTOM_LEFT);
+      StackPane.setAlignment(compass, Pos.TOP_RIGHT);
+      StackPane.setAlignment(overviewMap, Pos.BOTTOM_RIGHT);
+      stage = HeadlessToolkit.show(new StackPane(mapView, scalebar, compass, overviewMap), 800.0, 600.0);
+
+      // animation timers run at the start of a pulse, so the second one runs once the first frame has been drawn
+      frames = new AnimationTimer() {
+        private int pulses;
+
+        @Override
+        public void handle(long now) {
+          if (++pulses == 2) {
+            end.set(System.nanoTime());
+            firstFrame.countDown();
+            stop();
+          }
+        }
+      };
+      frames.start();
+    });
+    assertTrue("no frame was drawn", firstFrame.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+    long elapsed = end.get() - start.get();
+    System.out.printf("time to first frame: %.1f ms%n", elapsed / 1.0e6);
+    assertTrue("time to first frame " + TimeUnit.NANOSECONDS.toMillis(elapsed) + "ms",
+      elapsed <= FIRST_FRAME_BUDGET);
+  }
+}
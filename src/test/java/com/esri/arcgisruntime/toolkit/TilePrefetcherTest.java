@@ -0,0 +1,167 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.arcgisruntime.toolkit;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TilePrefetcherTest {
+
+  private static final String SOURCE = "source";
+
+  // tiles of 256 pixels at a resolution of 1 map unit per pixel, with the origin at the top left of the scheme
+  private static final int TILE_SIZE = 256;
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private DiskTileCache cache;
+  private final AtomicInteger fetches = new AtomicInteger();
+  private TilePrefetcher prefetcher;
+
+  @Before
+  public void setUp() throws IOException {
+    cache = new DiskTileCache(folder.getRoot(), 1 << 20);
+    prefetcher = createPrefetcher((level, row, column) -> {
+      fetches.incrementAndGet();
+      return DiskTileCacheTest.tile(16, row * 10 + column);
+    });
+  }
+
+  @After
+  public void tearDown() {
+    prefetcher.shutdown();
+  }
+
+  @Test
+  public void fetchesTilesCoveringExtent() throws InterruptedException {
+    prefetcher.prefetch(3, 1.0, 0.0, -511.0, 511.0, 0.0);
+    awaitTrue(() -> prefetcher.getPrefetchCount() == 4);
+    for (int row = 0; row < 2; row++) {
+      for (int column = 0; column < 2; column++) {
+        assertTrue(cache.contains(SOURCE, 3, row, column));
+      }
+    }
+    assertEquals(4, fetches.get());
+  }
+
+  @Test
+  public void skipsCachedTiles() throws InterruptedException {
+    cache.put(SOURCE, 3, 0, 0, DiskTileCacheTest.tile(16, 0));
+    prefetcher.prefetch(3, 1.0, 0.0, -511.0, 511.0, 0.0);
+    awaitTrue(() -> prefetcher.getPrefetchCount() == 3);
+    assertEquals(3, fetches.get());
+  }
+
+  @Test
+  public void ignoresTilesOutsideScheme() throws InterruptedException {
+    // the extent reaches above and left of the origin, where there are no tiles
+    prefetcher.prefetch(3, 1.0, -1000.0, -100.0, 100.0, 1000.0);
+    awaitTrue(() -> prefetcher.getPrefetchCount() == 1);
+    assertTrue(cache.contains(SOURCE, 3, 0, 0));
+    assertEquals(1, fetches.get());
+  }
+
+  @Test
+  public void limitsTilesPerPrefetch() throws InterruptedException {
+    prefetcher.prefetch(3, 1.0, 0.0, -100 * TILE_SIZE, 100 * TILE_SIZE, 0.0);
+    awaitTrue(() -> prefetcher.getPrefetchCount() == 64);
+    Thread.sleep(50);
+    assertEquals(64, fetches.get());
+  }
+
+  @Test
+  public void ignoresInvalidResolution() throws InterruptedException {
+    prefetcher.prefetch(3, 0.0, 0.0, -511.0, 511.0, 0.0);
+    prefetcher.prefetch(3, Double.NaN, 0.0, -511.0, 511.0, 0.0);
+    Thread.sleep(50);
+    assertEquals(0, fetches.get());
+  }
+
+  @Test
+  public void countsHitsOfPrefetchedTiles() throws InterruptedException {
+    prefetcher.prefetch(3, 1.0, 0.0, -511.0, 511.0, 0.0);
+    awaitTrue(() -> prefetcher.getPrefetchCount() == 4);
+
+    prefetcher.tileRequested(3, 0, 0);
+    prefetcher.tileRequested(3, 1, 1);
+    prefetcher.tileRequested(3, 5, 5);
+    // a tile only counts as a hit the first time it is requested
+    prefetcher.tileRequested(3, 0, 0);
+
+    assertEquals(4, prefetcher.getRequestCount());
+    assertEquals(2, prefetcher.getHitCount());
+    assertEquals(0.5, prefetcher.getHitRate(), 1.0e-12);
+  }
+
+  @Test
+  public void shutdownAbandonsWaitingTiles() throws InterruptedException {
+    CountDownLatch fetching = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger blockingFetches = new AtomicInteger();
+    TilePrefetcher blocking = createPrefetcher((level, row, column) -> {
+      blockingFetches.incrementAndGet();
+      fetching.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        throw new InterruptedIOException();
+      }
+      return DiskTileCacheTest.tile(16, 0);
+    });
+    try {
+      blocking.prefetch(3, 1.0, 0.0, -511.0, 511.0, 0.0);
+      assertTrue(fetching.await(5, TimeUnit.SECONDS));
+      blocking.shutdown();
+      release.countDown();
+      Thread.sleep(50);
+      assertEquals(1, blockingFetches.get());
+
+      // prefetching again starts a new background thread
+      blocking.prefetch(4, 1.0, 0.0, -1.0, 1.0, 0.0);
+      awaitTrue(() -> blocking.getPrefetchCount() == 1);
+    } finally {
+      release.countDown();
+      blocking.shutdown();
+    }
+  }
+
+  private TilePrefetcher createPrefetcher(TileSource source) {
+    return new TilePrefetcher(source, cache, SOURCE, 0.0, 0.0, TILE_SIZE, TILE_SIZE);
+  }
+
+  private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!condition.getAsBoolean()) {
+      assertTrue("timed out", System.nanoTime() < deadline);
+      Thread.sleep(5);
+    }
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.arcgisruntime.toolkit;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Builds viewpoint trace files in the format written by {@link ViewpointTraceRecorder}, so tests can replay a session
+ * without a geo view to record it from.
+ */
+public final class ViewpointTraceBuilder {
+
+  private final List<Consumer<ByteBuffer>> events = new ArrayList<>();
+  private int extraCapacity = 0;
+
+  /**
+   * Adds an event recorded from a map view.
+   */
+  public ViewpointTraceBuilder mapEvent(long time, int wkid, double centerX, double centerY, double scale,
+    double rotation, double width, double height) {
+    events.add(buffer -> {
+      int offset = buffer.position();
+      buffer.putLong(offset + ViewpointTraceFormat.TIME, time);
+      buffer.putInt(offset + ViewpointTraceFormat.WKID, wkid);
+      buffer.putInt(offset + ViewpointTraceFormat.TYPE, ViewpointTraceFormat.MAP_VIEW);
+      buffer.putDouble(offset + ViewpointTraceFormat.CENTER_X, centerX);
+      buffer.putDouble(offset + ViewpointTraceFormat.CENTER_Y, centerY);
+      buffer.putDouble(offset + ViewpointTraceFormat.SCALE, scale);
+      buffer.putDouble(offset + ViewpointTraceFormat.ROTATION, rotation);
+      for (int field = ViewpointTraceFormat.CAMERA_X; field <= ViewpointTraceFormat.ROLL; field += 8) {
+        buffer.putDouble(offset + field, Double.NaN);
+      }
+      buffer.putDouble(offset + ViewpointTraceFormat.WIDTH, width);
+      buffer.putDouble(offset + ViewpointTraceFormat.HEIGHT, height);
+    });
+    return this;
+  }
+
+  /**
+   * Adds an event recorded from a scene view, with the camera's location in WGS 84.
+   */
+  public ViewpointTraceBuilder sceneEvent(long time, double longitude, double latitude, double altitude,
+    double heading, double pitch, double roll, double width, double height) {
+    events.add(buffer -> {
+      int offset = buffer.position();
+      buffer.putLong(offset + ViewpointTraceFormat.TIME, time);
+      buffer.putInt(offset + ViewpointTraceFormat.WKID, 4326);
+      buffer.putInt(offset + ViewpointTraceFormat.TYPE, ViewpointTraceFormat.SCENE_VIEW);
+      buffer.putDouble(offset + ViewpointTraceFormat.CENTER_X, longitude);
+      buffer.putDouble(offset + ViewpointTraceFormat.CENTER_Y, latitude);
+      buffer.putDouble(offset + ViewpointTraceFormat.SCALE, Double.NaN);
+      buffer.putDouble(offset + ViewpointTraceFormat.ROTATION, heading);
+      buffer.putDouble(offset + ViewpointTraceFormat.CAMERA_X, longitude);
+      buffer.putDouble(offset + ViewpointTraceFormat.CAMERA_Y, latitude);
+      buffer.putDouble(offset + ViewpointTraceFormat.CAMERA_Z, altitude);
+      buffer.putDouble(offset + ViewpointTraceFormat.HEADING, heading);
+      buffer.putDouble(offset + ViewpointTraceFormat.PITCH, pitch);
+      buffer.putDouble(offset + ViewpointTraceFormat.ROLL, roll);
+      buffer.putDouble(offset + ViewpointTraceFormat.WIDTH, width);
+      buffer.putDouble(offset + ViewpointTraceFormat.HEIGHT, height);
+    });
+    return this;
+  }
+
+  /**
+   * Leaves room for more events after the ones added, as a recorder that was closed before it was full does.
+   */
+  public ViewpointTraceBuilder extraCapacity(int events) {
+    extraCapacity = events;
+    return this;
+  }
+
+  /**
+   * Adds a scene view flight of a number of events a frame apart, moving the camera in a straight line between two
+   * cameras. Each camera is longitude, latitude, altitude, heading and pitch.
+   */
+  public ViewpointTraceBuilder sceneFlight(int count, double[] from, double[] to, double width, double height) {
+    long frame = 16_666_667L;
+    for (int i = 0; i < count; i++) {
+      double t = count > 1 ? (double) i / (count - 1) : 0.0;
+      sceneEvent(i * frame, lerp(from[0], to[0], t), lerp(from[1], to[1], t), lerp(from[2], to[2], t),
+        lerp(from[3], to[3], t), lerp(from[4], to[4], t), 0.0, width, height);
+    }
+    return this;
+  }
+
+  /**
+   * Writes the trace to a file.
+   */
+  public File write(File file) throws IOException {
+    int capacity = events.size() + extraCapacity;
+    ByteBuffer buffer =
+      ByteBuffer.allocate(ViewpointTraceFormat.HEADER_SIZE + capacity * ViewpointTraceFormat.RECORD_SIZE);
+    buffer.putInt(0, ViewpointTraceFormat.MAGIC);
+    buffer.putInt(4, ViewpointTraceFormat.VERSION);
+    buffer.putInt(ViewpointTraceFormat.COUNT_OFFSET, events.size());
+    for (int i = 0; i < events.size(); i++) {
+      buffer.position(ViewpointTraceFormat.HEADER_SIZE + i * ViewpointTraceFormat.RECORD_SIZE);
+      events.get(i).accept(buffer);
+    }
+    Files.write(file.toPath(), buffer.array());
+    return file;
+  }
+
+  private static double lerp(double from, double to, double t) {
+    return from + (to - from) * t;
+  }
+}
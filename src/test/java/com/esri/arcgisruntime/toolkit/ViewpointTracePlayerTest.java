@@ -0,0 +1,112 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.arcgisruntime.toolkit;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ViewpointTracePlayerTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void readsRecordedEvents() throws IOException {
+    File file = new ViewpointTraceBuilder()
+      .mapEvent(0L, 3857, 1000.0, 2000.0, 50000.0, 15.0, 800.0, 600.0)
+      .sceneEvent(16_000_000L, -117.2, 34.05, 1500.0, 30.0, 60.0, 1.0, 1024.0, 768.0)
+      .write(folder.newFile());
+    ViewpointTracePlayer player = new ViewpointTracePlayer(file);
+    assertEquals(2, player.getEventCount());
+
+    assertFalse(player.isSceneViewEvent(0));
+    assertEquals(0L, player.getTime(0));
+    assertEquals(3857, player.getWkid(0));
+    assertEquals(1000.0, player.getCenterX(0), 0.0);
+    assertEquals(2000.0, player.getCenterY(0), 0.0);
+    assertEquals(50000.0, player.getScale(0), 0.0);
+    assertEquals(15.0, player.getRotation(0), 0.0);
+    assertTrue(Double.isNaN(player.getCameraZ(0)));
+    assertEquals(800.0, player.getWidth(0), 0.0);
+    assertEquals(600.0, player.getHeight(0), 0.0);
+
+    assertTrue(player.isSceneViewEvent(1));
+    assertEquals(16_000_000L, player.getTime(1));
+    assertEquals(4326, player.getWkid(1));
+    assertEquals(-117.2, player.getCenterX(1), 0.0);
+    assertEquals(34.05, player.getCenterY(1), 0.0);
+    assertEquals(1500.0, player.getCameraZ(1), 0.0);
+    assertEquals(30.0, player.getHeading(1), 0.0);
+    assertEquals(60.0, player.getPitch(1), 0.0);
+    assertEquals(1.0, player.getRoll(1), 0.0);
+    assertEquals(1024.0, player.getWidth(1), 0.0);
+    assertEquals(768.0, player.getHeight(1), 0.0);
+  }
+
+  @Test
+  public void readsPreallocatedTrace() throws IOException {
+    // a recorder closed before it was full on a platform that couldn't trim the file
+    File file = new ViewpointTraceBuilder()
+      .mapEvent(0L, 3857, 0.0, 0.0, 1000.0, 0.0, 100.0, 100.0)
+      .extraCapacity(100)
+      .write(folder.newFile());
+    assertEquals(1, new ViewpointTracePlayer(file).getEventCount());
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void rejectsEventOutOfRange() throws IOException {
+    File file = new ViewpointTraceBuilder()
+      .mapEvent(0L, 3857, 0.0, 0.0, 1000.0, 0.0, 100.0, 100.0)
+      .extraCapacity(1)
+      .write(folder.newFile());
+    new ViewpointTracePlayer(file).getTime(1);
+  }
+
+  @Test(expected = IOException.class)
+  public void rejectsOtherFiles() throws IOException {
+    File file = folder.newFile();
+    Files.write(file.toPath(), new byte[64]);
+    new ViewpointTracePlayer(file);
+  }
+
+  @Test(expected = IOException.class)
+  public void rejectsEmptyFile() throws IOException {
+    new ViewpointTracePlayer(folder.newFile());
+  }
+
+  @Test(expected = IOException.class)
+  public void rejectsTruncatedTrace() throws IOException {
+    File file = new ViewpointTraceBuilder()
+      .mapEvent(0L, 3857, 0.0, 0.0, 1000.0, 0.0, 100.0, 100.0)
+      .mapEvent(1L, 3857, 0.0, 0.0, 1000.0, 0.0, 100.0, 100.0)
+      .write(folder.newFile());
+    try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+      randomAccessFile.setLength(randomAccessFile.length() - 1);
+    }
+    new ViewpointTracePlayer(file);
+  }
+}
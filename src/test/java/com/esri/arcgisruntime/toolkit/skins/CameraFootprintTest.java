@@ -0,0 +1,179 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.arcgisruntime.toolkit.skins;
+
+import java.io.File;
+import java.io.IOException;
+
+import com.esri.arcgisruntime.toolkit.ViewpointTraceBuilder;
+import com.esri.arcgisruntime.toolkit.ViewpointTracePlayer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CameraFootprintTest {
+
+  private static final double FIELD_OF_VIEW = 60.0;
+
+  // approximate length of a degree of latitude
+  private static final double METERS_PER_DEGREE = 111_000.0;
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void lookingStraightDownIsCenteredUnderCamera() {
+    CameraFootprint footprint = new CameraFootprint();
+    assertFalse(footprint.isValid());
+    assertTrue(footprint.update(10.0, 45.0, 1000.0, 0.0, 0.0, FIELD_OF_VIEW, 1.5));
+    assertTrue(footprint.isValid());
+    assertEquals(10.0, footprint.getCenterLongitude(), 1.0e-6);
+    assertEquals(45.0, footprint.getCenterLatitude(), 1.0e-6);
+
+    // close to the ground the earth is flat, so the width is twice the altitude times the tangent of half the
+    // horizontal field of view
+    double expectedWidth = 2.0 * 1000.0 * Math.tan(Math.toRadians(FIELD_OF_VIEW / 2.0)) * 1.5;
+    assertEquals(expectedWidth, footprint.getGroundWidth(), expectedWidth * 1.0e-3);
+  }
+
+  @Test
+  public void cornersAreInOrderAroundCenter() {
+    CameraFootprint footprint = new CameraFootprint();
+    footprint.update(10.0, 45.0, 1000.0, 0.0, 0.0, FIELD_OF_VIEW, 1.5);
+    double[] corners = footprint.getCorners();
+    double longitude = footprint.getCenterLongitude();
+    double latitude = footprint.getCenterLatitude();
+
+    // heading north, top left is north west and the corners go round clockwise
+    assertTrue(corners[0] < longitude && corners[1] > latitude);
+    assertTrue(corners[2] > longitude && corners[3] > latitude);
+    assertTrue(corners[4] > longitude && corners[5] < latitude);
+    assertTrue(corners[6] < longitude && corners[7] < latitude);
+    assertEquals(corners[1], corners[3], 1.0e-9);
+    assertEquals(corners[5], corners[7], 1.0e-9);
+  }
+
+  @Test
+  public void headingTurnsFootprint() {
+    CameraFootprint footprint = new CameraFootprint();
+    footprint.update(10.0, 45.0, 1000.0, 90.0, 0.0, FIELD_OF_VIEW, 1.5);
+    double[] corners = footprint.getCorners();
+
+    // heading east, the top of the view is east and its left is north
+    assertTrue(corners[0] > footprint.getCenterLongitude());
+    assertTrue(corners[1] > footprint.getCenterLatitude());
+  }
+
+  @Test
+  public void pitchMovesCenterAheadOfCamera() {
+    CameraFootprint footprint = new CameraFootprint();
+    footprint.update(10.0, 45.0, 1000.0, 0.0, 45.0, FIELD_OF_VIEW, 1.0);
+    double[] corners = footprint.getCorners();
+
+    // the center is about the altitude ahead of the camera
+    double ahead = (footprint.getCenterLatitude() - 45.0) * METERS_PER_DEGREE;
+    assertEquals(1000.0, ahead, 20.0);
+    assertEquals(10.0, footprint.getCenterLongitude(), 1.0e-6);
+
+    // the far edge is further away and wider than the near edge
+    assertTrue(corners[1] > corners[7]);
+    assertTrue(corners[2] - corners[0] > corners[4] - corners[6]);
+  }
+
+  @Test
+  public void raysAboveHorizonStopAtHorizon() {
+    CameraFootprint footprint = new CameraFootprint();
+    footprint.update(10.0, 45.0, 1000.0, 0.0, 90.0, FIELD_OF_VIEW, 1.0);
+    double horizon = Math.sqrt(1000.0 * (2.0 * 6378137.0 + 1000.0));
+    double[] corners = footprint.getCorners();
+    for (double coordinate : corners) {
+      assertTrue(Double.isFinite(coordinate));
+    }
+    double farthest = (Math.max(corners[1], corners[3]) - 45.0) * METERS_PER_DEGREE;
+    assertTrue(farthest > 0.0);
+    assertTrue(farthest < horizon * 1.05);
+  }
+
+  @Test
+  public void footprintDoesNotWrapAtAntimeridian() {
+    CameraFootprint footprint = new CameraFootprint();
+    footprint.update(179.9, 0.0, 500_000.0, 0.0, 0.0, FIELD_OF_VIEW, 1.0);
+    double[] corners = footprint.getCorners();
+    assertTrue(corners[2] > 180.0);
+    for (int i = 0; i < corners.length; i += 2) {
+      assertEquals(179.9, corners[i], 10.0);
+    }
+  }
+
+  @Test
+  public void onlyRecalculatesWhenCameraMoves() {
+    CameraFootprint footprint = new CameraFootprint();
+    assertTrue(footprint.update(10.0, 45.0, 1000.0, 0.0, 30.0, FIELD_OF_VIEW, 1.5));
+    assertFalse(footprint.update(10.0, 45.0, 1000.0, 0.0, 30.0, FIELD_OF_VIEW, 1.5));
+    assertFalse(footprint.update(10.0 + 1.0e-9, 45.0, 1000.0, 0.001, 30.0, FIELD_OF_VIEW, 1.5));
+    assertTrue(footprint.update(10.0, 45.0, 1000.0, 1.0, 30.0, FIELD_OF_VIEW, 1.5));
+    assertTrue(footprint.update(10.0, 45.0, 1000.0, 1.0, 30.0, FIELD_OF_VIEW, 2.0));
+    assertTrue(footprint.update(10.0, 45.0, 1100.0, 1.0, 30.0, FIELD_OF_VIEW, 2.0));
+  }
+
+  @Test
+  public void followsRecordedFlight() throws IOException {
+    // a descent over San Francisco bay, turning east and pitching up towards the horizon
+    File file = new ViewpointTraceBuilder()
+      .sceneFlight(120, new double[] {-122.4, 37.8, 20000.0, 0.0, 0.0}, new double[] {-122.0, 38.0, 2000.0, 90.0, 75.0},
+        1280.0, 720.0)
+      .write(folder.newFile());
+    ViewpointTracePlayer trace = new ViewpointTracePlayer(file);
+
+    CameraFootprint footprint = new CameraFootprint();
+    for (int i = 0; i < trace.getEventCount(); i++) {
+      double aspectRatio = trace.getWidth(i) / trace.getHeight(i);
+      assertTrue("event " + i, footprint.update(trace.getCenterX(i), trace.getCenterY(i), trace.getCameraZ(i),
+        trace.getHeading(i), trace.getPitch(i), FIELD_OF_VIEW, aspectRatio));
+      assertTrue("event " + i, footprint.getGroundWidth() > 0.0);
+      assertTrue("event " + i, isInside(footprint.getCorners(), footprint.getCenterLongitude(),
+        footprint.getCenterLatitude()));
+
+      // the same camera again, as when the view redraws without moving
+      assertFalse("event " + i, footprint.update(trace.getCenterX(i), trace.getCenterY(i), trace.getCameraZ(i),
+        trace.getHeading(i), trace.getPitch(i), FIELD_OF_VIEW, aspectRatio));
+    }
+  }
+
+  /**
+   * Returns true if a point is inside a convex quadrilateral, treating longitude and latitude as planar.
+   */
+  private static boolean isInside(double[] corners, double x, double y) {
+    int positive = 0;
+    int negative = 0;
+    for (int i = 0; i < 4; i++) {
+      int j = (i + 1) % 4;
+      double cross = (corners[j * 2] - corners[i * 2]) * (y - corners[i * 2 + 1]) -
+        (corners[j * 2 + 1] - corners[i * 2 + 1]) * (x - corners[i * 2]);
+      if (cross > 0.0) {
+        positive++;
+      } else if (cross < 0.0) {
+        negative++;
+      }
+    }
+    return positive == 0 || negative == 0;
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.arcgisruntime.toolkit.skins;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import com.esri.arcgisruntime.arcgisservices.LevelOfDetail;
+import com.esri.arcgisruntime.arcgisservices.TileInfo;
+import com.esri.arcgisruntime.geometry.Point;
+import com.esri.arcgisruntime.geometry.SpatialReferences;
+import com.esri.arcgisruntime.toolkit.ArcGISRuntimeAssume;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LevelOfDetailTableTest {
+
+  @Before
+  public void setUp() {
+    ArcGISRuntimeAssume.assumeRuntimeAvailable();
+  }
+
+  @Test
+  public void levelsAreSortedFromSmallestScale() {
+    // the tiling scheme lists its levels out of order
+    LevelOfDetailTable table = createTable(new LevelOfDetail(1, 2.0, 500.0), new LevelOfDetail(2, 1.0, 250.0),
+      new LevelOfDetail(0, 4.0, 1000.0));
+    assertFalse(table.isEmpty());
+    for (int i = 0; i < 3; i++) {
+      assertEquals(i, table.getLevel(i));
+    }
+    assertEquals(1000.0, table.getScale(0), 0.0);
+    assertEquals(250.0, table.getScale(2), 0.0);
+    assertEquals(4.0, table.getResolution(0), 0.0);
+    assertEquals(1.0, table.getResolution(2), 0.0);
+  }
+
+  @Test
+  public void nearestLevelIsChosenByRatio() {
+    LevelOfDetailTable table = createTable(new LevelOfDetail(0, 4.0, 1000.0), new LevelOfDetail(1, 2.0, 500.0),
+      new LevelOfDetail(2, 1.0, 250.0));
+    assertEquals(0, table.nearestIndex(1000.0));
+    assertEquals(1, table.nearestIndex(500.0));
+    // 700 is nearer to 1000 than 500 by difference, but nearer to 500 by ratio
+    assertEquals(1, table.nearestIndex(700.0));
+    assertEquals(0, table.nearestIndex(720.0));
+    assertEquals(2, table.nearestIndex(300.0));
+  }
+
+  @Test
+  public void scalesBeyondTableSnapToEnds() {
+    LevelOfDetailTable table = createTable(new LevelOfDetail(0, 4.0, 1000.0), new LevelOfDetail(1, 2.0, 500.0));
+    assertEquals(0, table.nearestIndex(1.0e9));
+    assertEquals(1, table.nearestIndex(1.0));
+    assertEquals(1000.0, table.snap(5000.0), 0.0);
+    assertEquals(500.0, table.snap(10.0), 0.0);
+  }
+
+  @Test
+  public void emptyTableLeavesScale() {
+    LevelOfDetailTable table = new LevelOfDetailTable(new TileInfo(96, TileInfo.ImageFormat.PNG,
+      Collections.emptyList(), new Point(0.0, 0.0, SpatialReferences.getWebMercator()),
+      SpatialReferences.getWebMercator(), 256, 256));
+    assertTrue(table.isEmpty());
+    assertEquals(-1, table.nearestIndex(1000.0));
+    assertEquals(1234.0, table.snap(1234.0), 0.0);
+  }
+
+  private static LevelOfDetailTable createTable(LevelOfDetail... levelsOfDetail) {
+    return new LevelOfDetailTable(new TileInfo(96, TileInfo.ImageFormat.PNG, Arrays.asList(levelsOfDetail),
+      new Point(0.0, 0.0, SpatialReferences.getWebMercator()), SpatialReferences.getWebMercator(), 256, 256));
+  }
+}
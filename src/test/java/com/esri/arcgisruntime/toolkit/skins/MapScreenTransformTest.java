@@ -0,0 +1,143 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.arcgisruntime.toolkit.skins;
+
+import java.io.File;
+import java.io.IOException;
+
+import com.esri.arcgisruntime.geometry.GeometryEngine;
+import com.esri.arcgisruntime.geometry.Point;
+import com.esri.arcgisruntime.geometry.SpatialReference;
+import com.esri.arcgisruntime.geometry.SpatialReferences;
+import com.esri.arcgisruntime.toolkit.ArcGISRuntimeAssume;
+import com.esri.arcgisruntime.toolkit.ViewpointTraceBuilder;
+import com.esri.arcgisruntime.toolkit.ViewpointTracePlayer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MapScreenTransformTest {
+
+  // density independent pixels per meter on screen
+  private static final double DIPS_PER_METER = 96.0 / 0.0254;
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void centerIsMiddleOfView() {
+    MapScreenTransform transform = new MapScreenTransform(null, 1000.0, 2000.0, 2.0, 800.0, 600.0);
+    assertEquals(400.0, transform.toScreenX(1000.0), 0.0);
+    assertEquals(300.0, transform.toScreenY(2000.0), 0.0);
+    assertEquals(1000.0, transform.toMapX(400.0), 0.0);
+    assertEquals(2000.0, transform.toMapY(300.0), 0.0);
+    assertEquals(2.0, transform.getUnitsPerPixel(), 0.0);
+  }
+
+  @Test
+  public void screenYGoesDownMap() {
+    MapScreenTransform transform = new MapScreenTransform(null, 0.0, 0.0, 2.0, 800.0, 600.0);
+    assertEquals(0.0, transform.toScreenX(-800.0), 0.0);
+    assertEquals(0.0, transform.toScreenY(600.0), 0.0);
+    assertEquals(800.0, transform.toMapX(800.0), 0.0);
+    assertEquals(-600.0, transform.toMapY(600.0), 0.0);
+  }
+
+  @Test
+  public void isInsideHonorsMargin() {
+    MapScreenTransform transform = new MapScreenTransform(null, 0.0, 0.0, 1.0, 100.0, 100.0);
+    assertTrue(transform.isInside(0.0, 0.0, 0.2));
+    assertTrue(transform.isInside(30.0, -30.0, 0.2));
+    assertFalse(transform.isInside(31.0, 0.0, 0.2));
+    assertFalse(transform.isInside(0.0, 31.0, 0.2));
+    assertTrue(transform.isInside(49.0, 49.0, 0.0));
+  }
+
+  @Test
+  public void projectingWithoutSpatialReferenceLeavesCoordinates() {
+    double[] coordinates = {1.0, 2.0};
+    MapScreenTransform.project(coordinates, null, null);
+    assertEquals(1.0, coordinates[0], 0.0);
+    assertEquals(2.0, coordinates[1], 0.0);
+  }
+
+  @Test
+  public void followsRecordedViewpoints() throws IOException {
+    ViewpointTraceBuilder builder = new ViewpointTraceBuilder();
+    for (int i = 0; i < 60; i++) {
+      // a pan east while zooming in
+      builder.mapEvent(i * 16_666_667L, 3857, -13_600_000.0 + i * 500.0, 4_500_000.0, 100_000.0 / (1.0 + i * 0.1),
+        0.0, 1024.0, 768.0);
+    }
+    File file = builder.write(folder.newFile());
+    ViewpointTracePlayer trace = new ViewpointTracePlayer(file);
+
+    for (int i = 0; i < trace.getEventCount(); i++) {
+      double unitsPerPixel = trace.getScale(i) / DIPS_PER_METER;
+      double width = trace.getWidth(i);
+      double height = trace.getHeight(i);
+      MapScreenTransform transform =
+        new MapScreenTransform(null, trace.getCenterX(i), trace.getCenterY(i), unitsPerPixel, width, height);
+      assertEquals(width / 2.0, transform.toScreenX(trace.getCenterX(i)), 1.0e-9);
+      assertEquals(height / 2.0, transform.toScreenY(trace.getCenterY(i)), 1.0e-9);
+      assertEquals(width * unitsPerPixel, transform.toMapX(width) - transform.toMapX(0.0), 1.0e-6);
+      for (double screen = 0.0; screen <= width; screen += width / 8.0) {
+        assertEquals(screen, transform.toScreenX(transform.toMapX(screen)), 1.0e-6);
+        assertEquals(screen, transform.toScreenY(transform.toMapY(screen)), 1.0e-6);
+      }
+      assertTrue(transform.isInside(trace.getCenterX(i), trace.getCenterY(i), 0.2));
+    }
+  }
+
+  @Test
+  public void projectsWgs84ToWebMercatorLikeGeometryEngine() {
+    ArcGISRuntimeAssume.assumeRuntimeAvailable();
+    SpatialReference wgs84 = SpatialReferences.getWgs84();
+    SpatialReference webMercator = SpatialReferences.getWebMercator();
+    double[] coordinates = {0.0, 0.0, 180.0, 0.0, -122.4, 37.8, 151.2, -33.9, 10.0, 80.0};
+    double[] projected = coordinates.clone();
+    MapScreenTransform.project(projected, wgs84, webMercator);
+    for (int i = 0; i < coordinates.length; i += 2) {
+      Point expected =
+        (Point) GeometryEngine.project(new Point(coordinates[i], coordinates[i + 1], wgs84), webMercator);
+      assertEquals(expected.getX(), projected[i], 1.0e-3);
+      assertEquals(expected.getY(), projected[i + 1], 1.0e-3);
+    }
+  }
+
+  @Test
+  public void projectingToSameSpatialReferenceLeavesCoordinates() {
+    ArcGISRuntimeAssume.assumeRuntimeAvailable();
+    double[] coordinates = {1.0, 2.0};
+    MapScreenTransform.project(coordinates, SpatialReferences.getWebMercator(), SpatialReferences.getWebMercator());
+    assertEquals(1.0, coordinates[0], 0.0);
+    assertEquals(2.0, coordinates[1], 0.0);
+  }
+
+  @Test
+  public void recognizesWebMercator() {
+    ArcGISRuntimeAssume.assumeRuntimeAvailable();
+    assertTrue(MapScreenTransform.isWebMercator(SpatialReference.create(3857)));
+    assertTrue(MapScreenTransform.isWebMercator(SpatialReference.create(102100)));
+    assertFalse(MapScreenTransform.isWebMercator(SpatialReference.create(4326)));
+    assertFalse(MapScreenTransform.isWebMercator(SpatialReference.create(27700)));
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.arcgisruntime.toolkit.skins;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Drives the scheduler's pulses directly, the JavaFX timer it starts never fires without a running toolkit.
+ */
+public class PulseSchedulerTest {
+
+  private final List<String> runs = new ArrayList<>();
+  private final List<Runnable> submitted = new ArrayList<>();
+
+  @After
+  public void tearDown() {
+    for (Runnable task : submitted) {
+      PulseScheduler.cancel(task);
+    }
+  }
+
+  @Test
+  public void runsTasksInPriorityOrder() {
+    submit(task("low"), PulseScheduler.Priority.LOW);
+    submit(task("normal 1"), PulseScheduler.Priority.NORMAL);
+    submit(task("high"), PulseScheduler.Priority.HIGH);
+    submit(task("normal 2"), PulseScheduler.Priority.NORMAL);
+    assertFalse(PulseScheduler.pulse(0L));
+    assertEquals(Arrays.asList("high", "normal 1", "normal 2", "low"), runs);
+  }
+
+  @Test
+  public void coalescesRepeatedSubmissions() {
+    Runnable task = task("task");
+    submit(task, PulseScheduler.Priority.NORMAL);
+    submit(task, PulseScheduler.Priority.NORMAL);
+    // a task keeps its place and priority when it is submitted again
+    submit(task, PulseScheduler.Priority.HIGH);
+    submit(task("high"), PulseScheduler.Priority.HIGH);
+    PulseScheduler.pulse(0L);
+    assertEquals(Arrays.asList("high", "task"), runs);
+  }
+
+  @Test
+  public void cancelledTasksDoNotRun() {
+    Runnable task = task("cancelled");
+    submit(task, PulseScheduler.Priority.NORMAL);
+    submit(task("kept"), PulseScheduler.Priority.NORMAL);
+    PulseScheduler.cancel(task);
+    PulseScheduler.pulse(0L);
+    assertEquals(Arrays.asList("kept"), runs);
+  }
+
+  @Test
+  public void resubmittedTaskWaitsForNextPulse() {
+    int[] remaining = {3};
+    Runnable task = new Runnable() {
+      @Override
+      public void run() {
+        runs.add("run");
+        if (--remaining[0] > 0) {
+          PulseScheduler.submit(this, PulseScheduler.Priority.HIGH);
+        }
+      }
+    };
+    submit(task, PulseScheduler.Priority.HIGH);
+    assertTrue(PulseScheduler.pulse(0L));
+    assertEquals(1, runs.size());
+    assertTrue(PulseScheduler.pulse(0L));
+    assertEquals(2, runs.size());
+    assertFalse(PulseScheduler.pulse(0L));
+    assertEquals(3, runs.size());
+  }
+
+  @Test
+  public void defersTasksOverBudget() {
+    submit(() -> {
+      runs.add("slow");
+      sleep(TimeUnit.MILLISECONDS.toNanos(10));
+    }, PulseScheduler.Priority.HIGH);
+    submit(task("deferred"), PulseScheduler.Priority.LOW);
+    assertTrue(PulseScheduler.pulse(0L));
+    assertEquals(Arrays.asList("slow"), runs);
+    assertFalse(PulseScheduler.pulse(0L));
+    assertEquals(Arrays.asList("slow", "deferred"), runs);
+  }
+
+  @Test
+  public void runsAtLeastOneTaskEveryPulse() {
+    submit(() -> {
+      runs.add("slow 1");
+      sleep(TimeUnit.MILLISECONDS.toNanos(10));
+    }, PulseScheduler.Priority.HIGH);
+    submit(() -> {
+      runs.add("slow 2");
+      sleep(TimeUnit.MILLISECONDS.toNanos(10));
+    }, PulseScheduler.Priority.HIGH);
+    assertTrue(PulseScheduler.pulse(0L));
+    assertFalse(PulseScheduler.pulse(0L));
+    assertEquals(Arrays.asList("slow 1", "slow 2"), runs);
+  }
+
+  @Test
+  public void failingTaskDoesNotStopOthers() {
+    RuntimeException failure = new IllegalStateException("failed");
+    List<Throwable> uncaught = new ArrayList<>();
+    Thread thread = Thread.currentThread();
+    Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+    thread.setUncaughtExceptionHandler((t, e) -> uncaught.add(e));
+    try {
+      submit(() -> {
+        throw failure;
+      }, PulseScheduler.Priority.HIGH);
+      submit(task("after"), PulseScheduler.Priority.HIGH);
+      PulseScheduler.pulse(0L);
+    } finally {
+      thread.setUncaughtExceptionHandler(handler);
+    }
+    assertEquals(1, uncaught.size());
+    assertSame(failure, uncaught.get(0));
+    assertEquals(Arrays.asList("after"), runs);
+  }
+
+  private Runnable task(String name) {
+    return () -> runs.add(name);
+  }
+
+  private void submit(Runnable task, PulseScheduler.Priority priority) {
+    submitted.add(task);
+    PulseScheduler.submit(task, priority);
+  }
+
+  private static void sleep(long nanos) {
+    long end = System.nanoTime() + nanos;
+    while (System.nanoTime() < end) {
+      Thread.yield();
+    }
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2018 Esri
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.arcgisruntime.toolkit.skins;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Drives the timer's pulses directly, the JavaFX timer it starts never fires without a running toolkit.
+ */
+public class SharedAnimationTimerTest {
+
+  private final List<String> calls = new ArrayList<>();
+  private final List<SharedAnimationTimer.PulseListener> added = new ArrayList<>();
+
+  @After
+  public void tearDown() {
+    for (SharedAnimationTimer.PulseListener listener : added) {
+      SharedAnimationTimer.remove(listener);
+    }
+    SharedAnimationTimer.pulse(0L);
+  }
+
+  @Test
+  public void callsListenerUntilItFinishes() {
+    int[] remaining = {2};
+    add(now -> {
+      calls.add("listener");
+      return --remaining[0] > 0;
+    });
+    assertTrue(SharedAnimationTimer.pulse(0L));
+    assertFalse(SharedAnimationTimer.pulse(0L));
+    assertFalse(SharedAnimationTimer.pulse(0L));
+    assertEquals(Arrays.asList("listener", "listener"), calls);
+  }
+
+  @Test
+  public void addingActiveListenerHasNoEffect() {
+    SharedAnimationTimer.PulseListener listener = once("listener");
+    add(listener);
+    add(listener);
+    SharedAnimationTimer.pulse(0L);
+    assertEquals(Arrays.asList("listener"), calls);
+  }
+
+  @Test
+  public void listenerAddedDuringPulseRunsOnNextPulse() {
+    SharedAnimationTimer.PulseListener late = once("late");
+    add(now -> {
+      calls.add("early");
+      add(late);
+      return false;
+    });
+    assertTrue(SharedAnimationTimer.pulse(0L));
+    assertEquals(Arrays.asList("early"), calls);
+    assertFalse(SharedAnimationTimer.pulse(0L));
+    assertEquals(Arrays.asList("early", "late"), calls);
+  }
+
+  @Test
+  public void listenerRemovedDuringPulseIsNotCalled() {
+    SharedAnimationTimer.PulseListener removed = forever("removed");
+    add(now -> {
+      SharedAnimationTimer.remove(removed);
+      return false;
+    });
+    add(removed);
+    assertFalse(SharedAnimationTimer.pulse(0L));
+    assertEquals(Arrays.asList(), calls);
+  }
+
+  @Test
+  public void finishedListenerCanBeAddedAgainInSamePulse() {
+    SharedAnimationTimer.PulseListener finished = once("finished");
+    add(finished);
+    add(now -> {
+      // e.g. a scheduler re-arming its pulse listener from a task, after the listener returned false
+      add(finished);
+      return false;
+    });
+    assertTrue(SharedAnimationTimer.pulse(0L));
+    assertEquals(Arrays.asList("finished"), calls);
+    assertFalse(SharedAnimationTimer.pulse(0L));
+    assertEquals(Arrays.asList("finished", "finished"), calls);
+  }
+
+  @Test
+  public void keptListenerIsNotDuplicatedWhenAddedAgain() {
+    SharedAnimationTimer.PulseListener kept = forever("kept");
+    add(kept);
+    add(now -> {
+      add(kept);
+      return false;
+    });
+    assertTrue(SharedAnimationTimer.pulse(0L));
+    SharedAnimationTimer.pulse(0L);
+    assertEquals(Arrays.asList("kept", "kept"), calls);
+  }
+
+  private SharedAnimationTimer.PulseListener once(String name) {
+    return now -> {
+      calls.add(name);
+      return false;
+    };
+  }
+
+  private SharedAnimationTimer.PulseListener forever(String name) {
+    return now -> {
+      calls.add(name);
+      return true;
+    };
+  }
+
+  private void add(SharedAnimationTimer.PulseListener listener) {
+    added.add(listener);
+    SharedAnimationTimer.add(listener);
+  }
+}